@@ -2,12 +2,26 @@ package com.mls.booking;
 
 import com.mls.booking.errors.InvalidFileFormatException;
 import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.fileParser.InputMode;
+import com.mls.booking.fileParser.RejectionBuffer;
+import com.mls.booking.meetingSchedule.BalancedMeetingScheduleIntervalModel;
+import com.mls.booking.meetingSchedule.BitmapMeetingScheduleIntervalModel;
+import com.mls.booking.meetingSchedule.MeetingScheduleInterval;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.log4j.Logger;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.function.Supplier;
 
+import static com.mls.booking.fileParser.FileParserParams.BINARY_FILE_EXTENSION;
 import static com.mls.booking.fileParser.FileParserParams.DEFAULT_INPUT_FILE;
+import static com.mls.booking.fileParser.FileParserParams.EMPLOYEE_ID_FORMAT;
+import static com.mls.booking.fileParser.FileParserParams.EXTERNAL_SORT_MEMORY_BUDGET;
+import static com.mls.booking.fileParser.FileParserParams.WIDE_EMPLOYEE_ID_FORMAT;
 import static com.mls.booking.util.Helpers.isStringEmpty;
 
 
@@ -15,6 +29,22 @@ public class Main {
 
     private final static Logger LOGGER = Logger.getLogger(Main.class);
 
+    private final static String BATCH_ARGUMENT = "BATCH";
+
+    private final static String BITMAP_ARGUMENT = "BITMAP";
+
+    private final static String CONVERT_ARGUMENT = "CONVERT";
+
+    private final static String EXTERNAL_ARGUMENT = "EXTERNAL";
+
+    private final static String LENIENT_ARGUMENT = "LENIENT";
+
+    private final static String MERGE_ARGUMENT = "MERGE";
+
+    private final static String ROOMS_ARGUMENT = "ROOMS";
+
+    private final static String WIDE_IDS_ARGUMENT = "WIDE_IDS";
+
     public static void main(String[] args) throws InvalidFormatException, IOException, InvalidFileFormatException {
         LOGGER.info("Application Started!");
 
@@ -24,8 +54,136 @@ public class Main {
         System.out.println("Enter File Name : ");
         inputFileName = one.next();
 
-        final MeetingScheduler meetingScheduler = new MeetingScheduler();
-        meetingScheduler.process(isStringEmpty(inputFileName) ? DEFAULT_INPUT_FILE : inputFileName);
+        final String fileName = isStringEmpty(inputFileName) ? DEFAULT_INPUT_FILE : inputFileName;
+        // "BITMAP" after the first argument checks the overlaps on minute bitmaps instead of an interval tree
+        final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory = hasOption(args, BITMAP_ARGUMENT)
+                ? BitmapMeetingScheduleIntervalModel::new : BalancedMeetingScheduleIntervalModel::new;
+        // "WIDE_IDS" after the first argument accepts employee ids such as "HR-000123" besides "EMP001"
+        final String employeeIdFormat = hasOption(args, WIDE_IDS_ARGUMENT)
+                ? WIDE_EMPLOYEE_ID_FORMAT : EMPLOYEE_ID_FORMAT;
+        // "ROOMS=<number>" after the first argument allocates the meetings to several rooms
+        final String roomsOption = getOption(args, ROOMS_ARGUMENT);
+        final MeetingScheduler meetingScheduler = new MeetingScheduler(meetingScheduleIntervalFactory,
+                getNumberOfRooms(roomsOption), employeeIdFormat);
+
+        // "CONVERT" as the first argument writes a binary booking file next to the input file instead
+        if (args.length > 0 && CONVERT_ARGUMENT.equalsIgnoreCase(args[0])) {
+            checkNoRooms(roomsOption, CONVERT_ARGUMENT);
+            meetingScheduler.convert(fileName, FilenameUtils.removeExtension(fileName) + "." + BINARY_FILE_EXTENSION);
+            return;
+        }
+
+        // "MERGE" as the first argument merges several files ordered by submission time, given as "a.txt,b.txt"
+        if (args.length > 0 && MERGE_ARGUMENT.equalsIgnoreCase(args[0])) {
+            meetingScheduler.processSorted(Arrays.asList(fileName.split(",")));
+            return;
+        }
+
+        // the input mode can be given as the first argument, an example is "MAPPED"
+        final InputMode inputMode = args.length > 0 ? getInputMode(args[0]) : InputMode.STREAM;
+        // "BATCH" after the input mode schedules the meetings from a columnar BookingBatch
+        final boolean batch = hasOption(args, BATCH_ARGUMENT);
+        // "LENIENT" after the input mode skips the invalid booking requests and reports them at the end
+        final RejectionBuffer rejectionBuffer = hasOption(args, LENIENT_ARGUMENT) ? new RejectionBuffer() : null;
+
+        // "EXTERNAL" or "EXTERNAL=<megabytes>" after the input mode sorts the bookings on disk within a memory budget
+        final String externalOption = getOption(args, EXTERNAL_ARGUMENT);
+        // the batch has no rooms, so the rooms are only rejected when the batch is used
+        if (externalOption == null && batch)
+            checkNoRooms(roomsOption, BATCH_ARGUMENT);
+
+        if (externalOption != null)
+            meetingScheduler.processExternal(fileName, inputMode, getMemoryBudget(externalOption), rejectionBuffer);
+        else if (batch)
+            meetingScheduler.processBatch(fileName, inputMode, rejectionBuffer);
+        else
+            meetingScheduler.process(fileName, inputMode, rejectionBuffer);
+    }
+
+    /**
+     * Check if an option is given after the input mode, the options can be given in any order.
+     */
+    private static boolean hasOption(@Nonnull final String[] args, @Nonnull final String option) {
+        for (int index = 1; index < args.length; index++) {
+            if (option.equalsIgnoreCase(args[index]))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Find an option which may have a value after an equal sign, an example is "EXTERNAL=256".
+     *
+     * @return the option as given, or null if it is not given
+     */
+    @Nullable
+    private static String getOption(@Nonnull final String[] args, @Nonnull final String option) {
+        for (int index = 1; index < args.length; index++) {
+            final String name = args[index].split("=", 2)[0];
+            if (option.equalsIgnoreCase(name))
+                return args[index];
+        }
+        return null;
+    }
+
+    /**
+     * @param inputModeArgument name of an input mode, in any case, an example is "mapped"
+     * @return the input mode
+     */
+    @Nonnull
+    private static InputMode getInputMode(@Nonnull final String inputModeArgument) {
+        for (final InputMode inputMode : InputMode.values()) {
+            if (inputMode.name().equalsIgnoreCase(inputModeArgument))
+                return inputMode;
+        }
+        throw new IllegalArgumentException("Unknown input mode \"" + inputModeArgument
+                + "\", the first argument should be " + CONVERT_ARGUMENT + ", " + MERGE_ARGUMENT + " or one of "
+                + Arrays.toString(InputMode.values()));
+    }
+
+    /**
+     * @param roomsOption "ROOMS=<number>", or null for a single room
+     * @return number of rooms
+     */
+    private static int getNumberOfRooms(@Nullable final String roomsOption) {
+        if (roomsOption == null)
+            return 1;
+
+        final int separator = roomsOption.indexOf('=');
+        final String numberOfRooms = separator < 0 ? "" : roomsOption.substring(separator + 1);
+        if (!numberOfRooms.matches("[1-9][0-9]{0,8}"))
+            throw new IllegalArgumentException("The number of rooms should be given as "
+                    + ROOMS_ARGUMENT + "=<number>, a number greater than 0, not \"" + roomsOption + "\"");
+        return Integer.parseInt(numberOfRooms);
+    }
+
+    /**
+     * Reject the rooms with an option which schedules the meetings for a single room, or does not schedule them.
+     *
+     * @param roomsOption "ROOMS=<number>", or null for a single room
+     * @param option      option given with the rooms, an example is "BATCH"
+     */
+    private static void checkNoRooms(@Nullable final String roomsOption, @Nonnull final String option) {
+        if (roomsOption != null)
+            throw new IllegalArgumentException("The number of rooms should be given as " + ROOMS_ARGUMENT
+                    + "=<number> without " + option + ", not \"" + roomsOption + "\"");
+    }
+
+    /**
+     * @param externalOption "EXTERNAL" for the default memory budget, or "EXTERNAL=<megabytes>"
+     * @return memory budget in bytes
+     */
+    private static long getMemoryBudget(@Nonnull final String externalOption) {
+        final int separator = externalOption.indexOf('=');
+        if (separator < 0)
+            return EXTERNAL_SORT_MEMORY_BUDGET;
+
+        // at most 7 digits so that the bytes do not overflow, and 1 megabyte is above the minimum of the sorter
+        final String megabytes = externalOption.substring(separator + 1);
+        if (!megabytes.matches("[1-9][0-9]{0,6}"))
+            throw new IllegalArgumentException("The memory budget should be given as " + EXTERNAL_ARGUMENT
+                    + "=<megabytes>, a number from 1 to 9999999, not \"" + externalOption + "\"");
+        return Long.parseLong(megabytes) * 1024 * 1024;
     }
 }
 
@@ -2,73 +2,420 @@ package com.mls.booking;
 
 import com.mls.booking.errors.InvalidFileFormatException;
 import com.mls.booking.errors.InvalidFormatException;
-import com.mls.booking.fileParser.FileValidator;
-import com.mls.booking.fileParser.FileValidatorImpl;
+import com.mls.booking.fileParser.BinaryBookingFileReaderImpl;
+import com.mls.booking.fileParser.BookingFileConverterImpl;
+import com.mls.booking.fileParser.BookingFileReader;
+import com.mls.booking.fileParser.BookingFileReaderImpl;
+import com.mls.booking.fileParser.EmployeeMeetingScheduleBuilder;
+import com.mls.booking.fileParser.ExternalBookingSorter;
+import com.mls.booking.fileParser.InputMode;
+import com.mls.booking.fileParser.RejectionBuffer;
+import com.mls.booking.fileParser.SortedBookingFilesMerger;
+import com.mls.booking.meetingSchedule.DailyMeetingScheduleResolver;
+import com.mls.booking.meetingSchedule.MeetingRoomAllocator;
 import com.mls.booking.meetingSchedule.MeetingScheduleInterval;
-import com.mls.booking.meetingSchedule.MeetingScheduleIntervalModel;
+import com.mls.booking.meetingSchedule.BalancedMeetingScheduleIntervalModel;
+import com.mls.booking.meetingSchedule.ScheduleIntervalIterator;
 import com.mls.booking.meetingSchedule.ScheduleIntervalNode;
+import com.mls.booking.model.BookingBatch;
 import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
 import com.mls.booking.model.Result;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.log4j.Logger;
 import org.joda.time.DateTimeUtils;
+import org.joda.time.LocalDate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import static com.mls.booking.fileParser.FileParserParams.BINARY_FILE_EXTENSION;
+import static com.mls.booking.fileParser.FileParserParams.EMPLOYEE_ID_FORMAT;
+import static com.mls.booking.fileParser.FileParserParams.REJECTION_FILE_SUFFIX;
 import static com.mls.booking.util.Helpers.*;
+import static com.mls.booking.util.TimestampDecoder.toLocalDate;
 import static com.mls.booking.util.Validator.checkNull;
 
 public class MeetingScheduler {
 
     private final static Logger LOGGER = Logger.getLogger(MeetingScheduler.class);
 
+    private final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory;
+
+    private final int numberOfRooms;
+
+    private final String employeeIdFormat;
+
+    public MeetingScheduler() {
+        this(BalancedMeetingScheduleIntervalModel::new);
+    }
+
+    /**
+     * @param meetingScheduleIntervalFactory creates the model which checks the overlaps of the meetings, an
+     *                                       example is BitmapMeetingScheduleIntervalModel::new
+     */
+    public MeetingScheduler(@Nonnull final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory) {
+        this(meetingScheduleIntervalFactory, 1);
+    }
+
+    /**
+     * @param meetingScheduleIntervalFactory creates the model which checks the overlaps of the meetings of a room
+     * @param numberOfRooms                  number of rooms the meetings are allocated to by process, with a single
+     *                                       room the output does not show the rooms
+     */
+    public MeetingScheduler(@Nonnull final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory,
+                            final int numberOfRooms) {
+        this(meetingScheduleIntervalFactory, numberOfRooms, EMPLOYEE_ID_FORMAT);
+    }
+
+    /**
+     * @param meetingScheduleIntervalFactory creates the model which checks the overlaps of the meetings of a room
+     * @param numberOfRooms                  number of rooms the meetings are allocated to by process
+     * @param employeeIdFormat               format of the employee ids of the input text files, an example is
+     *                                       FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    public MeetingScheduler(@Nonnull final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory,
+                            final int numberOfRooms, @Nonnull final String employeeIdFormat) {
+        checkNull(meetingScheduleIntervalFactory, "meetingScheduleIntervalFactory");
+        checkNull(employeeIdFormat, "employeeIdFormat");
+        if (numberOfRooms <= 0)
+            throw new IllegalArgumentException("numberOfRooms should be greater than 0");
+
+        this.meetingScheduleIntervalFactory = meetingScheduleIntervalFactory;
+        this.numberOfRooms = numberOfRooms;
+        this.employeeIdFormat = employeeIdFormat;
+    }
+
     public void process(@Nonnull final String fileName) throws IOException, InvalidFileFormatException {
+        process(fileName, InputMode.STREAM);
+    }
+
+    /**
+     * Read the input file with the given input mode, then schedule and print the meetings.
+     * A binary booking file is loaded directly whatever the input mode, since it is already validated.
+     *
+     * @param fileName  input file name
+     * @param inputMode how the input file is read
+     * @throws IOException
+     * @throws InvalidFileFormatException
+     */
+    public void process(@Nonnull final String fileName, @Nonnull final InputMode inputMode)
+            throws IOException, InvalidFileFormatException {
+        process(fileName, inputMode, null);
+    }
+
+    /**
+     * Same as process(fileName, inputMode). When a RejectionBuffer is given, the invalid booking requests are
+     * skipped instead of stopping the processing, then the rejections are summarized and written next to the
+     * input file.
+     *
+     * @param fileName        input file name
+     * @param inputMode       how the input file is read
+     * @param rejectionBuffer receives the rejected lines, or null to stop at the first invalid line
+     * @throws IOException
+     * @throws InvalidFileFormatException
+     */
+    public void process(@Nonnull final String fileName, @Nonnull final InputMode inputMode,
+                        @Nullable final RejectionBuffer rejectionBuffer)
+            throws IOException, InvalidFileFormatException {
+        checkNull(fileName, "fileName");
+        checkNull(inputMode, "inputMode");
+
+        LOGGER.info("Input File Validation started.");
+        final Long startTime = DateTimeUtils.currentTimeMillis();
+
+        final boolean binaryFile = ifFileIsBinary(fileName);
+        if (!binaryFile && !ifFileIsText(fileName))
+            throw new InvalidFileFormatException("Wrong File Format");
+
+        // retrieve the file by its filename, validates and converts it in a single pass
+        final File inputFile = getFile(fileName);
+        final BookingFileReader bookingFileReader = binaryFile
+                ? new BinaryBookingFileReaderImpl() : inputMode.newBookingFileReader(employeeIdFormat);
+        final List<EmployeeMeetingSchedule> inputFileContentModel = new ArrayList<>();
+        try {
+            final EmployeeMeetingScheduleBuilder employeeMeetingScheduleBuilder =
+                    new EmployeeMeetingScheduleBuilder(inputFileContentModel::add);
+            if (rejectionBuffer == null)
+                bookingFileReader.read(inputFile, employeeMeetingScheduleBuilder);
+            else
+                bookingFileReader.read(inputFile, employeeMeetingScheduleBuilder, rejectionBuffer);
+        } catch (final InvalidFormatException | FileNotFoundException e) {
+            LOGGER.error(e.getMessage());
+            return;
+        }
+
+        if (rejectionBuffer != null)
+            reportRejections(inputFile, rejectionBuffer);
+
+        getSortedMeetingSchedulesBySubmissionTime(inputFileContentModel);
+
+        final Long endTime = DateTimeUtils.currentTimeMillis();
+        final Long totalTime = endTime - startTime;
+        LOGGER.info("Input File Validation Completed. It takes " + totalTime + "ms.");
+
+        if (numberOfRooms > 1)
+            allocateMeetingRooms(inputFileContentModel);
+        else
+            checkOverlapSchedule(inputFileContentModel);
+    }
+
+    /**
+     * Read the input file with the given input mode into a BookingBatch, then schedule and print the meetings
+     * without building any model object. The output is the same as process(fileName, inputMode).
+     * A binary booking file is loaded directly into the batch.
+     *
+     * @param fileName  input file name
+     * @param inputMode how the input file is read
+     * @throws IOException
+     * @throws InvalidFileFormatException
+     */
+    public void processBatch(@Nonnull final String fileName, @Nonnull final InputMode inputMode)
+            throws IOException, InvalidFileFormatException {
+        processBatch(fileName, inputMode, null);
+    }
+
+    /**
+     * Same as processBatch(fileName, inputMode), with the invalid booking requests skipped and reported like
+     * process(fileName, inputMode, rejectionBuffer) does.
+     *
+     * @param fileName        input file name
+     * @param inputMode       how the input file is read
+     * @param rejectionBuffer receives the rejected lines, or null to stop at the first invalid line
+     * @throws IOException
+     * @throws InvalidFileFormatException
+     */
+    public void processBatch(@Nonnull final String fileName, @Nonnull final InputMode inputMode,
+                             @Nullable final RejectionBuffer rejectionBuffer)
+            throws IOException, InvalidFileFormatException {
         checkNull(fileName, "fileName");
+        checkNull(inputMode, "inputMode");
 
         LOGGER.info("Input File Validation started.");
         final Long startTime = DateTimeUtils.currentTimeMillis();
 
-        if (!ifFileIsText(fileName))
+        final boolean binaryFile = ifFileIsBinary(fileName);
+        if (!binaryFile && !ifFileIsText(fileName))
             throw new InvalidFileFormatException("Wrong File Format");
 
-        // retrieve the file by its filename and validates the file
         final File inputFile = getFile(fileName);
-        final FileValidator fileValidator = new FileValidatorImpl();
+        final BookingBatch bookingBatch;
         try {
-            fileValidator.validateFileFormat(inputFile);
+            if (binaryFile) {
+                bookingBatch = new BinaryBookingFileReaderImpl().load(inputFile);
+            } else if (rejectionBuffer == null) {
+                bookingBatch = new BookingBatch();
+                inputMode.newBookingFileReader(employeeIdFormat).read(inputFile, bookingBatch);
+            } else {
+                bookingBatch = new BookingBatch();
+                inputMode.newBookingFileReader(employeeIdFormat).read(inputFile, bookingBatch, rejectionBuffer);
+            }
         } catch (final InvalidFormatException | FileNotFoundException e) {
             LOGGER.error(e.getMessage());
+            return;
         }
 
-        final List<String> inputFileContent = getFileAsList(inputFile);
-        final List<EmployeeMeetingSchedule> inputFileContentModel = convertListToModel(inputFileContent);
+        if (rejectionBuffer != null)
+            reportRejections(inputFile, rejectionBuffer);
+
+        final int[] rows = bookingBatch.sortBySubmissionTime();
 
         final Long endTime = DateTimeUtils.currentTimeMillis();
         final Long totalTime = endTime - startTime;
         LOGGER.info("Input File Validation Completed. It takes " + totalTime + "ms.");
 
-        checkOverlapSchedule(inputFileContentModel);
+        generateOutput(bookingBatch, bookingBatch.resolveOverlaps(rows));
+    }
+
+    /**
+     * Same as process(fileName, inputMode, rejectionBuffer) for inputs which do not fit in memory. The bookings are
+     * ordered by submission time with an ExternalBookingSorter, which spills sorted runs to the temporary
+     * directory, and the merged runs are added to the interval tree, or allocated to the rooms when there are
+     * several rooms, as they are read. Only the model objects of the bookings are built, once they are in
+     * submission time order.
+     *
+     * @param fileName        input file name
+     * @param inputMode       how the input file is read
+     * @param memoryBudget    memory used to sort the bookings, in bytes
+     * @param rejectionBuffer receives the rejected lines, or null to stop at the first invalid line
+     * @throws IOException
+     * @throws InvalidFileFormatException
+     */
+    public void processExternal(@Nonnull final String fileName, @Nonnull final InputMode inputMode,
+                                final long memoryBudget, @Nullable final RejectionBuffer rejectionBuffer)
+            throws IOException, InvalidFileFormatException {
+        checkNull(fileName, "fileName");
+        checkNull(inputMode, "inputMode");
+
+        LOGGER.info("Input File Validation started.");
+        final Long startTime = DateTimeUtils.currentTimeMillis();
+
+        final boolean binaryFile = ifFileIsBinary(fileName);
+        if (!binaryFile && !ifFileIsText(fileName))
+            throw new InvalidFileFormatException("Wrong File Format");
+
+        final File inputFile = getFile(fileName);
+        final BookingFileReader bookingFileReader = binaryFile
+                ? new BinaryBookingFileReaderImpl() : inputMode.newBookingFileReader(employeeIdFormat);
+        final MeetingScheduleInterval meetingScheduleIntervalModel = meetingScheduleIntervalFactory.get();
+        final Map<LocalDate, MeetingRoomAllocator> meetingRoomAllocators = new TreeMap<>();
+        final EmployeeMeetingScheduleBuilder employeeMeetingScheduleBuilder = new EmployeeMeetingScheduleBuilder(
+                newMeetingScheduleConsumer(meetingScheduleIntervalModel, meetingRoomAllocators));
+        try (final ExternalBookingSorter externalBookingSorter =
+                     new ExternalBookingSorter(employeeMeetingScheduleBuilder, memoryBudget, null)) {
+            if (rejectionBuffer == null)
+                bookingFileReader.read(inputFile, externalBookingSorter);
+            else
+                bookingFileReader.read(inputFile, externalBookingSorter, rejectionBuffer);
+
+            if (rejectionBuffer != null)
+                reportRejections(inputFile, rejectionBuffer);
+
+            final long numberOfBookings = externalBookingSorter.finish();
+            LOGGER.info(numberOfBookings + " bookings merged from " + externalBookingSorter.getNumberOfRuns()
+                    + " sorted runs.");
+        } catch (final InvalidFormatException | FileNotFoundException e) {
+            LOGGER.error(e.getMessage());
+            return;
+        } catch (final UncheckedIOException e) {
+            // a run which cannot be spilled while the bookings are read, an example is a full temporary directory
+            throw e.getCause();
+        }
+
+        final Long endTime = DateTimeUtils.currentTimeMillis();
+        final Long totalTime = endTime - startTime;
+        LOGGER.info("Input File Validation Completed. It takes " + totalTime + "ms.");
+
+        if (numberOfRooms > 1)
+            generateMeetingRoomOutput(meetingRoomAllocators);
+        else
+            generateOutput(meetingScheduleIntervalModel.iterator());
+    }
+
+    /**
+     * Schedule and print the meetings of several input text files, each one already ordered by submission time,
+     * as if they were a single file. The files are merged by a SortedBookingFilesMerger straight into the interval
+     * tree, or into the rooms when there are several rooms, so they are not sorted and only the next booking of
+     * every file is kept in memory.
+     *
+     * @param fileNames input file names, the bookings with the same submission time are taken in this order
+     * @throws IOException
+     * @throws InvalidFileFormatException
+     */
+    public void processSorted(@Nonnull final List<String> fileNames) throws IOException, InvalidFileFormatException {
+        checkNull(fileNames, "fileNames");
+
+        LOGGER.info("Input File Validation started.");
+        final Long startTime = DateTimeUtils.currentTimeMillis();
+
+        final List<File> inputFiles = new ArrayList<>(fileNames.size());
+        for (final String fileName : fileNames) {
+            if (!ifFileIsText(fileName))
+                throw new InvalidFileFormatException("Wrong File Format");
+            inputFiles.add(getFile(fileName));
+        }
+
+        final MeetingScheduleInterval meetingScheduleIntervalModel = meetingScheduleIntervalFactory.get();
+        final Map<LocalDate, MeetingRoomAllocator> meetingRoomAllocators = new TreeMap<>();
+        try {
+            new SortedBookingFilesMerger(employeeIdFormat).merge(inputFiles, new EmployeeMeetingScheduleBuilder(
+                    newMeetingScheduleConsumer(meetingScheduleIntervalModel, meetingRoomAllocators)));
+        } catch (final InvalidFormatException | FileNotFoundException e) {
+            LOGGER.error(e.getMessage());
+            return;
+        }
+
+        final Long endTime = DateTimeUtils.currentTimeMillis();
+        final Long totalTime = endTime - startTime;
+        LOGGER.info("Input File Validation Completed. It takes " + totalTime + "ms.");
+
+        if (numberOfRooms > 1)
+            generateMeetingRoomOutput(meetingRoomAllocators);
+        else
+            generateOutput(meetingScheduleIntervalModel.iterator());
+    }
+
+    /**
+     * Convert an input text file into a binary booking file, which can then be given to process instead of the
+     * text file.
+     *
+     * @param fileName       input text file name
+     * @param binaryFileName binary booking file name, with the FileParserParams.BINARY_FILE_EXTENSION extension
+     * @throws IOException
+     * @throws InvalidFileFormatException
+     */
+    public void convert(@Nonnull final String fileName, @Nonnull final String binaryFileName)
+            throws IOException, InvalidFileFormatException {
+        checkNull(fileName, "fileName");
+        checkNull(binaryFileName, "binaryFileName");
+
+        if (!ifFileIsBinary(binaryFileName))
+            throw new InvalidFileFormatException("Binary file should have the " + BINARY_FILE_EXTENSION + " extension");
+
+        try {
+            new BookingFileConverterImpl(new BookingFileReaderImpl(employeeIdFormat))
+                    .convert(getFile(fileName), new File(binaryFileName));
+        } catch (final InvalidFormatException | FileNotFoundException e) {
+            LOGGER.error(e.getMessage());
+        }
     }
 
     /**
      * Check if any of the meeting time request overlap with other.
-     * To check this, we have to add every record to an interval tree data structure
+     * Meetings of different dates never overlap, so every date has its own interval tree data structure and the
+     * dates are checked in parallel by the DailyMeetingScheduleResolver.
      *
      * @param employeeMeetingSchedules ordered list to be checked for overlapped meeting time
      */
     public void checkOverlapSchedule(@Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
         checkNull(employeeMeetingSchedules, "employeeMeetingSchedules");
 
-        final MeetingScheduleInterval meetingScheduleIntervalModel = new MeetingScheduleIntervalModel();
+        generateOutput(new DailyMeetingScheduleResolver(Runtime.getRuntime().availableProcessors(),
+                meetingScheduleIntervalFactory).resolve(employeeMeetingSchedules).iterator());
+    }
+
+    /**
+     * Allocate every meeting to the first free room in submission time order, and print the room of every
+     * accepted meeting. A meeting is rejected when it overlaps a meeting of every room. The rooms of a date are
+     * free again the next date, so every date has its own MeetingRoomAllocator.
+     *
+     * @param employeeMeetingSchedules ordered list to be allocated to the rooms
+     */
+    public void allocateMeetingRooms(@Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        checkNull(employeeMeetingSchedules, "employeeMeetingSchedules");
 
+        final Map<LocalDate, MeetingRoomAllocator> meetingRoomAllocators = new TreeMap<>();
         for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
-            meetingScheduleIntervalModel.add(employeeMeetingSchedule);
+            allocateMeetingRoom(meetingRoomAllocators, employeeMeetingSchedule);
         }
-        getActualMeetingSchedule(meetingScheduleIntervalModel.getRoot());
+
+        generateMeetingRoomOutput(meetingRoomAllocators);
+    }
+
+    /**
+     * Print the meetings allocated by the MeetingRoomAllocator of every date, with their room.
+     *
+     * @param meetingRoomAllocators allocators by meeting date, in date order
+     */
+    public void generateMeetingRoomOutput(@Nonnull final Map<LocalDate, MeetingRoomAllocator> meetingRoomAllocators) {
+        checkNull(meetingRoomAllocators, "meetingRoomAllocators");
+
+        final Map<String, List<Result>> outputStructure = new LinkedHashMap<>();
+        for (final Map.Entry<LocalDate, MeetingRoomAllocator> meetingRoomAllocator : meetingRoomAllocators.entrySet()) {
+            final List<Result> results = new LinkedList<>();
+            meetingRoomAllocator.getValue().forEachAllocation((employeeMeetingSchedule, meetingRoom) ->
+                    results.add(generateResult(employeeMeetingSchedule, meetingRoom)));
+            outputStructure.put(meetingRoomAllocator.getKey().toString(), results);
+        }
+
+        generateOutput(outputStructure);
     }
 
     /**
@@ -77,12 +424,7 @@ public class MeetingScheduler {
      * @param rootNode root node of the tree
      */
     public void getActualMeetingSchedule(@Nullable final ScheduleIntervalNode rootNode) {
-
-        final MeetingScheduleInterval meetingScheduleIntervalModel = new MeetingScheduleIntervalModel();
-        final LinkedHashSet<EmployeeMeetingSchedule> employeeMeetingSchedules =
-                meetingScheduleIntervalModel.traversal(rootNode);
-
-        generateOutput(employeeMeetingSchedules);
+        generateOutput(new ScheduleIntervalIterator(rootNode));
     }
 
     /**
@@ -93,34 +435,64 @@ public class MeetingScheduler {
     public void generateOutput(@Nonnull final LinkedHashSet<EmployeeMeetingSchedule> employeeMeetingSchedules) {
         checkNull(employeeMeetingSchedules, "employeeMeetingSchedules");
 
-        final Iterator itr = employeeMeetingSchedules.iterator();
-        final Map<String, List<Result>> outputStructure = new LinkedHashMap<>();
+        generateOutput(employeeMeetingSchedules.iterator());
+    }
 
-        while (itr.hasNext()) {
-            final EmployeeMeetingSchedule employeeMeetingSchedule = (EmployeeMeetingSchedule) itr.next();
+    /**
+     * convert the meetings to defined output model as they are iterated, an example is the iterator of a
+     * MeetingScheduleInterval which walks the tree without collecting the meetings first
+     *
+     * @param employeeMeetingSchedules accepted meetings ordered by meeting start time
+     */
+    public void generateOutput(@Nonnull final Iterator<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        checkNull(employeeMeetingSchedules, "employeeMeetingSchedules");
+
+        final Map<String, List<Result>> outputStructure = new LinkedHashMap<>();
+        LocalDate previousMeetingDate = null;
+        List<Result> results = null;
 
-            if (outputStructure.containsKey(employeeMeetingSchedule.getMeeting().getMeetingStartDate().toString())) {
-                final List<Result> results = outputStructure.get(employeeMeetingSchedule.getMeeting().getMeetingStartDate().toString());
+        while (employeeMeetingSchedules.hasNext()) {
+            final EmployeeMeetingSchedule employeeMeetingSchedule = employeeMeetingSchedules.next();
+            final Meeting meeting = employeeMeetingSchedule.getMeeting();
 
-                results.add(new Result(employeeMeetingSchedule.getEmployeeId(),
-                        generateMeetingTimeFormat(employeeMeetingSchedule.getMeeting().getMeetingStartTime().getHourOfDay(),
-                                employeeMeetingSchedule.getMeeting().getMeetingStartTime().getMinuteOfHour()),
-                        generateMeetingTimeFormat(employeeMeetingSchedule.getMeeting().getMeetingEndTime().getHourOfDay(),
-                                employeeMeetingSchedule.getMeeting().getMeetingEndTime().getMinuteOfHour())));
+            // the meetings of a date follow each other, so the date is only looked up when it changes
+            if (results == null || !meeting.getMeetingStartDate().equals(previousMeetingDate)) {
+                previousMeetingDate = meeting.getMeetingStartDate();
+                results = outputStructure.computeIfAbsent(previousMeetingDate.toString(), date -> new LinkedList<>());
+            }
 
-                outputStructure.put(employeeMeetingSchedule.getMeeting().getMeetingStartDate().toString(), results);
+            results.add(generateResult(employeeMeetingSchedule, null));
+        }
 
-            } else {
-                final List<Result> results = new LinkedList<>();
+        generateOutput(outputStructure);
+    }
 
-                results.add(new Result(employeeMeetingSchedule.getEmployeeId(),
-                        generateMeetingTimeFormat(employeeMeetingSchedule.getMeeting().getMeetingStartTime().getHourOfDay(),
-                                employeeMeetingSchedule.getMeeting().getMeetingStartTime().getMinuteOfHour()),
-                        generateMeetingTimeFormat(employeeMeetingSchedule.getMeeting().getMeetingEndTime().getHourOfDay(),
-                                employeeMeetingSchedule.getMeeting().getMeetingEndTime().getMinuteOfHour())));
+    /**
+     * convert the accepted rows of a batch to defined output model
+     *
+     * @param bookingBatch batch containing the rows
+     * @param acceptedRows indexes of the rows to be printed, ordered by meeting start time
+     */
+    public void generateOutput(@Nonnull final BookingBatch bookingBatch, @Nonnull final int[] acceptedRows) {
+        checkNull(bookingBatch, "bookingBatch");
+        checkNull(acceptedRows, "acceptedRows");
 
-                outputStructure.put(employeeMeetingSchedule.getMeeting().getMeetingStartDate().toString(), results);
+        final Map<String, List<Result>> outputStructure = new LinkedHashMap<>();
+        int previousMeetingDay = 0;
+        List<Result> results = null;
+
+        for (final int row : acceptedRows) {
+            final int meetingDay = bookingBatch.getMeetingDay(row);
+            if (results == null || meetingDay != previousMeetingDay) {
+                results = outputStructure.computeIfAbsent(toLocalDate(meetingDay).toString(), date -> new LinkedList<>());
+                previousMeetingDay = meetingDay;
             }
+
+            final int meetingStartMinute = bookingBatch.getMeetingStartMinute(row);
+            final int meetingEndMinute = bookingBatch.getMeetingEndMinute(row);
+            results.add(new Result(bookingBatch.getEmployeeId(row),
+                    generateMeetingTimeFormat(meetingStartMinute / 60, meetingStartMinute % 60),
+                    generateMeetingTimeFormat(meetingEndMinute / 60, meetingEndMinute % 60)));
         }
 
         generateOutput(outputStructure);
@@ -168,6 +540,74 @@ public class MeetingScheduler {
         return formatHour + ":" + formatMinute;
     }
 
+    /**
+     * Allocate a meeting with the MeetingRoomAllocator of its date, which is created with the first meeting of the
+     * date.
+     */
+    private void allocateMeetingRoom(@Nonnull final Map<LocalDate, MeetingRoomAllocator> meetingRoomAllocators,
+                                     @Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        meetingRoomAllocators.computeIfAbsent(employeeMeetingSchedule.getMeeting().getMeetingStartDate(),
+                date -> new MeetingRoomAllocator(numberOfRooms, meetingScheduleIntervalFactory))
+                .allocate(employeeMeetingSchedule);
+    }
+
+    /**
+     * @return a consumer allocating the meetings to the rooms when there are several rooms, else adding them to
+     * the model of the single room
+     */
+    @Nonnull
+    private Consumer<EmployeeMeetingSchedule> newMeetingScheduleConsumer(
+            @Nonnull final MeetingScheduleInterval meetingScheduleIntervalModel,
+            @Nonnull final Map<LocalDate, MeetingRoomAllocator> meetingRoomAllocators) {
+        if (numberOfRooms > 1)
+            return employeeMeetingSchedule -> allocateMeetingRoom(meetingRoomAllocators, employeeMeetingSchedule);
+        return meetingScheduleIntervalModel::tryAdd;
+    }
+
+    /**
+     * Convert a meeting to the output model.
+     *
+     * @param employeeMeetingSchedule meeting to be printed
+     * @param meetingRoom             number of the room of the meeting, or null when there is a single room
+     * @return the meeting times as HH:mm with the employee id and the room
+     */
+    @Nonnull
+    private Result generateResult(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule,
+                                  @Nullable final Integer meetingRoom) {
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
+
+        final Meeting meeting = employeeMeetingSchedule.getMeeting();
+        return new Result(employeeMeetingSchedule.getEmployeeId(),
+                generateMeetingTimeFormat(meeting.getMeetingStartTime().getHourOfDay(),
+                        meeting.getMeetingStartTime().getMinuteOfHour()),
+                generateMeetingTimeFormat(meeting.getMeetingEndTime().getHourOfDay(),
+                        meeting.getMeetingEndTime().getMinuteOfHour()),
+                meetingRoom);
+    }
+
+    /**
+     * Log the summary of the rejected lines and write them to a rejection file next to the input file,
+     * an example is "input.rejected.csv".
+     *
+     * @param inputFile       input file which has been read
+     * @param rejectionBuffer rejected lines of the input file
+     * @throws IOException
+     */
+    private void reportRejections(@Nonnull final File inputFile, @Nonnull final RejectionBuffer rejectionBuffer)
+            throws IOException {
+        checkNull(inputFile, "inputFile");
+        checkNull(rejectionBuffer, "rejectionBuffer");
+
+        if (rejectionBuffer.getNumberOfRejections() == 0) {
+            LOGGER.info("No line rejected.");
+            return;
+        }
+
+        final File rejectionFile = new File(FilenameUtils.removeExtension(inputFile.getPath()) + REJECTION_FILE_SUFFIX);
+        rejectionBuffer.write(rejectionFile);
+        LOGGER.warn(rejectionBuffer.getSummary() + ", see " + rejectionFile.getPath());
+    }
+
     /**
      * Create a File object from a given file name
      *
@@ -0,0 +1,57 @@
+package com.mls.booking.fileParser;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * CharSequence view of ASCII bytes stored in a ByteBuffer. Every byte is decoded as one char when it is read,
+ * so the bytes are never copied. One instance is meant to be reset for every line.
+ */
+class AsciiCharSequence implements CharSequence {
+
+    private ByteBuffer buffer;
+
+    private int offset;
+
+    private int length;
+
+    @Nonnull
+    AsciiCharSequence reset(@Nonnull final ByteBuffer buffer, final int offset, final int length) {
+        checkNull(buffer, "buffer");
+
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("index " + index);
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end)
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end);
+        return new AsciiCharSequence().reset(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        final char[] chars = new char[length];
+        for (int index = 0; index < length; index++) {
+            chars[index] = (char) (buffer.get(offset + index) & 0xFF);
+        }
+        return new String(chars);
+    }
+}
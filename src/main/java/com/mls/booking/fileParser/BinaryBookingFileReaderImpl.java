@@ -0,0 +1,208 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.BookingBatch;
+import com.mls.booking.model.EmployeeDictionary;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.OfficeHour;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static com.mls.booking.fileParser.FileParserParams.*;
+import static com.mls.booking.util.TimestampDecoder.MINUTES_PER_DAY;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Reads a binary booking file written by the BookingFileConverter. The records have been validated when the file
+ * was converted, so they are copied from the file without any parsing, only the header is checked.
+ */
+public class BinaryBookingFileReaderImpl implements BookingFileReader {
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final Consumer<EmployeeMeetingSchedule> consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+
+        return read(file, new EmployeeMeetingScheduleBuilder(consumer));
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+
+        try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = readHeader(fileChannel);
+            final OfficeHour officeHour = getOfficeHour(header);
+            final int numberOfRecords = header.getInt(12);
+            final EmployeeDictionary employeeDictionary = readEmployeeDictionary(fileChannel, header);
+
+            consumer.acceptOfficeHour(officeHour);
+            final ByteBuffer records = newRecordBuffer();
+            fileChannel.position(BINARY_HEADER_SIZE);
+            for (int record = 0; record < numberOfRecords; record++) {
+                if (!records.hasRemaining())
+                    readRecords(fileChannel, records, numberOfRecords - record);
+
+                final long submissionTime = records.getLong();
+                final long meetingDayStart = (long) records.getInt() * MINUTES_PER_DAY;
+                final int meetingStartMinute = records.getShort();
+                final int meetingEndMinute = records.getShort();
+                consumer.acceptBooking(submissionTime, employeeDictionary.decode(records.getInt()),
+                        meetingDayStart + meetingStartMinute, (meetingEndMinute - meetingStartMinute) / 60);
+            }
+            return officeHour;
+        }
+    }
+
+    /**
+     * The records of a binary booking file have been validated when the file was converted, so nothing is rejected.
+     */
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer,
+                           @Nonnull final RejectionBuffer rejectionBuffer) throws IOException, InvalidFormatException {
+        checkNull(rejectionBuffer, "rejectionBuffer");
+
+        return read(file, consumer);
+    }
+
+    /**
+     * Load a binary booking file into a BookingBatch. The rows are added as they are stored, with the employee codes
+     * of the file.
+     *
+     * @param file binary booking file
+     * @return batch containing every booking of the file
+     * @throws IOException
+     * @throws InvalidFormatException the file is not a binary booking file
+     */
+    @Nonnull
+    public BookingBatch load(@Nonnull final File file) throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+
+        try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = readHeader(fileChannel);
+            final int numberOfRecords = header.getInt(12);
+            final BookingBatch bookingBatch = new BookingBatch(getOfficeHour(header),
+                    readEmployeeDictionary(fileChannel, header));
+
+            final ByteBuffer records = newRecordBuffer();
+            fileChannel.position(BINARY_HEADER_SIZE);
+            for (int record = 0; record < numberOfRecords; record++) {
+                if (!records.hasRemaining())
+                    readRecords(fileChannel, records, numberOfRecords - record);
+
+                final long submissionTime = records.getLong();
+                final int meetingDay = records.getInt();
+                final int meetingStartMinute = records.getShort();
+                final int meetingEndMinute = records.getShort();
+                bookingBatch.addRow(submissionTime, meetingDay, meetingStartMinute, meetingEndMinute, records.getInt());
+            }
+            return bookingBatch;
+        }
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private static ByteBuffer readHeader(@Nonnull final FileChannel fileChannel)
+            throws IOException, InvalidFormatException {
+        final ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_SIZE);
+        readFully(fileChannel, header, 0);
+
+        if (header.getInt(0) != BINARY_FILE_MAGIC)
+            throw new InvalidFormatException("Not a binary booking file");
+        if (header.getInt(4) != BINARY_FILE_VERSION)
+            throw new InvalidFormatException("Unsupported binary booking file version " + header.getInt(4));
+
+        final long recordsEnd = BINARY_HEADER_SIZE + (long) header.getInt(12) * BINARY_RECORD_SIZE;
+        if (header.getInt(12) < 0 || header.getInt(16) < 0 || fileChannel.size() < recordsEnd)
+            throw new InvalidFormatException("Binary booking file is truncated");
+        return header;
+    }
+
+    @Nonnull
+    private static OfficeHour getOfficeHour(@Nonnull final ByteBuffer header) {
+        return new OfficeHour(getOfficeTime(header.getShort(8)), getOfficeTime(header.getShort(10)));
+    }
+
+    @Nonnull
+    private static String getOfficeTime(final int officeMinuteOfDay) {
+        final int hour = officeMinuteOfDay / 60;
+        final int minute = officeMinuteOfDay % 60;
+        return (hour < 10 ? "0" : "") + hour + (minute < 10 ? "0" : "") + minute;
+    }
+
+    /**
+     * Read the employee ids stored after the records, the codes are their positions.
+     */
+    @Nonnull
+    private static EmployeeDictionary readEmployeeDictionary(@Nonnull final FileChannel fileChannel,
+                                                             @Nonnull final ByteBuffer header)
+            throws IOException, InvalidFormatException {
+        final int numberOfEmployees = header.getInt(16);
+        final long position = BINARY_HEADER_SIZE + (long) header.getInt(12) * BINARY_RECORD_SIZE;
+        final long size = fileChannel.size() - position;
+        if (size > Integer.MAX_VALUE)
+            throw new InvalidFormatException("Binary booking file is corrupted");
+
+        final ByteBuffer employeeIds = ByteBuffer.allocate((int) size);
+        readFully(fileChannel, employeeIds, position);
+
+        final EmployeeDictionary employeeDictionary = new EmployeeDictionary();
+        for (int code = 0; code < numberOfEmployees; code++) {
+            if (employeeIds.remaining() < Short.BYTES)
+                throw new InvalidFormatException("Binary booking file is truncated");
+            final byte[] employeeId = new byte[employeeIds.getShort()];
+            if (employeeIds.remaining() < employeeId.length)
+                throw new InvalidFormatException("Binary booking file is truncated");
+            employeeIds.get(employeeId);
+            if (employeeDictionary.encode(new String(employeeId, StandardCharsets.UTF_8)) != code)
+                throw new InvalidFormatException("Binary booking file is corrupted, employee ids are not unique");
+        }
+        return employeeDictionary;
+    }
+
+    /**
+     * @return an empty buffer of BINARY_RECORDS_PER_BUFFER records
+     */
+    @Nonnull
+    private static ByteBuffer newRecordBuffer() {
+        final ByteBuffer records = ByteBuffer.allocateDirect(BINARY_RECORDS_PER_BUFFER * BINARY_RECORD_SIZE);
+        records.limit(0);
+        return records;
+    }
+
+    /**
+     * Fill the buffer with the next records, at most the given number.
+     */
+    private static void readRecords(@Nonnull final FileChannel fileChannel, @Nonnull final ByteBuffer records,
+                                    final int remainingRecords) throws IOException, InvalidFormatException {
+        records.clear();
+        records.limit((int) Math.min(records.capacity(), (long) remainingRecords * BINARY_RECORD_SIZE));
+        while (records.hasRemaining()) {
+            if (fileChannel.read(records) < 0)
+                throw new InvalidFormatException("Binary booking file is truncated");
+        }
+        records.flip();
+    }
+
+    private static void readFully(@Nonnull final FileChannel fileChannel, @Nonnull final ByteBuffer buffer,
+                                  final long position) throws IOException, InvalidFormatException {
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, position + buffer.position()) < 0)
+                throw new InvalidFormatException("Binary booking file is truncated");
+        }
+        buffer.flip();
+    }
+}
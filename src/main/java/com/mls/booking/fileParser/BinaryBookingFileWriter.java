@@ -0,0 +1,126 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.model.EmployeeDictionary;
+import com.mls.booking.model.OfficeHour;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import static com.mls.booking.fileParser.FileParserParams.*;
+import static com.mls.booking.util.Helpers.getOfficeMinuteOfDay;
+import static com.mls.booking.util.TimestampDecoder.MINUTES_PER_DAY;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Writes the decoded bookings to a binary booking file as they are read. The records are written right after
+ * the space of the header, and the employee ids and the header are written by finish once the number of records
+ * is known. The bookings come from a file reader, so they are inside the office hours and fit in a single day.
+ */
+class BinaryBookingFileWriter implements BookingRecordConsumer, Closeable {
+
+    private final FileChannel fileChannel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BINARY_RECORDS_PER_BUFFER * BINARY_RECORD_SIZE);
+
+    private final EmployeeDictionary employeeDictionary = new EmployeeDictionary();
+
+    private OfficeHour officeHour;
+
+    private int numberOfRecords;
+
+    BinaryBookingFileWriter(@Nonnull final File file) throws IOException {
+        checkNull(file, "file");
+
+        this.fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.fileChannel.position(BINARY_HEADER_SIZE);
+    }
+
+    @Override
+    public void acceptOfficeHour(@Nonnull final OfficeHour officeHour) {
+        checkNull(officeHour, "officeHour");
+
+        this.officeHour = officeHour;
+    }
+
+    @Override
+    public void acceptBooking(final long submissionTime, @Nonnull final CharSequence employeeId,
+                              final long meetingStartTime, final int meetingDuration) {
+        checkNull(employeeId, "employeeId");
+
+        if (buffer.remaining() < BINARY_RECORD_SIZE)
+            flush();
+
+        final long meetingEndTime = meetingStartTime + meetingDuration * 60L;
+        final long meetingDay = Math.floorDiv(meetingStartTime, MINUTES_PER_DAY);
+        buffer.putLong(submissionTime);
+        buffer.putInt((int) meetingDay);
+        buffer.putShort((short) (meetingStartTime - meetingDay * MINUTES_PER_DAY));
+        buffer.putShort((short) (meetingEndTime - meetingDay * MINUTES_PER_DAY));
+        buffer.putInt(employeeDictionary.encode(employeeId));
+        numberOfRecords++;
+    }
+
+    /**
+     * Write the remaining records, the employee ids and the header.
+     *
+     * @return number of records written
+     * @throws IOException
+     */
+    int finish() throws IOException {
+        checkNull(officeHour, "officeHour");
+
+        flush();
+        for (int code = 0; code < employeeDictionary.size(); code++) {
+            final byte[] employeeId = employeeDictionary.decode(code).getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < Short.BYTES + employeeId.length)
+                write(buffer);
+            buffer.putShort((short) employeeId.length);
+            buffer.put(employeeId);
+        }
+        write(buffer);
+
+        final ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_SIZE);
+        header.putInt(BINARY_FILE_MAGIC);
+        header.putInt(BINARY_FILE_VERSION);
+        header.putShort((short) getOfficeMinuteOfDay(officeHour.getOfficeStartTime()));
+        header.putShort((short) getOfficeMinuteOfDay(officeHour.getOfficeEndTime()));
+        header.putInt(numberOfRecords);
+        header.putInt(employeeDictionary.size());
+        fileChannel.position(0);
+        write(header);
+        return numberOfRecords;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private void flush() {
+        try {
+            write(buffer);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(@Nonnull final ByteBuffer byteBuffer) throws IOException {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            fileChannel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+}
@@ -0,0 +1,29 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFileFormatException;
+import com.mls.booking.errors.InvalidFormatException;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Converts an input text file into a binary booking file, so that it can be processed again and again without
+ * being parsed and validated each time.
+ */
+public interface BookingFileConverter {
+
+    /**
+     * Validate the text file and write its bookings into a binary booking file. The bookings outside of the office
+     * hours are not written. If the text file is not valid, no binary file is left.
+     *
+     * @param textFile   input text file, with the txt extension
+     * @param binaryFile binary booking file to be written, it is replaced if it exists
+     * @return number of bookings written
+     * @throws IOException
+     * @throws InvalidFormatException     the first invalid line of the text file
+     * @throws InvalidFileFormatException the text file is not a txt file
+     */
+    int convert(@Nonnull File textFile, @Nonnull File binaryFile)
+            throws IOException, InvalidFormatException, InvalidFileFormatException;
+}
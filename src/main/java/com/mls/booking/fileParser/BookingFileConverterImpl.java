@@ -0,0 +1,57 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFileFormatException;
+import com.mls.booking.errors.InvalidFormatException;
+import org.apache.log4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import static com.mls.booking.util.Helpers.ifFileIsText;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Converts a text file with a BookingFileReader, the bookings are written to the binary file as they are read.
+ */
+public class BookingFileConverterImpl implements BookingFileConverter {
+
+    private final static Logger LOGGER = Logger.getLogger(BookingFileConverterImpl.class);
+
+    private final BookingFileReader bookingFileReader;
+
+    public BookingFileConverterImpl() {
+        this(new BookingFileReaderImpl());
+    }
+
+    public BookingFileConverterImpl(@Nonnull final BookingFileReader bookingFileReader) {
+        checkNull(bookingFileReader, "bookingFileReader");
+
+        this.bookingFileReader = bookingFileReader;
+    }
+
+    public int convert(@Nonnull final File textFile, @Nonnull final File binaryFile)
+            throws IOException, InvalidFormatException, InvalidFileFormatException {
+        checkNull(textFile, "textFile");
+        checkNull(binaryFile, "binaryFile");
+
+        ifFileIsText(textFile.getName());
+
+        boolean converted = false;
+        try (final BinaryBookingFileWriter binaryBookingFileWriter = new BinaryBookingFileWriter(binaryFile)) {
+            bookingFileReader.read(textFile, binaryBookingFileWriter);
+            final int numberOfRecords = binaryBookingFileWriter.finish();
+            converted = true;
+
+            LOGGER.info(numberOfRecords + " bookings written to " + binaryFile.getPath());
+            return numberOfRecords;
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (!converted)
+                Files.deleteIfExists(binaryFile.toPath());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.OfficeHour;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+public interface BookingFileReader {
+
+    /**
+     * Read the input file in a single pass. Every line is validated with the defined rules and, as soon as a
+     * booking request and its meeting time line are both valid, it is converted to an EmployeeMeetingSchedule.
+     * Bookings falling outside of the office hours are discarded, the rest are passed to the consumer in file order.
+     * Blank lines are ignored.
+     *
+     * @param file     input file to be read
+     * @param consumer receives every booking which is inside the office hours
+     * @return the office hours given in the first line
+     * @throws IOException
+     * @throws InvalidFormatException the first invalid line, the message contains the line number
+     */
+    @Nonnull
+    OfficeHour read(@Nonnull File file, @Nonnull Consumer<EmployeeMeetingSchedule> consumer)
+            throws IOException, InvalidFormatException;
+
+    /**
+     * Read the input file in a single pass, like read(File, Consumer), but pass the decoded values of every valid
+     * booking to the consumer without building any model object. The bookings outside of the office hours are
+     * discarded like read(File, Consumer) does, so the consumer does not check them again.
+     *
+     * @param file     input file to be read
+     * @param consumer receives the office hours then every booking inside them in file order
+     * @return the office hours given in the first line
+     * @throws IOException
+     * @throws InvalidFormatException the first invalid line, the message contains the line number
+     */
+    @Nonnull
+    OfficeHour read(@Nonnull File file, @Nonnull BookingRecordConsumer consumer)
+            throws IOException, InvalidFormatException;
+
+    /**
+     * Same as read(File, BookingRecordConsumer), but an invalid booking request or meeting start time line
+     * does not stop the file. It is recorded in the rejection buffer, without any exception being created, and its
+     * booking is skipped.
+     *
+     * @param file            input file to be read
+     * @param consumer        receives the office hours then every valid booking in file order
+     * @param rejectionBuffer receives the rejected lines in file order
+     * @return the office hours given in the first line
+     * @throws IOException
+     * @throws InvalidFormatException the office hours line is invalid, or there are not enough lines
+     */
+    @Nonnull
+    OfficeHour read(@Nonnull File file, @Nonnull BookingRecordConsumer consumer,
+                    @Nonnull RejectionBuffer rejectionBuffer) throws IOException, InvalidFormatException;
+}
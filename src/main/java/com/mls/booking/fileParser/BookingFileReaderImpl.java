@@ -0,0 +1,79 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.OfficeHour;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Reads the input file line by line through a BufferedReader.
+ */
+public class BookingFileReaderImpl implements BookingFileReader {
+
+    private final String employeeIdFormat;
+
+    public BookingFileReaderImpl() {
+        this(FileParserParams.EMPLOYEE_ID_FORMAT);
+    }
+
+    /**
+     * @param employeeIdFormat format of the employee ids, an example is FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    public BookingFileReaderImpl(@Nonnull final String employeeIdFormat) {
+        checkNull(employeeIdFormat, "employeeIdFormat");
+
+        this.employeeIdFormat = employeeIdFormat;
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final Consumer<EmployeeMeetingSchedule> consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+
+        return read(file, new EmployeeMeetingScheduleBuilder(consumer));
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+
+        return readLines(file, new BookingLineHandler(consumer, null, employeeIdFormat));
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer,
+                           @Nonnull final RejectionBuffer rejectionBuffer) throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+        checkNull(rejectionBuffer, "rejectionBuffer");
+
+        return readLines(file, new BookingLineHandler(consumer, rejectionBuffer, employeeIdFormat));
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private OfficeHour readLines(@Nonnull final File file, @Nonnull final BookingLineHandler bookingLineHandler)
+            throws IOException, InvalidFormatException {
+        try (final BufferedReader reader = new BufferedReader(new FileReader(file.getPath()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                bookingLineHandler.handleLine(line);
+            }
+        }
+        return bookingLineHandler.finish();
+    }
+}
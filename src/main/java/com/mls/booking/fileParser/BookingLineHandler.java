@@ -0,0 +1,340 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidDateFormatException;
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.OfficeHour;
+import com.mls.booking.util.Helpers;
+import org.apache.log4j.Logger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+import static com.mls.booking.util.Helpers.getOfficeMinuteOfDay;
+import static com.mls.booking.util.Helpers.isInsideOfficeHours;
+import static com.mls.booking.util.Helpers.parseDuration;
+import static com.mls.booking.util.TimestampDecoder.decodeEpochMinute;
+import static com.mls.booking.util.TimestampDecoder.decodeEpochSecond;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Validates and decodes the lines of an input file one by one, whatever the way the lines are read.
+ * The 1st line contains the office hours, then every 2 lines contain a booking request followed by its
+ * meeting start time. Blank lines are ignored. A line is tokenized once and the same tokens are
+ * validated and then decoded, so the line itself is not referenced after handleLine returns.
+ * The decoded values are passed to a BookingRecordConsumer, no model object is built here. The office hours are
+ * turned into minutes of day once, and a booking outside of them is dropped right after its line is decoded, so the
+ * consumer never receives it.
+ * By default the first invalid line stops the file with an exception. When a RejectionBuffer is given, an invalid
+ * booking request or meeting start time line is recorded in it and its record pair is skipped, without
+ * any exception. The office hours line is always required to be valid, since no booking can be checked without it.
+ */
+class BookingLineHandler {
+
+    private final static Logger LOGGER = Logger.getLogger(BookingLineHandler.class);
+
+    private final FileParser fileParser;
+
+    private final LineTokenizer lineTokenizer = new LineTokenizer(FileParserParams.MAX_NUMBER_OF_PARTS);
+
+    private final BookingRecordConsumer consumer;
+
+    /**
+     * rejected lines, null when the first invalid line stops the file
+     */
+    private final RejectionBuffer rejectionBuffer;
+
+    /**
+     * employee id of the pending booking request, reused for every booking
+     */
+    private final StringBuilder employeeId = new StringBuilder();
+
+    private OfficeHour officeHour;
+
+    private int officeStartMinute;
+
+    private int officeEndMinute;
+
+    private boolean pendingBookingRequest;
+
+    private boolean rejectedBookingRequest;
+
+    private int bookingRequestLineNumber;
+
+    private long submissionTime;
+
+    private int lineNumber;
+
+    private int numberOfLines;
+
+    private int numberOfBookings;
+
+    private int numberOfRejectedBookings;
+
+    private int numberOfBookingsOutsideOfficeHours;
+
+    BookingLineHandler(@Nonnull final BookingRecordConsumer consumer) {
+        this(consumer, (RejectionBuffer) null);
+    }
+
+    BookingLineHandler(@Nonnull final BookingRecordConsumer consumer, @Nullable final RejectionBuffer rejectionBuffer) {
+        this(consumer, rejectionBuffer, FileParserParams.EMPLOYEE_ID_FORMAT);
+    }
+
+    /**
+     * @param consumer         receives the office hours then every valid booking
+     * @param rejectionBuffer  receives the rejected lines, or null to stop at the first invalid line
+     * @param employeeIdFormat format of the employee ids, an example is FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    BookingLineHandler(@Nonnull final BookingRecordConsumer consumer, @Nullable final RejectionBuffer rejectionBuffer,
+                       @Nonnull final String employeeIdFormat) {
+        checkNull(consumer, "consumer");
+
+        this.fileParser = new FileParserImpl(employeeIdFormat);
+        this.consumer = consumer;
+        this.rejectionBuffer = rejectionBuffer;
+    }
+
+    /**
+     * Continue to handle the lines of a file after its office hours line, an example is a chunk of record pairs
+     * parsed in parallel.
+     *
+     * @param consumer   receives every booking, it is expected to know the office hours already
+     * @param officeHour office hours already read from the first line
+     * @param lineNumber number of lines of the file before the next line to be handled
+     */
+    BookingLineHandler(@Nonnull final BookingRecordConsumer consumer, @Nonnull final OfficeHour officeHour,
+                       final int lineNumber) {
+        this(consumer, officeHour, lineNumber, null, FileParserParams.EMPLOYEE_ID_FORMAT);
+    }
+
+    /**
+     * Same as BookingLineHandler(consumer, officeHour, lineNumber), with the rejected lines recorded in a buffer.
+     *
+     * @param rejectionBuffer  receives the rejected lines, or null to stop at the first invalid line
+     * @param employeeIdFormat format of the employee ids, an example is FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    BookingLineHandler(@Nonnull final BookingRecordConsumer consumer, @Nonnull final OfficeHour officeHour,
+                       final int lineNumber, @Nullable final RejectionBuffer rejectionBuffer,
+                       @Nonnull final String employeeIdFormat) {
+        checkNull(consumer, "consumer");
+        checkNull(officeHour, "officeHour");
+
+        this.fileParser = new FileParserImpl(employeeIdFormat);
+        this.consumer = consumer;
+        this.rejectionBuffer = rejectionBuffer;
+        setOfficeHour(officeHour);
+        this.lineNumber = lineNumber;
+        this.numberOfLines = 1;
+    }
+
+    /**
+     * Validate and decode the next line of the file.
+     *
+     * @param line next line, without its line separator
+     * @throws InvalidFormatException the message contains the line number
+     */
+    void handleLine(@Nonnull final CharSequence line) throws InvalidFormatException {
+        checkNull(line, "line");
+
+        lineNumber++;
+        lineTokenizer.reset(line);
+        if (lineTokenizer.getNumberOfFields() == 0)
+            return;
+        numberOfLines++;
+
+        if (numberOfLines == 1) {
+            validateLine(numberOfLines);
+            setOfficeHour(Helpers.getOfficeHour(lineTokenizer));
+            consumer.acceptOfficeHour(officeHour);
+
+        } else if (numberOfLines % 2 == 0) {
+            pendingBookingRequest = true;
+            bookingRequestLineNumber = lineNumber;
+            rejectedBookingRequest = !acceptLine(numberOfLines);
+            if (rejectedBookingRequest)
+                return;
+
+            submissionTime = decodeEpochSecond(lineTokenizer.getField(0), lineTokenizer.getField(1));
+            employeeId.setLength(0);
+            employeeId.append(lineTokenizer.getField(2));
+
+        } else {
+            pendingBookingRequest = false;
+            if (rejectedBookingRequest || !acceptLine(numberOfLines)) {
+                numberOfRejectedBookings++;
+                return;
+            }
+
+            final long meetingStartTime = decodeEpochMinute(lineTokenizer.getField(0), lineTokenizer.getField(1));
+            final int meetingDuration = parseDuration(lineTokenizer.getField(2));
+            numberOfBookings++;
+
+            if (Boolean.FALSE.equals(isInsideOfficeHours(meetingStartTime, meetingStartTime + meetingDuration * 60L,
+                    officeStartMinute, officeEndMinute))) {
+                numberOfBookingsOutsideOfficeHours++;
+                return;
+            }
+            consumer.acceptBooking(submissionTime, employeeId, meetingStartTime, meetingDuration);
+        }
+    }
+
+    /**
+     * Split the ASCII bytes of a buffer into lines and handle them one by one. The last line does not need to end
+     * with a line separator, and the carriage return of windows line separators is ignored.
+     *
+     * @param buffer buffer containing the lines
+     * @param from   offset of the first line
+     * @param to     offset after the last line
+     * @param line   reusable view used to decode the lines
+     * @throws InvalidFormatException the message contains the line number
+     */
+    void handleLines(@Nonnull final ByteBuffer buffer, final int from, final int to,
+                     @Nonnull final AsciiCharSequence line) throws InvalidFormatException {
+        checkNull(buffer, "buffer");
+        checkNull(line, "line");
+
+        int lineStart = from;
+        for (int index = from; index <= to; index++) {
+            if (index == to && lineStart == to)
+                break;
+            if (index == to || buffer.get(index) == '\n') {
+                final int lineEnd = (index > lineStart && buffer.get(index - 1) == '\r') ? index - 1 : index;
+                handleLine(line.reset(buffer, lineStart, lineEnd - lineStart));
+                lineStart = index + 1;
+            }
+        }
+    }
+
+    /**
+     * @return the office hours, or null if the office hours line has not been handled yet
+     */
+    OfficeHour getOfficeHour() {
+        return this.officeHour;
+    }
+
+    /**
+     * @return line number of the last booking request handled, starting at 1
+     */
+    int getBookingRequestLineNumber() {
+        return this.bookingRequestLineNumber;
+    }
+
+    /**
+     * @return number of bookings read so far, including the ones outside of the office hours
+     */
+    int getNumberOfBookings() {
+        return this.numberOfBookings;
+    }
+
+    /**
+     * @return number of bookings read so far which are not passed to the consumer, since they are outside of
+     * the office hours
+     */
+    int getNumberOfBookingsOutsideOfficeHours() {
+        return this.numberOfBookingsOutsideOfficeHours;
+    }
+
+    /**
+     * @return number of record pairs skipped because one of their lines is rejected
+     */
+    int getNumberOfRejectedBookings() {
+        return this.numberOfRejectedBookings;
+    }
+
+    /**
+     * Check that the whole file has been read with the expected number of lines. When a RejectionBuffer is given,
+     * a last booking request without its meeting start time is rejected instead.
+     *
+     * @return the office hours given in the first line
+     * @throws InvalidFormatException
+     */
+    @Nonnull
+    OfficeHour finish() throws InvalidFormatException {
+        if (rejectionBuffer != null)
+            rejectPendingBookingRequest();
+
+        if (officeHour == null || pendingBookingRequest || numberOfBookings + numberOfRejectedBookings < 2) {
+            LOGGER.error("Inputs should be atleast 3 lines and then followed by every 2 lines");
+            throw new InvalidFormatException("Inputs should be atleast 3 lines and then followed by every 2 lines");
+        }
+        return officeHour;
+    }
+
+    /**
+     * Reject the last booking request if its meeting start time line is missing, unless the booking
+     * request itself has already been rejected.
+     */
+    void rejectPendingBookingRequest() {
+        checkNull(rejectionBuffer, "rejectionBuffer");
+
+        if (Boolean.FALSE.equals(pendingBookingRequest))
+            return;
+        if (Boolean.FALSE.equals(rejectedBookingRequest))
+            rejectionBuffer.add(bookingRequestLineNumber, RejectionReason.MISSING_MEETING_SCHEDULE);
+        pendingBookingRequest = false;
+        numberOfRejectedBookings++;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private void setOfficeHour(@Nonnull final OfficeHour officeHour) {
+        this.officeHour = officeHour;
+        this.officeStartMinute = getOfficeMinuteOfDay(officeHour.getOfficeStartTime());
+        this.officeEndMinute = getOfficeMinuteOfDay(officeHour.getOfficeEndTime());
+    }
+
+    /**
+     * Check a booking request or meeting start time line. Without RejectionBuffer the line is validated
+     * and an invalid line throws, otherwise an invalid line is recorded and no exception is created.
+     *
+     * @param position 1 based position of the line among the non blank lines
+     * @return true if the line is valid
+     * @throws InvalidFormatException
+     */
+    private boolean acceptLine(final int position) throws InvalidFormatException {
+        if (rejectionBuffer == null) {
+            validateLine(position);
+            return true;
+        }
+
+        final RejectionReason reason = (position % 2 == 0)
+                ? fileParser.checkBookingRequestFormat(lineTokenizer)
+                : fileParser.checkMeetingScheduleFormat(lineTokenizer);
+        if (reason == RejectionReason.NONE)
+            return true;
+
+        rejectionBuffer.add(lineNumber, reason);
+        return false;
+    }
+
+    /**
+     * Validate the tokenized line according to its position among the non blank lines.
+     * The thrown exception keeps its type and its message is prefixed by the line number.
+     *
+     * @param position 1 based position of the line among the non blank lines
+     * @throws InvalidFormatException
+     */
+    private void validateLine(final int position) throws InvalidFormatException {
+        try {
+            final boolean valid;
+            if (position == 1)
+                valid = fileParser.validateCompanyOfficeHoursFormat(lineTokenizer);
+            else if (position % 2 == 0)
+                valid = fileParser.validateBookingRequestFormat(lineTokenizer);
+            else
+                valid = fileParser.validateMeetingScheduleFormat(lineTokenizer);
+
+            if (Boolean.FALSE.equals(valid))
+                throw new InvalidFormatException("Invalid formatting");
+        } catch (final InvalidDateFormatException e) {
+            LOGGER.error("Line " + lineNumber + ": " + e.getMessage());
+            throw new InvalidDateFormatException("Line " + lineNumber + ": " + e.getMessage());
+        } catch (final InvalidFormatException e) {
+            LOGGER.error("Line " + lineNumber + ": " + e.getMessage());
+            throw new InvalidFormatException("Line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+}
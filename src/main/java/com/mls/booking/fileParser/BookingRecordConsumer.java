@@ -0,0 +1,30 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.model.OfficeHour;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives the decoded values of an input file, without any model object being built for the bookings.
+ */
+public interface BookingRecordConsumer {
+
+    /**
+     * Receives the office hours of the first line, before any booking.
+     *
+     * @param officeHour office hours of the input file
+     */
+    void acceptOfficeHour(@Nonnull OfficeHour officeHour);
+
+    /**
+     * Receives a valid booking request and its meeting start time, in file order. The file readers only
+     * pass the bookings inside the office hours.
+     * The employee id is a view which is only valid during the call, it should be copied to be kept.
+     *
+     * @param submissionTime   request submission time, in seconds since 1970-01-01 00:00:00
+     * @param employeeId       employee id, an example is "EMP001"
+     * @param meetingStartTime meeting start time, in minutes since 1970-01-01 00:00
+     * @param meetingDuration  meeting duration in hours
+     */
+    void acceptBooking(long submissionTime, @Nonnull CharSequence employeeId, long meetingStartTime, int meetingDuration);
+}
@@ -0,0 +1,55 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.model.EmployeeDictionary;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import com.mls.booking.model.OfficeHour;
+
+import javax.annotation.Nonnull;
+import java.util.function.Consumer;
+
+import static com.mls.booking.util.TimestampDecoder.epochMinuteToLocalDateTime;
+import static com.mls.booking.util.TimestampDecoder.epochSecondToLocalDateTime;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Builds an EmployeeMeetingSchedule for every decoded booking and passes it to a consumer. The file readers have
+ * already discarded the bookings outside of the office hours, so no model object is built for them.
+ * The employee ids are interned, so the bookings of an employee share the same String, and comparing the ids of two
+ * bookings is a reference check.
+ */
+public class EmployeeMeetingScheduleBuilder implements BookingRecordConsumer {
+
+    private final Consumer<EmployeeMeetingSchedule> consumer;
+
+    private final EmployeeDictionary employeeDictionary = new EmployeeDictionary();
+
+    private OfficeHour officeHour;
+
+    public EmployeeMeetingScheduleBuilder(@Nonnull final Consumer<EmployeeMeetingSchedule> consumer) {
+        checkNull(consumer, "consumer");
+
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void acceptOfficeHour(@Nonnull final OfficeHour officeHour) {
+        checkNull(officeHour, "officeHour");
+
+        this.officeHour = officeHour;
+    }
+
+    @Override
+    public void acceptBooking(final long submissionTime, @Nonnull final CharSequence employeeId,
+                              final long meetingStartTime, final int meetingDuration) {
+        checkNull(employeeId, "employeeId");
+
+        final EmployeeMeetingSchedule employeeMeetingSchedule = new EmployeeMeetingSchedule();
+        employeeMeetingSchedule.setOfficeHour(officeHour);
+        employeeMeetingSchedule.setSubmissionTime(epochSecondToLocalDateTime(submissionTime));
+        employeeMeetingSchedule.setEmployeeId(employeeDictionary.decode(employeeDictionary.encode(employeeId)));
+        employeeMeetingSchedule.setMeeting(new Meeting(epochMinuteToLocalDateTime(meetingStartTime), meetingDuration));
+
+        consumer.accept(employeeMeetingSchedule);
+    }
+}
@@ -0,0 +1,395 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.model.EmployeeDictionary;
+import com.mls.booking.model.OfficeHour;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.mls.booking.fileParser.FileParserParams.*;
+import static com.mls.booking.util.RadixSort.sortIndexes;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Orders the decoded bookings by submission time within a memory budget, then passes them to another
+ * BookingRecordConsumer. The bookings are buffered until the budget is reached, then the buffer is sorted and
+ * spilled to a temporary file as a run of compact records. finish merges the runs as a stream, so the whole input
+ * is never in memory. When there are more runs than the budget can read at once, they are merged in several passes.
+ * Bookings with the same submission time keep their file order, the same as the in memory sort.
+ * The employee ids stay in memory as an EmployeeDictionary.
+ */
+public class ExternalBookingSorter implements BookingRecordConsumer, Closeable {
+
+    /**
+     * memory used by a buffered booking: the 4 columns, and the keys, the buffer and the indexes of the radix sort
+     */
+    private static final int BUFFERED_RECORD_SIZE = 2 * Long.BYTES + Integer.BYTES + Byte.BYTES
+            + 2 * Long.BYTES + Integer.BYTES;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final Comparator<Run> RUN_ORDER =
+            Comparator.<Run>comparingLong(run -> run.submissionTime).thenComparingInt(run -> run.position);
+
+    private final BookingRecordConsumer consumer;
+
+    private final int runCapacity;
+
+    private final int maxNumberOfMergedRuns;
+
+    private final int readBufferSize;
+
+    private final File temporaryDirectory;
+
+    private final EmployeeDictionary employeeDictionary = new EmployeeDictionary();
+
+    /**
+     * spilled runs, in file order
+     */
+    private final List<File> runFiles = new ArrayList<>();
+
+    private long[] submissionTimes = new long[0];
+
+    private long[] meetingStartTimes = new long[0];
+
+    private int[] employeeCodes = new int[0];
+
+    private byte[] meetingDurations = new byte[0];
+
+    private int size;
+
+    private OfficeHour officeHour;
+
+    public ExternalBookingSorter(@Nonnull final BookingRecordConsumer consumer) {
+        this(consumer, EXTERNAL_SORT_MEMORY_BUDGET, null);
+    }
+
+    /**
+     * @param consumer           receives the office hours then every booking in submission time order
+     * @param memoryBudget       memory used for the bookings, in bytes, at least
+     *                           3 * FileParserParams.EXTERNAL_SORT_MIN_READ_BUFFER_SIZE
+     * @param temporaryDirectory directory of the runs, or null for the default temporary directory
+     */
+    public ExternalBookingSorter(@Nonnull final BookingRecordConsumer consumer, final long memoryBudget,
+                                 @Nullable final File temporaryDirectory) {
+        this(consumer, (int) Math.min(Integer.MAX_VALUE - 8, checkMemoryBudget(memoryBudget) / BUFFERED_RECORD_SIZE),
+                (int) Math.min(Integer.MAX_VALUE, memoryBudget / EXTERNAL_SORT_MIN_READ_BUFFER_SIZE - 1),
+                temporaryDirectory);
+    }
+
+    /**
+     * @param consumer              receives the office hours then every booking in submission time order
+     * @param runCapacity           number of bookings buffered before a run is spilled
+     * @param maxNumberOfMergedRuns number of runs merged at once, the merged run has its own write buffer
+     * @param temporaryDirectory    directory of the runs, or null for the default temporary directory
+     */
+    ExternalBookingSorter(@Nonnull final BookingRecordConsumer consumer, final int runCapacity,
+                          final int maxNumberOfMergedRuns, @Nullable final File temporaryDirectory) {
+        checkNull(consumer, "consumer");
+        if (runCapacity <= 0)
+            throw new IllegalArgumentException("runCapacity should be greater than 0");
+        if (maxNumberOfMergedRuns < 2)
+            throw new IllegalArgumentException("maxNumberOfMergedRuns should be at least 2");
+
+        this.consumer = consumer;
+        this.runCapacity = runCapacity;
+        this.maxNumberOfMergedRuns = maxNumberOfMergedRuns;
+        this.temporaryDirectory = temporaryDirectory;
+        // the run buffer is released before the merge, which shares the same budget between its read buffers
+        final long mergeMemory = (long) runCapacity * BUFFERED_RECORD_SIZE / (maxNumberOfMergedRuns + 1);
+        this.readBufferSize = (int) Math.max(EXTERNAL_SORT_RECORD_SIZE,
+                Math.min(EXTERNAL_SORT_MIN_READ_BUFFER_SIZE * 16L, mergeMemory)
+                        / EXTERNAL_SORT_RECORD_SIZE * EXTERNAL_SORT_RECORD_SIZE);
+    }
+
+    @Override
+    public void acceptOfficeHour(@Nonnull final OfficeHour officeHour) {
+        checkNull(officeHour, "officeHour");
+
+        this.officeHour = officeHour;
+    }
+
+    @Override
+    public void acceptBooking(final long submissionTime, @Nonnull final CharSequence employeeId,
+                              final long meetingStartTime, final int meetingDuration) {
+        checkNull(employeeId, "employeeId");
+
+        if (size == runCapacity) {
+            try {
+                spill();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (size == submissionTimes.length) {
+            grow();
+        }
+
+        submissionTimes[size] = submissionTime;
+        meetingStartTimes[size] = meetingStartTime;
+        employeeCodes[size] = employeeDictionary.encode(employeeId);
+        meetingDurations[size] = (byte) meetingDuration;
+        size++;
+    }
+
+    /**
+     * Pass the office hours, then every booking in submission time order to the consumer. Nothing is written to
+     * disk when the bookings fit in a single run.
+     *
+     * @return number of bookings passed to the consumer
+     * @throws IOException
+     */
+    public long finish() throws IOException {
+        checkNull(officeHour, "officeHour");
+
+        consumer.acceptOfficeHour(officeHour);
+        if (runFiles.isEmpty()) {
+            final int[] rows = sortIndexes(submissionTimes, size);
+            for (final int row : rows) {
+                consumer.acceptBooking(submissionTimes[row], employeeDictionary.decode(employeeCodes[row]),
+                        meetingStartTimes[row], meetingDurations[row]);
+            }
+            return rows.length;
+        }
+
+        if (size > 0)
+            spill();
+        releaseBuffer();
+
+        while (runFiles.size() > maxNumberOfMergedRuns) {
+            mergePass();
+        }
+        return merge(runFiles, null);
+    }
+
+    /**
+     * @return number of runs spilled to disk so far, merged runs included
+     */
+    public int getNumberOfRuns() {
+        return runFiles.size();
+    }
+
+    /**
+     * Delete the remaining runs.
+     */
+    @Override
+    public void close() {
+        for (final File runFile : runFiles) {
+            runFile.delete();
+        }
+        runFiles.clear();
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private static long checkMemoryBudget(final long memoryBudget) {
+        if (memoryBudget < 3L * EXTERNAL_SORT_MIN_READ_BUFFER_SIZE)
+            throw new IllegalArgumentException("memoryBudget should be at least "
+                    + 3 * EXTERNAL_SORT_MIN_READ_BUFFER_SIZE + " bytes");
+        return memoryBudget;
+    }
+
+    private void grow() {
+        final int capacity = (int) Math.min(runCapacity, Math.max(INITIAL_CAPACITY, 2L * submissionTimes.length));
+        submissionTimes = Arrays.copyOf(submissionTimes, capacity);
+        meetingStartTimes = Arrays.copyOf(meetingStartTimes, capacity);
+        employeeCodes = Arrays.copyOf(employeeCodes, capacity);
+        meetingDurations = Arrays.copyOf(meetingDurations, capacity);
+    }
+
+    private void releaseBuffer() {
+        submissionTimes = new long[0];
+        meetingStartTimes = new long[0];
+        employeeCodes = new int[0];
+        meetingDurations = new byte[0];
+        size = 0;
+    }
+
+    /**
+     * Sort the buffered bookings and write them to a new run.
+     */
+    private void spill() throws IOException {
+        final int[] rows = sortIndexes(submissionTimes, size);
+        final File runFile = newRunFile();
+        runFiles.add(runFile);
+
+        try (final FileChannel fileChannel = FileChannel.open(runFile.toPath(), StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(readBufferSize);
+            for (final int row : rows) {
+                if (buffer.remaining() < EXTERNAL_SORT_RECORD_SIZE)
+                    write(fileChannel, buffer);
+                putRecord(buffer, submissionTimes[row], meetingStartTimes[row], employeeCodes[row],
+                        meetingDurations[row]);
+            }
+            write(fileChannel, buffer);
+        }
+        size = 0;
+    }
+
+    /**
+     * Merge every group of maxNumberOfMergedRuns consecutive runs into a single run. The groups are consecutive,
+     * so the merged runs are still in file order.
+     */
+    private void mergePass() throws IOException {
+        final List<File> mergedRunFiles = new ArrayList<>();
+        for (int from = 0; from < runFiles.size(); from += maxNumberOfMergedRuns) {
+            final List<File> group = runFiles.subList(from, Math.min(runFiles.size(), from + maxNumberOfMergedRuns));
+            if (group.size() == 1) {
+                mergedRunFiles.add(group.get(0));
+                continue;
+            }
+
+            final File mergedRunFile = newRunFile();
+            mergedRunFiles.add(mergedRunFile);
+            try (final FileChannel fileChannel = FileChannel.open(mergedRunFile.toPath(), StandardOpenOption.WRITE)) {
+                merge(group, fileChannel);
+            }
+            for (final File runFile : group) {
+                runFile.delete();
+            }
+        }
+        runFiles.clear();
+        runFiles.addAll(mergedRunFiles);
+    }
+
+    /**
+     * Merge runs in submission time order, the bookings with the same submission time are taken from the first run.
+     *
+     * @param group       runs to be merged, in file order
+     * @param fileChannel merged run, or null to pass the bookings to the consumer
+     * @return number of merged bookings
+     */
+    private long merge(@Nonnull final List<File> group, @Nullable final FileChannel fileChannel) throws IOException {
+        final PriorityQueue<Run> queue = new PriorityQueue<>(group.size(), RUN_ORDER);
+        final List<Run> runs = new ArrayList<>(group.size());
+        final ByteBuffer buffer = fileChannel == null ? null : ByteBuffer.allocateDirect(readBufferSize);
+        long numberOfBookings = 0;
+
+        try {
+            for (int position = 0; position < group.size(); position++) {
+                final Run run = new Run(group.get(position), position, readBufferSize);
+                runs.add(run);
+                if (run.next())
+                    queue.add(run);
+            }
+
+            while (!queue.isEmpty()) {
+                final Run run = queue.poll();
+                if (buffer == null) {
+                    consumer.acceptBooking(run.submissionTime, employeeDictionary.decode(run.employeeCode),
+                            run.meetingStartTime, run.meetingDuration);
+                } else {
+                    if (buffer.remaining() < EXTERNAL_SORT_RECORD_SIZE)
+                        write(fileChannel, buffer);
+                    putRecord(buffer, run.submissionTime, run.meetingStartTime, run.employeeCode,
+                            run.meetingDuration);
+                }
+                numberOfBookings++;
+                if (run.next())
+                    queue.add(run);
+            }
+            if (buffer != null)
+                write(fileChannel, buffer);
+        } finally {
+            for (final Run run : runs) {
+                run.close();
+            }
+        }
+        return numberOfBookings;
+    }
+
+    @Nonnull
+    private File newRunFile() throws IOException {
+        final File runFile = File.createTempFile("bookings", ".run", temporaryDirectory);
+        runFile.deleteOnExit();
+        return runFile;
+    }
+
+    private static void putRecord(@Nonnull final ByteBuffer buffer, final long submissionTime,
+                                  final long meetingStartTime, final int employeeCode, final int meetingDuration) {
+        buffer.putLong(submissionTime);
+        buffer.putLong(meetingStartTime);
+        buffer.putInt(employeeCode);
+        buffer.put((byte) meetingDuration);
+    }
+
+    private static void write(@Nonnull final FileChannel fileChannel, @Nonnull final ByteBuffer buffer)
+            throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Sequential reader of a run, holding its current booking.
+     */
+    private static final class Run implements Closeable {
+
+        private final FileChannel fileChannel;
+
+        private final ByteBuffer buffer;
+
+        /**
+         * position of the run among the merged runs, which breaks the ties of submission time
+         */
+        private final int position;
+
+        private long submissionTime;
+
+        private long meetingStartTime;
+
+        private int employeeCode;
+
+        private int meetingDuration;
+
+        private Run(@Nonnull final File runFile, final int position, final int bufferSize) throws IOException {
+            this.fileChannel = FileChannel.open(runFile.toPath(), StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.buffer.limit(0);
+            this.position = position;
+        }
+
+        /**
+         * Move to the next booking of the run.
+         *
+         * @return false at the end of the run
+         */
+        private boolean next() throws IOException {
+            if (buffer.remaining() < EXTERNAL_SORT_RECORD_SIZE) {
+                buffer.compact();
+                while (buffer.position() < EXTERNAL_SORT_RECORD_SIZE && fileChannel.read(buffer) >= 0) {
+                    // a read may return less than a record
+                }
+                buffer.flip();
+                if (buffer.remaining() < EXTERNAL_SORT_RECORD_SIZE)
+                    return false;
+            }
+
+            submissionTime = buffer.getLong();
+            meetingStartTime = buffer.getLong();
+            employeeCode = buffer.getInt();
+            meetingDuration = buffer.get();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            fileChannel.close();
+        }
+    }
+}
@@ -38,4 +38,58 @@ public interface FileParser {
     @Nonnull
     boolean validateMeetingScheduleFormat(@Nonnull String meetingScheduleFormat) throws InvalidFormatException;
 
+    /**
+     * Same as validateCompanyOfficeHoursFormat(String), for a line which is already tokenized.
+     *
+     * @param tokens tokenized office hours line
+     * @return boolean true | false
+     */
+    @Nonnull
+    boolean validateCompanyOfficeHoursFormat(@Nonnull LineTokenizer tokens) throws InvalidFormatException;
+
+    /**
+     * Same as validateBookingRequestFormat(String), for a line which is already tokenized.
+     *
+     * @param tokens tokenized booking request line
+     * @return boolean true | false
+     */
+    @Nonnull
+    boolean validateBookingRequestFormat(@Nonnull LineTokenizer tokens) throws InvalidFormatException;
+
+    /**
+     * Same as validateMeetingScheduleFormat(String), for a line which is already tokenized.
+     *
+     * @param tokens tokenized meeting start time line
+     * @return boolean true | false
+     */
+    @Nonnull
+    boolean validateMeetingScheduleFormat(@Nonnull LineTokenizer tokens) throws InvalidFormatException;
+
+    /**
+     * Same as validateCompanyOfficeHoursFormat(LineTokenizer), without throwing any exception.
+     *
+     * @param tokens tokenized office hours line
+     * @return RejectionReason.NONE if the line is valid, otherwise why it is not
+     */
+    @Nonnull
+    RejectionReason checkCompanyOfficeHoursFormat(@Nonnull LineTokenizer tokens);
+
+    /**
+     * Same as validateBookingRequestFormat(LineTokenizer), without throwing any exception.
+     *
+     * @param tokens tokenized booking request line
+     * @return RejectionReason.NONE if the line is valid, otherwise why it is not
+     */
+    @Nonnull
+    RejectionReason checkBookingRequestFormat(@Nonnull LineTokenizer tokens);
+
+    /**
+     * Same as validateMeetingScheduleFormat(LineTokenizer), without throwing any exception.
+     *
+     * @param tokens tokenized meeting start time line
+     * @return RejectionReason.NONE if the line is valid, otherwise why it is not
+     */
+    @Nonnull
+    RejectionReason checkMeetingScheduleFormat(@Nonnull LineTokenizer tokens);
+
 }
@@ -5,106 +5,181 @@ import com.mls.booking.errors.InvalidFormatException;
 import org.apache.log4j.Logger;
 
 import javax.annotation.Nonnull;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.StringTokenizer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static com.mls.booking.util.Helpers.trimWhiteSpaceOfString;
+import static com.mls.booking.util.TimestampDecoder.*;
 import static com.mls.booking.util.Validator.checkNull;
 
+/**
+ * Validates the lines of the input text. Dates and times are checked by the TimestampDecoder, the other patterns
+ * are compiled once, and every instance reuses its own tokenizer and matchers, so an instance is not thread safe
+ * and should be used by a single thread.
+ * The check methods return a RejectionReason and never throw, the validate methods throw an exception built from
+ * the same RejectionReason.
+ */
 public class FileParserImpl implements FileParser {
 
     private final static Logger LOGGER = Logger.getLogger(FileParserImpl.class);
 
-    @Nonnull
-    public boolean validateCompanyOfficeHoursFormat(@Nonnull final String time) throws InvalidFormatException {
-        checkNull(time, "time");
+    private static final Pattern COMPANY_OFFICE_HOURS_PATTERN = Pattern.compile(FileParserParams.COMPANY_OFFICE_HOURS_FORMAT);
+    private static final Pattern EMPLOYEE_ID_PATTERN = Pattern.compile(FileParserParams.EMPLOYEE_ID_FORMAT);
+    private static final Pattern MEETING_DURATION_PATTERN = Pattern.compile(FileParserParams.MEETING_DURATION_FORMAT);
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("[0-9]+");
 
-        if (Boolean.FALSE.equals(validateStringFormatParts(time, FileParserParams.COMPANY_OFFICE_HOURS_FORMAT_NUMBER_OF_PARTS))) {
+    private final LineTokenizer lineTokenizer = new LineTokenizer(FileParserParams.MAX_NUMBER_OF_PARTS);
 
-            throw new InvalidFormatException("Invalid formatting. Line should contain "
-                    + FileParserParams.COMPANY_OFFICE_HOURS_FORMAT_NUMBER_OF_PARTS + " parts");
-        }
+    private final Matcher companyOfficeHoursMatcher = COMPANY_OFFICE_HOURS_PATTERN.matcher("");
+    private final Matcher employeeIdMatcher;
+    private final Matcher meetingDurationMatcher = MEETING_DURATION_PATTERN.matcher("");
+    private final Matcher numberMatcher = NUMBER_PATTERN.matcher("");
 
-        if (Boolean.FALSE.equals(validateStringPattern(FileParserParams.COMPANY_OFFICE_HOURS_FORMAT, time))) {
+    public FileParserImpl() {
+        this.employeeIdMatcher = EMPLOYEE_ID_PATTERN.matcher("");
+    }
 
-            throw new InvalidFormatException("Invalid time formatiing for company office hours. It should be in 24 hour " +
-                    "clock format");
-        }
+    /**
+     * @param employeeIdFormat format of the employee ids, an example is FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    public FileParserImpl(@Nonnull final String employeeIdFormat) {
+        checkNull(employeeIdFormat, "employeeIdFormat");
+
+        this.employeeIdMatcher = Pattern.compile(employeeIdFormat).matcher("");
+    }
+
+    @Nonnull
+    public boolean validateCompanyOfficeHoursFormat(@Nonnull final String time) throws InvalidFormatException {
+        checkNull(time, "time");
 
-        return true;
+        return validateCompanyOfficeHoursFormat(lineTokenizer.reset(time));
     }
 
     @Nonnull
     public boolean validateBookingRequestFormat(@Nonnull final String bookingRequestFormat) throws InvalidFormatException {
         checkNull(bookingRequestFormat, "bookingRequestFormat");
 
-        if (Boolean.FALSE.equals(validateStringFormatParts(bookingRequestFormat,
-                FileParserParams.BOOKING_REQUEST_TIME_FORMAT_NUMBER_OF_PARTS))) {
-            throw new InvalidFormatException("Invalid formatting. " +
-                    "request submission time, in the format [YYYY-MM-DD HH:MM:SS employee id]" +
-                    " should contain " + FileParserParams.BOOKING_REQUEST_TIME_FORMAT_NUMBER_OF_PARTS + " parts");
-        }
+        return validateBookingRequestFormat(lineTokenizer.reset(bookingRequestFormat));
+    }
 
-        final String[] tokens = bookingRequestFormat.split(FileParserParams.SPLIT_PATTERN);
-        assert tokens.length == FileParserParams.BOOKING_REQUEST_TIME_FORMAT_NUMBER_OF_PARTS;
-        final String dateFormat_YYYYMMDD = trimWhiteSpaceOfString(tokens[0]);
-        final String timeFormat_HHMMSS = trimWhiteSpaceOfString(tokens[1]);
-        final String employeeId = trimWhiteSpaceOfString(tokens[2]);
+    @Nonnull
+    public boolean validateMeetingScheduleFormat(@Nonnull final String meetingScheduleFormat) throws InvalidFormatException {
+        checkNull(meetingScheduleFormat, "meetingScheduleFormat");
 
-        if (Boolean.FALSE.equals(validateDateFormat(dateFormat_YYYYMMDD))) {
-            throw new InvalidDateFormatException("Invalid date formatting for "
-                    + dateFormat_YYYYMMDD + " request submission time, in the format YYYY-MM-DD HH:MM:SS");
-        }
+        return validateMeetingScheduleFormat(lineTokenizer.reset(meetingScheduleFormat));
+    }
 
-        if (Boolean.FALSE.equals(validateTimeFormatHHMMSS(timeFormat_HHMMSS))) {
-            throw new InvalidDateFormatException("Invalid date formatting for "
-                    + timeFormat_HHMMSS + " request submission time, in the format YYYY-MM-DD HH:MM:SS");
+    @Nonnull
+    public boolean validateCompanyOfficeHoursFormat(@Nonnull final LineTokenizer tokens) throws InvalidFormatException {
+        checkNull(tokens, "tokens");
+
+        switch (checkCompanyOfficeHoursFormat(tokens)) {
+            case WRONG_NUMBER_OF_FIELDS:
+                throw new InvalidFormatException("Invalid formatting. Line should contain "
+                        + FileParserParams.COMPANY_OFFICE_HOURS_FORMAT_NUMBER_OF_PARTS + " parts");
+            case INVALID_OFFICE_HOURS:
+                throw new InvalidFormatException("Invalid time formatiing for company office hours. It should be in 24 hour " +
+                        "clock format");
+            default:
+                return true;
+        }
+    }
 
+    @Nonnull
+    public boolean validateBookingRequestFormat(@Nonnull final LineTokenizer tokens) throws InvalidFormatException {
+        checkNull(tokens, "tokens");
+
+        switch (checkBookingRequestFormat(tokens)) {
+            case WRONG_NUMBER_OF_FIELDS:
+                throw new InvalidFormatException("Invalid formatting. " +
+                        "request submission time, in the format [YYYY-MM-DD HH:MM:SS employee id]" +
+                        " should contain " + FileParserParams.BOOKING_REQUEST_TIME_FORMAT_NUMBER_OF_PARTS + " parts");
+            case INVALID_DATE:
+                LOGGER.error("Unparseable date: \"" + tokens.getField(0) + "\"");
+                throw new InvalidDateFormatException("Invalid date formatting for "
+                        + tokens.getField(0) + " request submission time, in the format YYYY-MM-DD HH:MM:SS");
+            case INVALID_TIME:
+                throw new InvalidDateFormatException("Invalid date formatting for "
+                        + tokens.getField(1) + " request submission time, in the format YYYY-MM-DD HH:MM:SS");
+            case INVALID_EMPLOYEE_ID:
+                throw new InvalidFormatException("Invalid employee Id " + tokens.getField(2));
+            default:
+                return true;
         }
+    }
 
-        if (Boolean.FALSE.equals(validateEmployeeId(employeeId))) {
-            throw new InvalidFormatException("Invalid employee Id " + employeeId);
+    @Nonnull
+    public boolean validateMeetingScheduleFormat(@Nonnull final LineTokenizer tokens) throws InvalidFormatException {
+        checkNull(tokens, "tokens");
+
+        switch (checkMeetingScheduleFormat(tokens)) {
+            case WRONG_NUMBER_OF_FIELDS:
+                throw new InvalidFormatException("Invalid formatting. " +
+                        "meeting meetingStartTime time, in the format [YYYY-MM-DD HH:MM Duration(hours)]" +
+                        " should contain " + FileParserParams.MEETING_SCHEDULE_FORMAT_NUMBER_OF_PARTS + " parts");
+            case INVALID_DATE:
+                LOGGER.error("Unparseable date: \"" + tokens.getField(0) + "\"");
+                throw new InvalidDateFormatException("Invalid date formatting for "
+                        + tokens.getField(0) + " request submission time, in the format YYYY-MM-DD HH:MM");
+            case INVALID_TIME:
+                throw new InvalidDateFormatException("Invalid date formatting for "
+                        + tokens.getField(1) + " request submission time, in the format YYYY-MM-DD HH:MM");
+            case ZERO_MEETING_DURATION:
+                throw new InvalidFormatException("Invalid meeting duration, should be greater than 0");
+            case INVALID_MEETING_DURATION:
+                throw new InvalidFormatException("Invalid meeting duration " + tokens.getField(2));
+            default:
+                return true;
         }
+    }
+
+    @Nonnull
+    public RejectionReason checkCompanyOfficeHoursFormat(@Nonnull final LineTokenizer tokens) {
+        checkNull(tokens, "tokens");
 
-        return true;
+        if (Boolean.FALSE.equals(validateStringFormatParts(tokens, FileParserParams.COMPANY_OFFICE_HOURS_FORMAT_NUMBER_OF_PARTS)))
+            return RejectionReason.WRONG_NUMBER_OF_FIELDS;
+
+        if (Boolean.FALSE.equals(validateStringPattern(companyOfficeHoursMatcher, tokens.getLine())))
+            return RejectionReason.INVALID_OFFICE_HOURS;
+
+        return RejectionReason.NONE;
     }
 
     @Nonnull
-    public boolean validateMeetingScheduleFormat(@Nonnull final String meetingScheduleFormat) throws InvalidFormatException {
-        checkNull(meetingScheduleFormat, "meetingScheduleFormat");
+    public RejectionReason checkBookingRequestFormat(@Nonnull final LineTokenizer tokens) {
+        checkNull(tokens, "tokens");
 
-        if (Boolean.FALSE.equals(validateStringFormatParts(meetingScheduleFormat,
-                FileParserParams.MEETING_SCHEDULE_FORMAT_NUMBER_OF_PARTS))) {
+        if (Boolean.FALSE.equals(validateStringFormatParts(tokens,
+                FileParserParams.BOOKING_REQUEST_TIME_FORMAT_NUMBER_OF_PARTS)))
+            return RejectionReason.WRONG_NUMBER_OF_FIELDS;
 
-            throw new InvalidFormatException("Invalid formatting. " +
-                    "meeting meetingStartTime time, in the format [YYYY-MM-DD HH:MM Duration(hours)]" +
-                    " should contain " + FileParserParams.MEETING_SCHEDULE_FORMAT_NUMBER_OF_PARTS + " parts");
-        }
+        if (Boolean.FALSE.equals(validateDateFormat(tokens.getField(0))))
+            return RejectionReason.INVALID_DATE;
 
-        final String[] tokens = meetingScheduleFormat.split(FileParserParams.SPLIT_PATTERN);
-        assert tokens.length == FileParserParams.MEETING_SCHEDULE_FORMAT_NUMBER_OF_PARTS;
-        final String dateFormat_YYYYMMDD = trimWhiteSpaceOfString(tokens[0]);
-        final String timeFormat_HHMM = trimWhiteSpaceOfString(tokens[1]);
-        final String duration = trimWhiteSpaceOfString(tokens[2]);
+        if (Boolean.FALSE.equals(validateTimeFormatHHMMSS(tokens.getField(1))))
+            return RejectionReason.INVALID_TIME;
 
-        if (Boolean.FALSE.equals(validateDateFormat(dateFormat_YYYYMMDD))) {
-            throw new InvalidDateFormatException("Invalid date formatting for "
-                    + dateFormat_YYYYMMDD + " request submission time, in the format YYYY-MM-DD HH:MM");
-        }
+        if (Boolean.FALSE.equals(validateEmployeeId(tokens.getField(2))))
+            return RejectionReason.INVALID_EMPLOYEE_ID;
 
-        if (Boolean.FALSE.equals(validateTimeFormatHHMM(timeFormat_HHMM))) {
-            throw new InvalidDateFormatException("Invalid date formatting for "
-                    + timeFormat_HHMM + " request submission time, in the format YYYY-MM-DD HH:MM");
-        }
+        return RejectionReason.NONE;
+    }
 
-        if (Boolean.FALSE.equals(validateMeetingDuration(duration))) {
-            throw new InvalidFormatException("Invalid meeting duration " + duration);
-        }
+    @Nonnull
+    public RejectionReason checkMeetingScheduleFormat(@Nonnull final LineTokenizer tokens) {
+        checkNull(tokens, "tokens");
 
-        return true;
+        if (Boolean.FALSE.equals(validateStringFormatParts(tokens,
+                FileParserParams.MEETING_SCHEDULE_FORMAT_NUMBER_OF_PARTS)))
+            return RejectionReason.WRONG_NUMBER_OF_FIELDS;
+
+        if (Boolean.FALSE.equals(validateDateFormat(tokens.getField(0))))
+            return RejectionReason.INVALID_DATE;
+
+        if (Boolean.FALSE.equals(validateTimeFormatHHMM(tokens.getField(1))))
+            return RejectionReason.INVALID_TIME;
+
+        return checkMeetingDuration(tokens.getField(2));
     }
 
     /**
@@ -112,21 +187,19 @@ public class FileParserImpl implements FileParser {
      */
 
     /**
-     * Validate a given string format according to the defined formatting pattern.
+     * Validate a given string according to a matcher of a precompiled formatting pattern.
      * Return true if it validates the format otherwise false
      *
-     * @param stringFormat defined formatting pattern
-     * @param inputString  input string to be validated
+     * @param matcher     reusable matcher of the defined formatting pattern
+     * @param inputString input string to be validated
      * @return true | false
      */
     @Nonnull
-    private boolean validateStringPattern(@Nonnull final String stringFormat, @Nonnull final String inputString) {
-        checkNull(stringFormat, "stringFormat");
+    private boolean validateStringPattern(@Nonnull final Matcher matcher, @Nonnull final CharSequence inputString) {
+        checkNull(matcher, "matcher");
         checkNull(inputString, "inputString");
 
-        final Pattern pattern = Pattern.compile(stringFormat);
-        final Matcher matcher = pattern.matcher(inputString);
-        return matcher.matches();
+        return matcher.reset(inputString).matches();
     }
 
     /**
@@ -136,10 +209,10 @@ public class FileParserImpl implements FileParser {
      * @return true | false
      */
     @Nonnull
-    private boolean validateTimeFormatHHMMSS(@Nonnull final String time) {
+    private boolean validateTimeFormatHHMMSS(@Nonnull final CharSequence time) {
         checkNull(time, "time");
 
-        return validateStringPattern(FileParserParams.TIME_FORMAT_HHMMSS, time);
+        return decodeSecondOfDay(time) != INVALID;
     }
 
     /**
@@ -149,101 +222,74 @@ public class FileParserImpl implements FileParser {
      * @return true | false
      */
     @Nonnull
-    private boolean validateTimeFormatHHMM(@Nonnull final String time) {
+    private boolean validateTimeFormatHHMM(@Nonnull final CharSequence time) {
         checkNull(time, "time");
 
-        return validateStringPattern(FileParserParams.TIME_FORMAT_HHMM, time);
+        return decodeMinuteOfDay(time) != INVALID;
     }
 
     /**
-     * Validate the format of an employee id. An example of employee id is EMP001.
+     * Validate the format of an employee id. An example of employee id is EMP001, unless another format is given.
      * Return true if it validates the format otherwise false.
      *
      * @param employeeId employee id to be validated
      * @return true | false
      */
     @Nonnull
-    private boolean validateEmployeeId(@Nonnull final String employeeId) {
+    private boolean validateEmployeeId(@Nonnull final CharSequence employeeId) {
         checkNull(employeeId, "employeeId");
 
-        return validateStringPattern(FileParserParams.EMPLOYEE_ID_FORMAT, employeeId);
+        return validateStringPattern(employeeIdMatcher, employeeId);
     }
 
     /**
-     * Validate meeting duration format. Meeting duration should be given in hours.
+     * Check meeting duration format. Meeting duration should be given in hours.
      * It also checks if the duration is greater than 0.
-     * Return true if it validates the format otherwise false.
      *
-     * @param meetingDuration meeting duration to be validated
-     * @return true | false
-     * @throws InvalidFormatException meeting duration should be greater than 0
+     * @param meetingDuration meeting duration to be checked
+     * @return RejectionReason.NONE if it validates the format otherwise why it does not
      */
     @Nonnull
-    private boolean validateMeetingDuration(@Nonnull final String meetingDuration) throws InvalidFormatException {
+    private RejectionReason checkMeetingDuration(@Nonnull final CharSequence meetingDuration) {
         checkNull(meetingDuration, "meetingDuration");
 
-        if (Boolean.FALSE.equals(validateStringPattern(FileParserParams.MEETING_DURATION_FORMAT, meetingDuration))) {
-            if (meetingDuration.matches("[0-9]+")) {
-                throw new InvalidFormatException("Invalid meeting duration, should be greater than 0");
-            }
-            return false;
+        if (Boolean.FALSE.equals(validateStringPattern(meetingDurationMatcher, meetingDuration))) {
+            if (validateStringPattern(numberMatcher, meetingDuration))
+                return RejectionReason.ZERO_MEETING_DURATION;
+            return RejectionReason.INVALID_MEETING_DURATION;
         }
-        return true;
+        return RejectionReason.NONE;
     }
 
     /**
      * Validate the date format in YYYY-MM-DD format. Return true if it validates the format otherwise false.
+     * The date must also exist, an example of invalid date is "2015-02-29".
      *
      * @param dateFormat date format to be validated
      * @return true | false
      */
     @Nonnull
-    private boolean validateDateFormat(@Nonnull final String dateFormat) throws InvalidFormatException {
+    private boolean validateDateFormat(@Nonnull final CharSequence dateFormat) {
         checkNull(dateFormat, "dateFormat");
 
-        if (Boolean.FALSE.equals(dateFormat.matches(FileParserParams.DATE_FORMAT)))
-            return false;
-        try {
-            dateFormatThreadLocal.get().parse(dateFormat);
-            return true;
-        } catch (final ParseException ex) {
-            LOGGER.error(ex.getMessage());
-        }
-
-        return false;
+        return decodeEpochDay(dateFormat) != INVALID;
     }
 
-    /**
-     * Since the SimpleDateFormat is not thread safe so ThreadLocal is used to prevent
-     * the creation of a new SimpleDateFormat for each instance.
-     */
-    private final ThreadLocal<SimpleDateFormat> dateFormatThreadLocal = new ThreadLocal<SimpleDateFormat>() {
-        @Override
-        protected SimpleDateFormat initialValue() {
-            final SimpleDateFormat simpleDateFormat = new SimpleDateFormat(FileParserParams.SIMPLE_DATE_FORMAT);
-            simpleDateFormat.setLenient(false);
-            return simpleDateFormat;
-        }
-    };
-
     /**
      * Validate each line format. Checks if the line has correct number of subsection.
      * Return true if it validates the format otherwise false.
      *
-     * @param stringFormat          input string to be validated
+     * @param tokens                tokenized line to be validated
      * @param expectedNumberOfParts expected number of subsection in the string
      * @return true | false
      */
     @Nonnull
-    private boolean validateStringFormatParts(@Nonnull final String stringFormat,
+    private boolean validateStringFormatParts(@Nonnull final LineTokenizer tokens,
                                               @Nonnull final int expectedNumberOfParts) {
-        checkNull(stringFormat, "stringFormat");
+        checkNull(tokens, "tokens");
         checkNull(expectedNumberOfParts, "expectedNumberOfParts");
 
-        final StringTokenizer stringTokenizer = new StringTokenizer(stringFormat);
-        final int actualNumberOfParts = stringTokenizer.countTokens();
-
-        return actualNumberOfParts == expectedNumberOfParts;
+        return tokens.getNumberOfFields() == expectedNumberOfParts;
     }
 
 }
@@ -12,7 +12,8 @@ public class FileParserParams {
      */
     public static final String COMPANY_OFFICE_HOURS_FORMAT = "([01][0-9]|2[0-3])[0-5][0-9]\\s([01][0-9]|2[0-3])[0-5][0-9]";
 
-    /** We have used both REGEX and SimpleDateFormat,
+    /** The dates and times of the input are fixed width, they are validated and decoded by the TimestampDecoder
+     * which is as strict as using both REGEX and SimpleDateFormat,
      * since REGEX does not validate formats like "2015-15-15" and
      * SimpleDateFormat does not validate format like ("2015-1-1")
      */
@@ -51,6 +52,12 @@ public class FileParserParams {
      */
     public static final String EMPLOYEE_ID_FORMAT = "EMP[0-9]{3}";
 
+    /**
+     * wider employee id format, a prefix of 2 to 8 capital letters, an optional dash and 3 to 12 digits,
+     * examples are "EMP001", "EMP0012345" and "HR-000123"
+     */
+    public static final String WIDE_EMPLOYEE_ID_FORMAT = "[A-Z]{2,8}-?[0-9]{3,12}";
+
     /**
      * meeting duration in hours
      */
@@ -76,6 +83,47 @@ public class FileParserParams {
      */
     public static final int MEETING_SCHEDULE_FORMAT_NUMBER_OF_PARTS = 3;
 
+    /**
+     * maximum number of subsections of any line of the input text
+     */
+    public static final int MAX_NUMBER_OF_PARTS = 3;
+
+    /**
+     * size of the file segments mapped at once by the memory mapped reader, a line cannot be longer than a segment
+     */
+    public static final int MAPPED_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * number of chunks per worker thread when the record pairs of a segment are parsed in parallel
+     */
+    public static final int PARALLEL_CHUNKS_PER_THREAD = 4;
+
+    /**
+     * number of rejected lines kept in detail by a RejectionBuffer, the rejections beyond it are only counted
+     */
+    public static final int REJECTION_BUFFER_CAPACITY = 10000;
+
+    /**
+     * suffix of the rejection file written next to the input file, an example is "input.rejected.csv"
+     */
+    public static final String REJECTION_FILE_SUFFIX = ".rejected.csv";
+
+    /**
+     * default memory budget of the ExternalBookingSorter, in bytes, for the sorted runs and the merge buffers
+     */
+    public static final long EXTERNAL_SORT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * A run record contains the submission time in epoch seconds (long), the meeting start time in
+     * epoch minutes (long), the employee code (int) and the meeting duration in hours (byte).
+     */
+    public static final int EXTERNAL_SORT_RECORD_SIZE = 21;
+
+    /**
+     * smallest read buffer of a run during the merge, the number of runs merged at once is limited by it
+     */
+    public static final int EXTERNAL_SORT_MIN_READ_BUFFER_SIZE = 64 * 1024;
+
     /**
      * default file "input" can be retrieved from resource folder
      */
@@ -85,4 +133,37 @@ public class FileParserParams {
      * input file extension should be txt
      */
     public static final String INPUT_FILE_EXTENSION = "txt";
+
+    /**
+     * extension of the binary booking files written by the BookingFileConverter
+     */
+    public static final String BINARY_FILE_EXTENSION = "bkb";
+
+    /**
+     * first 4 bytes of a binary booking file, "BKB1" in ASCII
+     */
+    public static final int BINARY_FILE_MAGIC = 0x424B4231;
+
+    /**
+     * version of the binary booking file layout
+     */
+    public static final int BINARY_FILE_VERSION = 1;
+
+    /**
+     * The binary header contains the magic, the version, the office start and end minutes of day
+     * as 2 shorts, the number of records and the number of employees.
+     */
+    public static final int BINARY_HEADER_SIZE = 20;
+
+    /**
+     * A binary record contains the submission time in epoch seconds (long), the meeting day in epoch days (int),
+     * the meeting start and end minutes of day (2 shorts) and the employee code (int).
+     * The records are followed by the employee ids, each one is a short length followed by its UTF-8 bytes.
+     */
+    public static final int BINARY_RECORD_SIZE = 20;
+
+    /**
+     * number of binary records read or written at once
+     */
+    public static final int BINARY_RECORDS_PER_BUFFER = 4096;
 }
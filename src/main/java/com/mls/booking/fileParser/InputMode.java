@@ -0,0 +1,54 @@
+package com.mls.booking.fileParser;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The ways an input file can be read by the MeetingScheduler.
+ */
+public enum InputMode {
+
+    /**
+     * read the file line by line through a BufferedReader
+     */
+    STREAM {
+        @Nonnull
+        @Override
+        public BookingFileReader newBookingFileReader(@Nonnull final String employeeIdFormat) {
+            return new BookingFileReaderImpl(employeeIdFormat);
+        }
+    },
+
+    /**
+     * read the file through memory mapped segments, for inputs larger than the heap
+     */
+    MAPPED {
+        @Nonnull
+        @Override
+        public BookingFileReader newBookingFileReader(@Nonnull final String employeeIdFormat) {
+            return new MappedBookingFileReaderImpl(FileParserParams.MAPPED_SEGMENT_SIZE, employeeIdFormat);
+        }
+    },
+
+    /**
+     * read the file through memory mapped segments and parse the record pairs on all the cores
+     */
+    PARALLEL {
+        @Nonnull
+        @Override
+        public BookingFileReader newBookingFileReader(@Nonnull final String employeeIdFormat) {
+            return new ParallelBookingFileReaderImpl(FileParserParams.MAPPED_SEGMENT_SIZE,
+                    Runtime.getRuntime().availableProcessors(), employeeIdFormat);
+        }
+    };
+
+    @Nonnull
+    public BookingFileReader newBookingFileReader() {
+        return newBookingFileReader(FileParserParams.EMPLOYEE_ID_FORMAT);
+    }
+
+    /**
+     * @param employeeIdFormat format of the employee ids, an example is FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    @Nonnull
+    public abstract BookingFileReader newBookingFileReader(@Nonnull String employeeIdFormat);
+}
@@ -0,0 +1,193 @@
+package com.mls.booking.fileParser;
+
+import javax.annotation.Nonnull;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Splits a line by whitespace without copying it. The tokenizer only records the start and end
+ * offset of every field, the fields can be read as CharSequence views backed by the line itself.
+ * One instance is meant to be reset for every line, so tokenizing a line does not allocate anything.
+ * This class is not thread safe.
+ */
+public class LineTokenizer {
+
+    private final int[] fieldStarts;
+
+    private final int[] fieldEnds;
+
+    private final Field[] fields;
+
+    private CharSequence line = "";
+
+    private int numberOfFields;
+
+    /**
+     * @param maxNumberOfFields number of fields for which the offsets are kept. Extra fields are only counted.
+     */
+    public LineTokenizer(final int maxNumberOfFields) {
+        if (maxNumberOfFields <= 0)
+            throw new IllegalArgumentException("maxNumberOfFields should be greater than 0");
+
+        this.fieldStarts = new int[maxNumberOfFields];
+        this.fieldEnds = new int[maxNumberOfFields];
+        this.fields = new Field[maxNumberOfFields];
+        for (int index = 0; index < maxNumberOfFields; index++) {
+            this.fields[index] = new Field(index);
+        }
+    }
+
+    /**
+     * Tokenize a new line. Leading, trailing and repeated whitespaces are ignored.
+     *
+     * @param line line to be tokenized
+     * @return this tokenizer
+     */
+    @Nonnull
+    public LineTokenizer reset(@Nonnull final CharSequence line) {
+        checkNull(line, "line");
+
+        this.line = line;
+        this.numberOfFields = 0;
+
+        final int length = line.length();
+        int index = 0;
+        while (index < length) {
+            while (index < length && isWhiteSpace(line.charAt(index)))
+                index++;
+            if (index == length)
+                break;
+
+            final int start = index;
+            while (index < length && !isWhiteSpace(line.charAt(index)))
+                index++;
+
+            if (numberOfFields < fieldStarts.length) {
+                fieldStarts[numberOfFields] = start;
+                fieldEnds[numberOfFields] = index;
+            }
+            numberOfFields++;
+        }
+        return this;
+    }
+
+    @Nonnull
+    public CharSequence getLine() {
+        return this.line;
+    }
+
+    /**
+     * @return the number of fields of the line, including the ones beyond maxNumberOfFields
+     */
+    public int getNumberOfFields() {
+        return this.numberOfFields;
+    }
+
+    public int getFieldStart(final int index) {
+        checkIndex(index);
+        return this.fieldStarts[index];
+    }
+
+    public int getFieldEnd(final int index) {
+        checkIndex(index);
+        return this.fieldEnds[index];
+    }
+
+    public int getFieldLength(final int index) {
+        checkIndex(index);
+        return this.fieldEnds[index] - this.fieldStarts[index];
+    }
+
+    /**
+     * Returns a view of a field. The view is reused and follows the tokenizer, it is only valid until the next reset.
+     *
+     * @param index 0 based position of the field
+     * @return the field as CharSequence
+     */
+    @Nonnull
+    public CharSequence getField(final int index) {
+        checkIndex(index);
+        return this.fields[index];
+    }
+
+    /**
+     * Returns a copy of a field which stays valid after the next reset.
+     *
+     * @param index 0 based position of the field
+     * @return the field as String
+     */
+    @Nonnull
+    public String getFieldAsString(final int index) {
+        checkIndex(index);
+        return this.line.subSequence(this.fieldStarts[index], this.fieldEnds[index]).toString();
+    }
+
+    /**
+     * Check if a field contains exactly the given text, without copying it.
+     *
+     * @param index 0 based position of the field
+     * @param text  expected text
+     * @return true | false
+     */
+    public boolean fieldEquals(final int index, @Nonnull final CharSequence text) {
+        checkIndex(index);
+        checkNull(text, "text");
+
+        final int start = this.fieldStarts[index];
+        final int length = this.fieldEnds[index] - start;
+        if (length != text.length())
+            return false;
+        for (int offset = 0; offset < length; offset++) {
+            if (this.line.charAt(start + offset) != text.charAt(offset))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same whitespace characters as the \s regex class used by FileParserParams.SPLIT_PATTERN.
+     */
+    private static boolean isWhiteSpace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= Math.min(this.numberOfFields, this.fieldStarts.length))
+            throw new IndexOutOfBoundsException("Field " + index + " does not exist, line has "
+                    + this.numberOfFields + " fields");
+    }
+
+    /**
+     * CharSequence view of one field of the current line.
+     */
+    private final class Field implements CharSequence {
+
+        private final int index;
+
+        private Field(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int length() {
+            return fieldEnds[index] - fieldStarts[index];
+        }
+
+        @Override
+        public char charAt(final int offset) {
+            if (offset < 0 || offset >= length())
+                throw new IndexOutOfBoundsException("offset " + offset);
+            return line.charAt(fieldStarts[index] + offset);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return line.subSequence(fieldStarts[index] + start, fieldStarts[index] + end);
+        }
+
+        @Override
+        public String toString() {
+            return line.subSequence(fieldStarts[index], fieldEnds[index]).toString();
+        }
+    }
+}
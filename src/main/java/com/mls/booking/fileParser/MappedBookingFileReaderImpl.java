@@ -0,0 +1,125 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.OfficeHour;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Reads the input file through memory mapped segments of FileParserParams.MAPPED_SEGMENT_SIZE bytes.
+ * The lines are decoded as ASCII directly from the mapped bytes, so the heap usage does not depend on the file size.
+ * A segment always starts at the beginning of a line, a line which does not fit in the rest of a segment is
+ * read again from the next one.
+ */
+public class MappedBookingFileReaderImpl implements BookingFileReader {
+
+    private final int segmentSize;
+
+    private final String employeeIdFormat;
+
+    public MappedBookingFileReaderImpl() {
+        this(FileParserParams.MAPPED_SEGMENT_SIZE);
+    }
+
+    public MappedBookingFileReaderImpl(final int segmentSize) {
+        this(segmentSize, FileParserParams.EMPLOYEE_ID_FORMAT);
+    }
+
+    /**
+     * @param segmentSize      size of the mapped segments in bytes
+     * @param employeeIdFormat format of the employee ids, an example is FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    public MappedBookingFileReaderImpl(final int segmentSize, @Nonnull final String employeeIdFormat) {
+        checkNull(employeeIdFormat, "employeeIdFormat");
+        if (segmentSize <= 0)
+            throw new IllegalArgumentException("segmentSize should be greater than 0");
+
+        this.segmentSize = segmentSize;
+        this.employeeIdFormat = employeeIdFormat;
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final Consumer<EmployeeMeetingSchedule> consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+
+        return read(file, new EmployeeMeetingScheduleBuilder(consumer));
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+
+        return readLines(file, new BookingLineHandler(consumer, null, employeeIdFormat));
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer,
+                           @Nonnull final RejectionBuffer rejectionBuffer) throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+        checkNull(rejectionBuffer, "rejectionBuffer");
+
+        return readLines(file, new BookingLineHandler(consumer, rejectionBuffer, employeeIdFormat));
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private OfficeHour readLines(@Nonnull final File file, @Nonnull final BookingLineHandler bookingLineHandler)
+            throws IOException, InvalidFormatException {
+        final AsciiCharSequence line = new AsciiCharSequence();
+
+        try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long fileSize = fileChannel.size();
+            long segmentPosition = 0;
+
+            while (segmentPosition < fileSize) {
+                final int size = (int) Math.min(segmentSize, fileSize - segmentPosition);
+                final boolean lastSegment = segmentPosition + size == fileSize;
+                final MappedByteBuffer segment = fileChannel.map(FileChannel.MapMode.READ_ONLY, segmentPosition, size);
+
+                int lineStart = 0;
+                for (int index = 0; index < size; index++) {
+                    if (segment.get(index) == '\n') {
+                        bookingLineHandler.handleLine(line.reset(segment, lineStart, lineLength(segment, lineStart, index)));
+                        lineStart = index + 1;
+                    }
+                }
+
+                // the last line of the file may not end with a line separator
+                if (lastSegment && lineStart < size) {
+                    bookingLineHandler.handleLine(line.reset(segment, lineStart, lineLength(segment, lineStart, size)));
+                    lineStart = size;
+                }
+
+                if (lineStart == 0 && !lastSegment)
+                    throw new InvalidFormatException("Line is longer than " + segmentSize + " bytes");
+
+                segmentPosition += lineStart;
+            }
+        }
+        return bookingLineHandler.finish();
+    }
+
+    /**
+     * Length of a line ending at lineEnd, without the carriage return of a windows line separator.
+     */
+    private static int lineLength(@Nonnull final MappedByteBuffer segment, final int lineStart, final int lineEnd) {
+        return (lineEnd > lineStart && segment.get(lineEnd - 1) == '\r') ? lineEnd - lineStart - 1 : lineEnd - lineStart;
+    }
+}
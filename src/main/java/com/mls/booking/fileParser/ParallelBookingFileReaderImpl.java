@@ -0,0 +1,342 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.BookingBatch;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.OfficeHour;
+import org.apache.log4j.Logger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Reads the input file through memory mapped segments and parses the record pairs of every segment in parallel.
+ * Once the office hours line is known, every booking request and its meeting start time line can be
+ * converted independently. A single thread scans a segment for the line separators and records where every
+ * record pair starts, then the pairs are split into chunks which are parsed by a ForkJoinPool.
+ * Every chunk is decoded into its own BookingBatch, and the chunks are merged back in file order, so the consumer
+ * receives the bookings in the same order as with the other readers and the first invalid line of the file is the
+ * one reported. Since the chunks are BookingBatch, the bookings outside of the office hours are already filtered.
+ * When a RejectionBuffer is given, every chunk records its rejected lines in its own buffer, and the buffers are
+ * merged in file order too.
+ */
+public class ParallelBookingFileReaderImpl implements BookingFileReader {
+
+    private final static Logger LOGGER = Logger.getLogger(ParallelBookingFileReaderImpl.class);
+
+    private final int segmentSize;
+
+    private final int parallelism;
+
+    private final String employeeIdFormat;
+
+    public ParallelBookingFileReaderImpl() {
+        this(FileParserParams.MAPPED_SEGMENT_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelBookingFileReaderImpl(final int segmentSize, final int parallelism) {
+        this(segmentSize, parallelism, FileParserParams.EMPLOYEE_ID_FORMAT);
+    }
+
+    /**
+     * @param segmentSize      size of the mapped segments in bytes
+     * @param parallelism      number of threads parsing the record pairs
+     * @param employeeIdFormat format of the employee ids, an example is FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    public ParallelBookingFileReaderImpl(final int segmentSize, final int parallelism,
+                                         @Nonnull final String employeeIdFormat) {
+        checkNull(employeeIdFormat, "employeeIdFormat");
+        if (segmentSize <= 0)
+            throw new IllegalArgumentException("segmentSize should be greater than 0");
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism should be greater than 0");
+
+        this.segmentSize = segmentSize;
+        this.parallelism = parallelism;
+        this.employeeIdFormat = employeeIdFormat;
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final Consumer<EmployeeMeetingSchedule> consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+
+        return read(file, new EmployeeMeetingScheduleBuilder(consumer));
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+
+        return readSegments(file, consumer, null);
+    }
+
+    @Nonnull
+    public OfficeHour read(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer,
+                           @Nonnull final RejectionBuffer rejectionBuffer) throws IOException, InvalidFormatException {
+        checkNull(file, "file");
+        checkNull(consumer, "consumer");
+        checkNull(rejectionBuffer, "rejectionBuffer");
+
+        return readSegments(file, consumer, rejectionBuffer);
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private OfficeHour readSegments(@Nonnull final File file, @Nonnull final BookingRecordConsumer consumer,
+                                    @Nullable final RejectionBuffer rejectionBuffer)
+            throws IOException, InvalidFormatException {
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+        final BookingLineHandler officeHourLineHandler = new BookingLineHandler(consumer, rejectionBuffer,
+                employeeIdFormat);
+        final AsciiCharSequence line = new AsciiCharSequence();
+        final RecordPairs recordPairs = new RecordPairs();
+        int numberOfBookings = 0;
+
+        try (final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long fileSize = fileChannel.size();
+            long segmentPosition = 0;
+            int lineNumber = 0;
+
+            while (segmentPosition < fileSize) {
+                final int size = (int) Math.min(segmentSize, fileSize - segmentPosition);
+                final boolean lastSegment = segmentPosition + size == fileSize;
+                final MappedByteBuffer segment = fileChannel.map(FileChannel.MapMode.READ_ONLY, segmentPosition, size);
+
+                // the office hours line is read by this thread, before any record pair
+                int segmentStart = 0;
+                while (officeHourLineHandler.getOfficeHour() == null && segmentStart < size) {
+                    final int lineEnd = indexOfLineSeparator(segment, segmentStart, size);
+                    if (lineEnd == size && !lastSegment)
+                        break;
+                    officeHourLineHandler.handleLines(segment, segmentStart, lineEnd, line);
+                    segmentStart = Math.min(lineEnd + 1, size);
+                    lineNumber++;
+                }
+
+                if (officeHourLineHandler.getOfficeHour() != null) {
+                    recordPairs.scan(segment, segmentStart, size, lastSegment, lineNumber);
+                    parseRecordPairs(forkJoinPool, segment, officeHourLineHandler.getOfficeHour(), recordPairs, consumer,
+                            rejectionBuffer);
+                    numberOfBookings += recordPairs.numberOfPairs;
+                    segmentStart = recordPairs.consumedBytes;
+                    lineNumber = recordPairs.consumedLines;
+                }
+
+                if (segmentStart == 0 && !lastSegment)
+                    throw new InvalidFormatException("Record is longer than " + segmentSize + " bytes");
+                if (lastSegment && recordPairs.pendingPair && rejectionBuffer != null) {
+                    // the last booking request has no meeting start time, it is rejected like the other readers do
+                    final BookingLineHandler lastLineHandler = new BookingLineHandler(consumer,
+                            officeHourLineHandler.getOfficeHour(), recordPairs.pendingPairLineNumber, rejectionBuffer,
+                            employeeIdFormat);
+                    lastLineHandler.handleLines(segment, recordPairs.pendingPairStart, size, line);
+                    lastLineHandler.rejectPendingBookingRequest();
+                    numberOfBookings++;
+                } else if (lastSegment && recordPairs.pendingPair) {
+                    LOGGER.error("Inputs should be atleast 3 lines and then followed by every 2 lines");
+                    throw new InvalidFormatException("Inputs should be atleast 3 lines and then followed by every 2 lines");
+                }
+
+                segmentPosition += lastSegment ? size : segmentStart;
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+
+        if (officeHourLineHandler.getOfficeHour() == null || numberOfBookings < 2) {
+            LOGGER.error("Inputs should be atleast 3 lines and then followed by every 2 lines");
+            throw new InvalidFormatException("Inputs should be atleast 3 lines and then followed by every 2 lines");
+        }
+        return officeHourLineHandler.getOfficeHour();
+    }
+
+    /**
+     * Split the record pairs of a segment into chunks, parse them in parallel and pass the bookings to the consumer
+     * in file order. If several chunks contain an invalid line, the error of the first one is thrown.
+     */
+    private void parseRecordPairs(@Nonnull final ForkJoinPool forkJoinPool, @Nonnull final MappedByteBuffer segment,
+                                  @Nonnull final OfficeHour officeHour, @Nonnull final RecordPairs recordPairs,
+                                  @Nonnull final BookingRecordConsumer consumer,
+                                  @Nullable final RejectionBuffer rejectionBuffer)
+            throws InvalidFormatException {
+        if (recordPairs.numberOfPairs == 0)
+            return;
+
+        final int numberOfChunks = Math.min(recordPairs.numberOfPairs,
+                parallelism * FileParserParams.PARALLEL_CHUNKS_PER_THREAD);
+        final List<Future<Chunk>> chunks = new ArrayList<>(numberOfChunks);
+
+        for (int chunk = 0; chunk < numberOfChunks; chunk++) {
+            final int firstPair = (int) ((long) recordPairs.numberOfPairs * chunk / numberOfChunks);
+            final int lastPair = (int) ((long) recordPairs.numberOfPairs * (chunk + 1) / numberOfChunks) - 1;
+            final int from = recordPairs.pairStarts[firstPair];
+            final int to = recordPairs.pairEnds[lastPair];
+            final int lineNumber = recordPairs.pairLineNumbers[firstPair];
+
+            chunks.add(forkJoinPool.submit(() -> {
+                // every chunk has its own handler, since the parser and the tokenizer are not thread safe
+                final Chunk parsedChunk = new Chunk(officeHour, rejectionBuffer);
+                final BookingLineHandler bookingLineHandler = new BookingLineHandler(parsedChunk.bookingBatch,
+                        officeHour, lineNumber, parsedChunk.rejectionBuffer, employeeIdFormat);
+                bookingLineHandler.handleLines(segment.duplicate(), from, to, new AsciiCharSequence());
+                return parsedChunk;
+            }));
+        }
+
+        try {
+            for (final Future<Chunk> chunk : chunks) {
+                final Chunk parsedChunk = chunk.get();
+                parsedChunk.bookingBatch.forEach(consumer);
+                if (rejectionBuffer != null)
+                    rejectionBuffer.addAll(parsedChunk.rejectionBuffer);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            for (final Future<Chunk> chunk : chunks) {
+                chunk.cancel(true);
+            }
+            if (e.getCause() instanceof InvalidFormatException)
+                throw (InvalidFormatException) e.getCause();
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int indexOfLineSeparator(@Nonnull final MappedByteBuffer segment, final int from, final int to) {
+        for (int index = from; index < to; index++) {
+            if (segment.get(index) == '\n')
+                return index;
+        }
+        return to;
+    }
+
+    private static boolean isWhiteSpace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == '\u000B';
+    }
+
+    /**
+     * Bookings and rejected lines of a chunk of record pairs.
+     */
+    private static final class Chunk {
+
+        private final BookingBatch bookingBatch;
+
+        private final RejectionBuffer rejectionBuffer;
+
+        private Chunk(@Nonnull final OfficeHour officeHour, @Nullable final RejectionBuffer rejectionBuffer) {
+            this.bookingBatch = new BookingBatch(officeHour);
+            this.rejectionBuffer = rejectionBuffer == null ? null : new RejectionBuffer(rejectionBuffer.getCapacity());
+        }
+    }
+
+    /**
+     * Offsets of the complete record pairs of a segment. A record pair is a booking request line followed by
+     * its meeting start time line, blank lines between them are kept inside the pair.
+     */
+    private static final class RecordPairs {
+
+        private int[] pairStarts = new int[1024];
+
+        private int[] pairEnds = new int[1024];
+
+        private int[] pairLineNumbers = new int[1024];
+
+        private int numberOfPairs;
+
+        private int consumedBytes;
+
+        private int consumedLines;
+
+        private boolean pendingPair;
+
+        private int pendingPairStart;
+
+        private int pendingPairLineNumber;
+
+        /**
+         * Record every complete pair from the offset from. The scan stops after the last complete pair of the segment,
+         * unless it is the last segment of the file.
+         *
+         * @param lineNumber number of lines of the file before the offset from
+         */
+        private void scan(@Nonnull final MappedByteBuffer segment, final int from, final int to,
+                          final boolean lastSegment, final int lineNumber) {
+            numberOfPairs = 0;
+            consumedBytes = from;
+            consumedLines = lineNumber;
+            pendingPair = false;
+
+            int lines = lineNumber;
+            int lineStart = from;
+            int pairStart = from;
+            int pairLineNumber = lineNumber;
+            boolean blankLine = true;
+
+            for (int index = from; index <= to; index++) {
+                if (index == to && (!lastSegment || lineStart == to))
+                    break;
+                if (index < to && segment.get(index) != '\n') {
+                    blankLine = blankLine && isWhiteSpace(segment.get(index));
+                    continue;
+                }
+
+                lines++;
+                final int lineEnd = Math.min(index + 1, to);
+                if (!blankLine && !pendingPair) {
+                    pendingPair = true;
+                    pairStart = lineStart;
+                    pairLineNumber = lines - 1;
+                } else if (!blankLine) {
+                    pendingPair = false;
+                    add(pairStart, lineEnd, pairLineNumber);
+                }
+
+                if (!pendingPair) {
+                    consumedBytes = lineEnd;
+                    consumedLines = lines;
+                }
+                lineStart = lineEnd;
+                blankLine = true;
+            }
+
+            pendingPairStart = pairStart;
+            pendingPairLineNumber = pairLineNumber;
+        }
+
+        private void add(final int pairStart, final int pairEnd, final int pairLineNumber) {
+            if (numberOfPairs == pairStarts.length) {
+                pairStarts = Arrays.copyOf(pairStarts, numberOfPairs * 2);
+                pairEnds = Arrays.copyOf(pairEnds, numberOfPairs * 2);
+                pairLineNumbers = Arrays.copyOf(pairLineNumbers, numberOfPairs * 2);
+            }
+            pairStarts[numberOfPairs] = pairStart;
+            pairEnds[numberOfPairs] = pairEnd;
+            pairLineNumbers[numberOfPairs] = pairLineNumber;
+            numberOfPairs++;
+        }
+    }
+}
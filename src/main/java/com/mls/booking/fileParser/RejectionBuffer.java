@@ -0,0 +1,171 @@
+package com.mls.booking.fileParser;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Collects the lines rejected while an input file is read, instead of stopping at the first invalid line.
+ * The line numbers and the reasons are kept in arrays allocated once, so rejecting a line allocates nothing.
+ * Only the first rejections up to the capacity are kept in detail, every rejection is counted by its reason.
+ * An instance is not thread safe.
+ */
+public class RejectionBuffer {
+
+    private static final RejectionReason[] REJECTION_REASONS = RejectionReason.values();
+
+    private final int[] lineNumbers;
+
+    private final byte[] reasons;
+
+    private final long[] numberOfRejectionsByReason = new long[REJECTION_REASONS.length];
+
+    private long numberOfRejections;
+
+    private int size;
+
+    public RejectionBuffer() {
+        this(FileParserParams.REJECTION_BUFFER_CAPACITY);
+    }
+
+    public RejectionBuffer(final int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity should not be negative");
+
+        this.lineNumbers = new int[capacity];
+        this.reasons = new byte[capacity];
+    }
+
+    /**
+     * Record a rejected line.
+     *
+     * @param lineNumber 1 based number of the rejected line in the input file
+     * @param reason     why the line is rejected
+     * @return true if the rejection is kept in detail, false if the buffer is full and it is only counted
+     */
+    public boolean add(final int lineNumber, @Nonnull final RejectionReason reason) {
+        checkNull(reason, "reason");
+
+        numberOfRejections++;
+        numberOfRejectionsByReason[reason.ordinal()]++;
+        if (size == lineNumbers.length)
+            return false;
+
+        lineNumbers[size] = lineNumber;
+        reasons[size] = (byte) reason.ordinal();
+        size++;
+        return true;
+    }
+
+    /**
+     * Append the rejections of another buffer, an example is the buffer of a chunk parsed in parallel.
+     *
+     * @param rejectionBuffer rejections to be appended, in line order after the ones of this buffer
+     */
+    public void addAll(@Nonnull final RejectionBuffer rejectionBuffer) {
+        checkNull(rejectionBuffer, "rejectionBuffer");
+
+        final int numberOfKept = Math.min(rejectionBuffer.size, lineNumbers.length - size);
+        System.arraycopy(rejectionBuffer.lineNumbers, 0, lineNumbers, size, numberOfKept);
+        System.arraycopy(rejectionBuffer.reasons, 0, reasons, size, numberOfKept);
+        size += numberOfKept;
+
+        numberOfRejections += rejectionBuffer.numberOfRejections;
+        for (int reason = 0; reason < numberOfRejectionsByReason.length; reason++) {
+            numberOfRejectionsByReason[reason] += rejectionBuffer.numberOfRejectionsByReason[reason];
+        }
+    }
+
+    /**
+     * @return number of rejections kept in detail
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public int getCapacity() {
+        return this.lineNumbers.length;
+    }
+
+    /**
+     * @return number of rejections, including the ones which are only counted
+     */
+    public long getNumberOfRejections() {
+        return this.numberOfRejections;
+    }
+
+    public long getNumberOfRejections(@Nonnull final RejectionReason reason) {
+        checkNull(reason, "reason");
+
+        return this.numberOfRejectionsByReason[reason.ordinal()];
+    }
+
+    public int getLineNumber(final int index) {
+        checkIndex(index);
+        return this.lineNumbers[index];
+    }
+
+    @Nonnull
+    public RejectionReason getReason(final int index) {
+        checkIndex(index);
+        return REJECTION_REASONS[this.reasons[index]];
+    }
+
+    /**
+     * @return number of rejections by reason, an example is "3 lines rejected: 2 INVALID_DATE, 1 INVALID_EMPLOYEE_ID"
+     */
+    @Nonnull
+    public String getSummary() {
+        final StringBuilder summary = new StringBuilder();
+        summary.append(numberOfRejections).append(numberOfRejections == 1 ? " line rejected" : " lines rejected");
+
+        String separator = ": ";
+        for (final RejectionReason reason : REJECTION_REASONS) {
+            if (numberOfRejectionsByReason[reason.ordinal()] > 0) {
+                summary.append(separator).append(numberOfRejectionsByReason[reason.ordinal()]).append(' ').append(reason);
+                separator = ", ";
+            }
+        }
+
+        if (numberOfRejections > size)
+            summary.append(" (only the first ").append(size).append(" are detailed)");
+        return summary.toString();
+    }
+
+    /**
+     * Write the rejections kept in detail as comma separated values, one rejected line per row.
+     * The columns are the line number, the 1 based index of the wrong field (0 for the whole line),
+     * the reason and its quoted description.
+     *
+     * @param file rejection file to be written, it is replaced if it exists
+     * @throws IOException
+     */
+    public void write(@Nonnull final File file) throws IOException {
+        checkNull(file, "file");
+
+        try (final BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("line,field,reason,description");
+            writer.newLine();
+            for (int index = 0; index < size; index++) {
+                final RejectionReason reason = REJECTION_REASONS[reasons[index]];
+                writer.write(lineNumbers[index] + "," + reason.getField() + "," + reason
+                        + ",\"" + reason.getDescription() + "\"");
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Rejection " + index + " does not exist, buffer has " + size + " rejections");
+    }
+}
@@ -0,0 +1,46 @@
+package com.mls.booking.fileParser;
+
+/**
+ * Why a line of the input text is not valid, as returned by the check methods of the FileParser.
+ * Every reason is tied to the field of the line which is wrong, 0 when it is the whole line.
+ */
+public enum RejectionReason {
+
+    NONE(0, "valid"),
+
+    WRONG_NUMBER_OF_FIELDS(0, "wrong number of fields"),
+
+    INVALID_OFFICE_HOURS(0, "invalid office hours, should be in 24 hour clock format"),
+
+    INVALID_DATE(1, "invalid date, should be in the format YYYY-MM-DD"),
+
+    INVALID_TIME(2, "invalid time, should be in the format HH:MM:SS or HH:MM"),
+
+    INVALID_EMPLOYEE_ID(3, "invalid employee id"),
+
+    INVALID_MEETING_DURATION(3, "invalid meeting duration"),
+
+    ZERO_MEETING_DURATION(3, "meeting duration should be greater than 0"),
+
+    MISSING_MEETING_SCHEDULE(0, "booking request without meeting start time");
+
+    private final int field;
+
+    private final String description;
+
+    RejectionReason(final int field, final String description) {
+        this.field = field;
+        this.description = description;
+    }
+
+    /**
+     * @return 1 based index of the wrong field, 0 when it is the whole line
+     */
+    public int getField() {
+        return this.field;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+}
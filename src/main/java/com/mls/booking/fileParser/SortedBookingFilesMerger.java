@@ -0,0 +1,210 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.OfficeHour;
+import org.apache.log4j.Logger;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Merges input files which are each already ordered by submission time, an example is the submission log of every
+ * booking front end. Every file is read line by line by its own BookingLineHandler, and the next booking of every
+ * file is kept in a heap, so the memory only depends on the number of files and nothing is sorted.
+ * The bookings are passed to the consumer in submission time order, the ones with the same submission time are
+ * taken in the order of the files. Every file must have the same office hours, and a booking submitted before the
+ * previous one of its file stops the merge with an exception.
+ */
+public class SortedBookingFilesMerger {
+
+    private final static Logger LOGGER = Logger.getLogger(SortedBookingFilesMerger.class);
+
+    private static final Comparator<SortedBookingFile> BOOKING_ORDER =
+            Comparator.<SortedBookingFile>comparingLong(file -> file.submissionTime).thenComparingInt(file -> file.position);
+
+    private final String employeeIdFormat;
+
+    public SortedBookingFilesMerger() {
+        this(FileParserParams.EMPLOYEE_ID_FORMAT);
+    }
+
+    /**
+     * @param employeeIdFormat format of the employee ids, an example is FileParserParams.WIDE_EMPLOYEE_ID_FORMAT
+     */
+    public SortedBookingFilesMerger(@Nonnull final String employeeIdFormat) {
+        checkNull(employeeIdFormat, "employeeIdFormat");
+
+        this.employeeIdFormat = employeeIdFormat;
+    }
+
+    /**
+     * Merge the bookings of the files into the consumer.
+     *
+     * @param files    input files, each one ordered by submission time
+     * @param consumer receives the office hours then every booking in submission time order
+     * @return the office hours shared by the files
+     * @throws IOException
+     * @throws InvalidFormatException if a file is not valid, is not ordered or has other office hours
+     */
+    @Nonnull
+    public OfficeHour merge(@Nonnull final List<File> files, @Nonnull final BookingRecordConsumer consumer)
+            throws IOException, InvalidFormatException {
+        checkNull(files, "files");
+        checkNull(consumer, "consumer");
+        if (files.isEmpty())
+            throw new IllegalArgumentException("files should not be empty");
+
+        final List<SortedBookingFile> sortedBookingFiles = new ArrayList<>(files.size());
+        final PriorityQueue<SortedBookingFile> queue = new PriorityQueue<>(files.size(), BOOKING_ORDER);
+        try {
+            for (int position = 0; position < files.size(); position++) {
+                final SortedBookingFile sortedBookingFile = new SortedBookingFile(files.get(position), position,
+                        employeeIdFormat);
+                sortedBookingFiles.add(sortedBookingFile);
+                if (sortedBookingFile.next())
+                    queue.add(sortedBookingFile);
+            }
+
+            final OfficeHour officeHour = getOfficeHour(sortedBookingFiles);
+            consumer.acceptOfficeHour(officeHour);
+
+            while (!queue.isEmpty()) {
+                final SortedBookingFile sortedBookingFile = queue.poll();
+                consumer.acceptBooking(sortedBookingFile.submissionTime, sortedBookingFile.employeeId,
+                        sortedBookingFile.meetingStartTime, sortedBookingFile.meetingDuration);
+                if (sortedBookingFile.next())
+                    queue.add(sortedBookingFile);
+            }
+            return officeHour;
+        } finally {
+            for (final SortedBookingFile sortedBookingFile : sortedBookingFiles) {
+                sortedBookingFile.close();
+            }
+        }
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private static OfficeHour getOfficeHour(@Nonnull final List<SortedBookingFile> sortedBookingFiles)
+            throws InvalidFormatException {
+        final OfficeHour officeHour = sortedBookingFiles.get(0).officeHour;
+        for (final SortedBookingFile sortedBookingFile : sortedBookingFiles) {
+            if (officeHour == null || !officeHour.equals(sortedBookingFile.officeHour)) {
+                LOGGER.error(sortedBookingFile.file.getPath() + ": office hours differ from the other files");
+                throw new InvalidFormatException(sortedBookingFile.file.getPath()
+                        + ": office hours differ from the other files");
+            }
+        }
+        return officeHour;
+    }
+
+    /**
+     * Reads the bookings of a file one at a time, the current one is held in the fields.
+     */
+    private static final class SortedBookingFile implements BookingRecordConsumer, Closeable {
+
+        private final File file;
+
+        /**
+         * position of the file among the merged files, which breaks the ties of submission time
+         */
+        private final int position;
+
+        private final BufferedReader reader;
+
+        private final BookingLineHandler bookingLineHandler;
+
+        private final StringBuilder employeeId = new StringBuilder();
+
+        private OfficeHour officeHour;
+
+        private boolean hasBooking;
+
+        private long submissionTime = Long.MIN_VALUE;
+
+        private long meetingStartTime;
+
+        private int meetingDuration;
+
+        private boolean ordered = true;
+
+        private SortedBookingFile(@Nonnull final File file, final int position, @Nonnull final String employeeIdFormat)
+                throws IOException {
+            this.file = file;
+            this.position = position;
+            this.reader = new BufferedReader(new FileReader(file.getPath()));
+            this.bookingLineHandler = new BookingLineHandler(this, null, employeeIdFormat);
+        }
+
+        @Override
+        public void acceptOfficeHour(@Nonnull final OfficeHour officeHour) {
+            this.officeHour = officeHour;
+        }
+
+        @Override
+        public void acceptBooking(final long submissionTime, @Nonnull final CharSequence employeeId,
+                                  final long meetingStartTime, final int meetingDuration) {
+            this.hasBooking = true;
+            this.ordered = submissionTime >= this.submissionTime;
+            this.submissionTime = submissionTime;
+            this.employeeId.setLength(0);
+            this.employeeId.append(employeeId);
+            this.meetingStartTime = meetingStartTime;
+            this.meetingDuration = meetingDuration;
+        }
+
+        /**
+         * Read the lines of the file up to its next booking inside the office hours.
+         *
+         * @return false at the end of the file
+         * @throws InvalidFormatException if a line is not valid or the booking is submitted before the previous one
+         */
+        private boolean next() throws IOException, InvalidFormatException {
+            hasBooking = false;
+
+            String line;
+            while (!hasBooking && (line = reader.readLine()) != null) {
+                try {
+                    bookingLineHandler.handleLine(line);
+                } catch (final InvalidFormatException e) {
+                    throw new InvalidFormatException(file.getPath() + ": " + e.getMessage());
+                }
+            }
+
+            if (!hasBooking) {
+                try {
+                    bookingLineHandler.finish();
+                } catch (final InvalidFormatException e) {
+                    throw new InvalidFormatException(file.getPath() + ": " + e.getMessage());
+                }
+                return false;
+            }
+
+            if (Boolean.FALSE.equals(ordered)) {
+                final String message = file.getPath() + ": line " + bookingLineHandler.getBookingRequestLineNumber()
+                        + " is submitted before the previous booking request, the file is not ordered";
+                LOGGER.error(message);
+                throw new InvalidFormatException(message);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
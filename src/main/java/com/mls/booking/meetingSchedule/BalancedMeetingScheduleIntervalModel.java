@@ -0,0 +1,324 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+import static com.mls.booking.util.Helpers.*;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * AVL interval tree of the accepted meetings, keyed on the meeting start time. Every node keeps the height
+ * and the maxMeetingEndTime of its subtree, and both are recomputed from the children after every insertion and
+ * rotation. The heights of the 2 subtrees of a node never differ by more than 1, so the tree stays balanced when
+ * the meetings are added in start time order, and add, remove and overlap take O(log n). add checks the
+ * overlaps on its way down to the insertion point, and a rejected meeting leaves the tree unchanged.
+ * The accepted meetings are the same as the MeetingScheduleIntervalModel.
+ */
+public class BalancedMeetingScheduleIntervalModel implements MeetingScheduleInterval {
+
+    private ScheduleIntervalNode rootNode;
+
+    private int size;
+
+    /**
+     * Load meetings which have already been accepted into a model, see ScheduleIntervalTreeBuilder.buildValidated.
+     * The loaded tree is perfectly balanced, so it is also a valid AVL tree.
+     */
+    @Nonnull
+    public static BalancedMeetingScheduleIntervalModel load(
+            @Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        final BalancedMeetingScheduleIntervalModel balancedModel = new BalancedMeetingScheduleIntervalModel();
+        balancedModel.rootNode = ScheduleIntervalTreeBuilder.buildValidated(employeeMeetingSchedules);
+        balancedModel.size = employeeMeetingSchedules.size();
+        return balancedModel;
+    }
+
+    public void add(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        tryAdd(employeeMeetingSchedule);
+    }
+
+    @Nonnull
+    @Override
+    public ScheduleIntervalAddResult tryAdd(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
+        checkNull(employeeMeetingSchedule.getMeeting().getMeetingStartTime(), "startTime");
+        checkNull(employeeMeetingSchedule.getMeeting().getMeetingEndTime(), "endTime");
+
+        final LocalDateTime startTime = employeeMeetingSchedule.getMeeting().getMeetingStartTime();
+        final LocalDateTime endTime = employeeMeetingSchedule.getMeeting().getMeetingEndTime();
+
+        if (isGreaterThanOrEqual(startTime, endTime))
+            throw new IllegalArgumentException("The meetingEndTime " + endTime
+                    + " should be greater than meetingStartTime " + startTime);
+
+        final Insertion insertion = new Insertion(startTime, endTime, employeeMeetingSchedule);
+        rootNode = insert(rootNode, insertion);
+        if (insertion.conflictingNode != null)
+            return ScheduleIntervalAddResult.rejected(insertion.conflictingNode);
+
+        size++;
+        return ScheduleIntervalAddResult.accepted(insertion.acceptedNode);
+    }
+
+    @Nullable
+    @Override
+    public EmployeeMeetingSchedule remove(@Nonnull final String employeeId,
+                                          @Nonnull final LocalDateTime meetingStartTime) {
+        checkNull(employeeId, "employeeId");
+        checkNull(meetingStartTime, "meetingStartTime");
+
+        final Removal removal = new Removal(employeeId, meetingStartTime);
+        rootNode = remove(rootNode, removal);
+        if (removal.removedNode == null)
+            return null;
+
+        size--;
+        return removal.removedNode.employeeMeetingSchedule;
+    }
+
+    @Nullable
+    @Override
+    public ScheduleIntervalNode getRoot() {
+        return this.rootNode;
+    }
+
+    /**
+     * @return number of meetings in the tree
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return height of the tree, 0 when it is empty
+     */
+    public int height() {
+        return height(rootNode);
+    }
+
+    /**
+     * Check if the input meeting timing intervals are overlapping with the existing intervals.
+     * Two intervals such that one of the points coincide are NOT considered as intersecting.
+     *
+     * @param startTime the start of the interval
+     * @param endTime   the end of the interval
+     * @return true if overlap, else false.
+     */
+    public boolean overlap(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+        checkNull(startTime, "startTime");
+        checkNull(endTime, "endTime");
+
+        if (isGreaterThanOrEqual(startTime, endTime))
+            throw new IllegalArgumentException("The meetingEndTime " + endTime
+                    + " should be greater than meetingStartTime " + startTime);
+
+        ScheduleIntervalNode scheduleIntervalNode = rootNode;
+        while (scheduleIntervalNode != null) {
+            if (isLessThan(startTime, scheduleIntervalNode.meetingEndTime)
+                    && isGreaterThan(endTime, scheduleIntervalNode.meetingStartTime))
+                return true;
+
+            // if no meeting of the left subtree ends after startTime, none of them can overlap
+            final ScheduleIntervalNode leftNode = scheduleIntervalNode.leftNode;
+            if (leftNode != null && isGreaterThan(leftNode.maxMeetingEndTime, startTime))
+                scheduleIntervalNode = leftNode;
+            else
+                scheduleIntervalNode = scheduleIntervalNode.rightNode;
+        }
+        return false;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Insert a meeting in a subtree and rebalance it on the way back up. When the meeting overlaps a node of the
+     * way down, the subtree is returned unchanged.
+     *
+     * @return the new root of the subtree
+     */
+    @Nonnull
+    private static ScheduleIntervalNode insert(@Nullable final ScheduleIntervalNode scheduleIntervalNode,
+                                               @Nonnull final Insertion insertion) {
+        if (scheduleIntervalNode == null) {
+            insertion.acceptedNode = new ScheduleIntervalNode(null, insertion.startTime, insertion.endTime,
+                    insertion.endTime, null, insertion.employeeMeetingSchedule);
+            return insertion.acceptedNode;
+        }
+
+        if (isLessThan(insertion.startTime, scheduleIntervalNode.meetingEndTime)
+                && isGreaterThan(insertion.endTime, scheduleIntervalNode.meetingStartTime)) {
+            insertion.conflictingNode = scheduleIntervalNode;
+            return scheduleIntervalNode;
+        }
+
+        if (isLessThan(insertion.startTime, scheduleIntervalNode.meetingStartTime))
+            scheduleIntervalNode.leftNode = insert(scheduleIntervalNode.leftNode, insertion);
+        else
+            scheduleIntervalNode.rightNode = insert(scheduleIntervalNode.rightNode, insertion);
+
+        return insertion.conflictingNode == null ? rebalance(scheduleIntervalNode) : scheduleIntervalNode;
+    }
+
+    /**
+     * Remove a meeting from a subtree and rebalance it on the way back up. A node with 2 children is replaced by
+     * the next meeting, the leftmost node of its right subtree. When the meeting is not found, the subtree is
+     * returned unchanged.
+     *
+     * @return the new root of the subtree
+     */
+    @Nullable
+    private static ScheduleIntervalNode remove(@Nullable final ScheduleIntervalNode scheduleIntervalNode,
+                                               @Nonnull final Removal removal) {
+        if (scheduleIntervalNode == null)
+            return null;
+
+        if (isLessThan(removal.meetingStartTime, scheduleIntervalNode.meetingStartTime)) {
+            scheduleIntervalNode.leftNode = remove(scheduleIntervalNode.leftNode, removal);
+        } else if (isGreaterThan(removal.meetingStartTime, scheduleIntervalNode.meetingStartTime)) {
+            scheduleIntervalNode.rightNode = remove(scheduleIntervalNode.rightNode, removal);
+        } else {
+            if (!removal.employeeId.equals(scheduleIntervalNode.employeeMeetingSchedule.getEmployeeId()))
+                return scheduleIntervalNode;
+
+            removal.removedNode = scheduleIntervalNode;
+            if (scheduleIntervalNode.leftNode == null)
+                return scheduleIntervalNode.rightNode;
+            if (scheduleIntervalNode.rightNode == null)
+                return scheduleIntervalNode.leftNode;
+
+            ScheduleIntervalNode successorNode = scheduleIntervalNode.rightNode;
+            while (successorNode.leftNode != null) {
+                successorNode = successorNode.leftNode;
+            }
+            successorNode.rightNode = removeLeftmost(scheduleIntervalNode.rightNode);
+            successorNode.leftNode = scheduleIntervalNode.leftNode;
+            return rebalance(successorNode);
+        }
+
+        return removal.removedNode != null ? rebalance(scheduleIntervalNode) : scheduleIntervalNode;
+    }
+
+    /**
+     * Unlink the leftmost node of a subtree and rebalance it on the way back up.
+     *
+     * @return the new root of the subtree
+     */
+    @Nullable
+    private static ScheduleIntervalNode removeLeftmost(@Nonnull final ScheduleIntervalNode scheduleIntervalNode) {
+        if (scheduleIntervalNode.leftNode == null)
+            return scheduleIntervalNode.rightNode;
+
+        scheduleIntervalNode.leftNode = removeLeftmost(scheduleIntervalNode.leftNode);
+        return rebalance(scheduleIntervalNode);
+    }
+
+    /**
+     * Restore the balance of a node whose subtrees differ by at most 2 in height.
+     *
+     * @return the new root of the subtree
+     */
+    @Nonnull
+    private static ScheduleIntervalNode rebalance(@Nonnull final ScheduleIntervalNode scheduleIntervalNode) {
+        update(scheduleIntervalNode);
+        final int balance = height(scheduleIntervalNode.leftNode) - height(scheduleIntervalNode.rightNode);
+
+        if (balance > 1) {
+            if (height(scheduleIntervalNode.leftNode.leftNode) < height(scheduleIntervalNode.leftNode.rightNode))
+                scheduleIntervalNode.leftNode = rotateLeft(scheduleIntervalNode.leftNode);
+            return rotateRight(scheduleIntervalNode);
+        }
+        if (balance < -1) {
+            if (height(scheduleIntervalNode.rightNode.rightNode) < height(scheduleIntervalNode.rightNode.leftNode))
+                scheduleIntervalNode.rightNode = rotateRight(scheduleIntervalNode.rightNode);
+            return rotateLeft(scheduleIntervalNode);
+        }
+        return scheduleIntervalNode;
+    }
+
+    @Nonnull
+    private static ScheduleIntervalNode rotateLeft(@Nonnull final ScheduleIntervalNode scheduleIntervalNode) {
+        final ScheduleIntervalNode rightNode = scheduleIntervalNode.rightNode;
+        scheduleIntervalNode.rightNode = rightNode.leftNode;
+        rightNode.leftNode = scheduleIntervalNode;
+        update(scheduleIntervalNode);
+        update(rightNode);
+        return rightNode;
+    }
+
+    @Nonnull
+    private static ScheduleIntervalNode rotateRight(@Nonnull final ScheduleIntervalNode scheduleIntervalNode) {
+        final ScheduleIntervalNode leftNode = scheduleIntervalNode.leftNode;
+        scheduleIntervalNode.leftNode = leftNode.rightNode;
+        leftNode.rightNode = scheduleIntervalNode;
+        update(scheduleIntervalNode);
+        update(leftNode);
+        return leftNode;
+    }
+
+    /**
+     * Recompute the height and the maxMeetingEndTime of a node from its children.
+     */
+    private static void update(@Nonnull final ScheduleIntervalNode scheduleIntervalNode) {
+        final ScheduleIntervalNode leftNode = scheduleIntervalNode.leftNode;
+        final ScheduleIntervalNode rightNode = scheduleIntervalNode.rightNode;
+
+        scheduleIntervalNode.height = 1 + Math.max(height(leftNode), height(rightNode));
+
+        LocalDateTime maxMeetingEndTime = scheduleIntervalNode.meetingEndTime;
+        if (leftNode != null && isGreaterThan(leftNode.maxMeetingEndTime, maxMeetingEndTime))
+            maxMeetingEndTime = leftNode.maxMeetingEndTime;
+        if (rightNode != null && isGreaterThan(rightNode.maxMeetingEndTime, maxMeetingEndTime))
+            maxMeetingEndTime = rightNode.maxMeetingEndTime;
+        scheduleIntervalNode.maxMeetingEndTime = maxMeetingEndTime;
+    }
+
+    private static int height(@Nullable final ScheduleIntervalNode scheduleIntervalNode) {
+        return scheduleIntervalNode == null ? 0 : scheduleIntervalNode.height;
+    }
+
+    /**
+     * Meeting being removed, and the outcome of the descent.
+     */
+    private static final class Removal {
+
+        private final String employeeId;
+
+        private final LocalDateTime meetingStartTime;
+
+        private ScheduleIntervalNode removedNode;
+
+        private Removal(@Nonnull final String employeeId, @Nonnull final LocalDateTime meetingStartTime) {
+            this.employeeId = employeeId;
+            this.meetingStartTime = meetingStartTime;
+        }
+    }
+
+    /**
+     * Meeting being inserted, and the outcome of the descent.
+     */
+    private static final class Insertion {
+
+        private final LocalDateTime startTime;
+
+        private final LocalDateTime endTime;
+
+        private final EmployeeMeetingSchedule employeeMeetingSchedule;
+
+        private ScheduleIntervalNode acceptedNode;
+
+        private ScheduleIntervalNode conflictingNode;
+
+        private Insertion(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime,
+                          @Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.employeeMeetingSchedule = employeeMeetingSchedule;
+        }
+    }
+}
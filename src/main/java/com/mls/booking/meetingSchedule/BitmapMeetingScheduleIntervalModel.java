@@ -0,0 +1,516 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import com.mls.booking.model.OfficeHour;
+import com.mls.booking.util.MinuteBitmap;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mls.booking.util.Helpers.getOfficeMinuteOfDay;
+import static com.mls.booking.util.Helpers.isEqual;
+import static com.mls.booking.util.Helpers.isGreaterThanOrEqual;
+import static com.mls.booking.util.MinuteBitmap.WORDS_PER_DAY;
+import static com.mls.booking.util.TimestampDecoder.MILLIS_PER_DAY;
+import static com.mls.booking.util.TimestampDecoder.MILLIS_PER_MINUTE;
+import static com.mls.booking.util.TimestampDecoder.MINUTES_PER_DAY;
+import static com.mls.booking.util.TimestampDecoder.toEpochMilli;
+import static com.mls.booking.util.Validator.checkNull;
+import static org.joda.time.DateTimeConstants.MINUTES_PER_HOUR;
+
+/**
+ * Occupancy of every meeting day as a bitmap of its 1440 minutes, an alternative to the interval trees.
+ * A meeting is checked against the bits of its minutes with a few word masks, without any tree walk or date
+ * comparison, and its bits are set when it is accepted. The days are found by epoch day in an open addressing
+ * table. Every day also counts its free minutes inside the office hours of its first meeting, and once none is left
+ * a meeting inside the office hours of that day is rejected without looking at the bitmap.
+ * The times should be whole minutes, which is always the case for the input formats. The accepted meetings are the
+ * same as the MeetingScheduleIntervalModel.
+ * getRoot builds a balanced tree of the accepted meetings in start time order, so the result can be
+ * traversed like the other models. The tree is not kept up to date by the writes: the first getRoot, iterator or
+ * spliterator after an accepted or cancelled meeting builds a new tree in O(n), so reading the schedule between
+ * every write is O(n) per write. isAvailable, findOverlapping and findFreeSlots do not need the tree.
+ */
+public class BitmapMeetingScheduleIntervalModel implements MeetingScheduleInterval {
+
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * open addressing hash table of day index + 1, 0 is an empty slot
+     */
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    private MeetingDay[] meetingDays = new MeetingDay[INITIAL_CAPACITY];
+
+    private int numberOfDays;
+
+    private int size;
+
+    private ScheduleIntervalNode rootNode;
+
+    public void add(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        tryAdd(employeeMeetingSchedule);
+    }
+
+    @Nonnull
+    @Override
+    public ScheduleIntervalAddResult tryAdd(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
+        checkNull(employeeMeetingSchedule.getMeeting().getMeetingStartTime(), "startTime");
+        checkNull(employeeMeetingSchedule.getMeeting().getMeetingEndTime(), "endTime");
+
+        final LocalDateTime startTime = employeeMeetingSchedule.getMeeting().getMeetingStartTime();
+        final LocalDateTime endTime = employeeMeetingSchedule.getMeeting().getMeetingEndTime();
+
+        if (isGreaterThanOrEqual(startTime, endTime))
+            throw new IllegalArgumentException("The meetingEndTime " + endTime +
+                    " should be greater than meetingStartTime " + startTime);
+
+        final long startMinute = toEpochMinute(startTime);
+        final long endMinute = toEpochMinute(endTime);
+        final long firstDay = Math.floorDiv(startMinute, MINUTES_PER_DAY);
+        final long lastDay = Math.floorDiv(endMinute - 1, MINUTES_PER_DAY);
+
+        // a meeting may only span several days outside of the office hours, every day is checked before any is set
+        for (long epochDay = firstDay; epochDay <= lastDay; epochDay++) {
+            final MeetingDay meetingDay = getMeetingDay(epochDay);
+            if (meetingDay == null)
+                continue;
+
+            final int fromMinute = getMinuteOfDay(startMinute, epochDay);
+            final int toMinute = getMinuteOfDay(endMinute, epochDay);
+            if (meetingDay.isFull(fromMinute, toMinute) || meetingDay.isOccupied(fromMinute, toMinute))
+                return ScheduleIntervalAddResult.rejected(meetingDay.findConflictingNode(fromMinute, toMinute));
+        }
+
+        final ScheduleIntervalNode acceptedNode =
+                new ScheduleIntervalNode(null, startTime, endTime, endTime, null, employeeMeetingSchedule);
+        for (long epochDay = firstDay; epochDay <= lastDay; epochDay++) {
+            getOrAddMeetingDay(epochDay, employeeMeetingSchedule.getOfficeHour())
+                    .occupy(getMinuteOfDay(startMinute, epochDay), getMinuteOfDay(endMinute, epochDay), acceptedNode);
+        }
+        size++;
+        rootNode = null;
+        return ScheduleIntervalAddResult.accepted(acceptedNode);
+    }
+
+    /**
+     * Same as MeetingScheduleInterval.remove, the minutes of the meeting are released on every day it covers,
+     * and the tree is built again by the next getRoot.
+     */
+    @Nullable
+    @Override
+    public EmployeeMeetingSchedule remove(@Nonnull final String employeeId,
+                                          @Nonnull final LocalDateTime meetingStartTime) {
+        checkNull(employeeId, "employeeId");
+        checkNull(meetingStartTime, "meetingStartTime");
+
+        final long startMinute = Math.floorDiv(toEpochMilli(meetingStartTime), MILLIS_PER_MINUTE);
+        final long firstDay = Math.floorDiv(startMinute, MINUTES_PER_DAY);
+        final MeetingDay firstMeetingDay = getMeetingDay(firstDay);
+        if (firstMeetingDay == null)
+            return null;
+
+        // a meeting of the day before spanning midnight also starts at minute 0 of the day
+        final int position = firstMeetingDay.findNode(getMinuteOfDay(startMinute, firstDay));
+        final ScheduleIntervalNode removedNode = position < 0 ? null : firstMeetingDay.nodes[position];
+        if (removedNode == null || !isEqual(removedNode.meetingStartTime, meetingStartTime)
+                || !employeeId.equals(removedNode.employeeMeetingSchedule.getEmployeeId()))
+            return null;
+
+        final long lastDay = Math.floorDiv(toEpochMinute(removedNode.meetingEndTime) - 1, MINUTES_PER_DAY);
+        firstMeetingDay.release(position);
+        // the meeting starts at minute 0 of the next days it covers
+        for (long epochDay = firstDay + 1; epochDay <= lastDay; epochDay++) {
+            getMeetingDay(epochDay).release(0);
+        }
+        size--;
+        rootNode = null;
+        return removedNode.employeeMeetingSchedule;
+    }
+
+    /**
+     * Build a balanced tree of the accepted meetings, ordered by meeting start time, in O(n). The tree is
+     * kept until the next write. Every tree has its own nodes, so a tree or an iterator taken before a write is not
+     * changed by it and still sees the meetings accepted at that time.
+     */
+    @Nullable
+    @Override
+    public ScheduleIntervalNode getRoot() {
+        if (rootNode == null && size > 0) {
+            final ScheduleIntervalTreeBuilder scheduleIntervalTreeBuilder = new ScheduleIntervalTreeBuilder(size);
+            for (final ScheduleIntervalNode scheduleIntervalNode : getSortedNodes()) {
+                scheduleIntervalTreeBuilder.add(scheduleIntervalNode.employeeMeetingSchedule);
+            }
+            rootNode = scheduleIntervalTreeBuilder.build();
+        }
+        return rootNode;
+    }
+
+    /**
+     * Same as MeetingScheduleInterval.isAvailable, answered from the bitmaps without building the tree. The range
+     * does not need to be whole minutes, the minutes it touches are checked since the meetings are whole minutes.
+     */
+    @Override
+    public boolean isAvailable(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+        ScheduleIntervalRangeQuery.checkRange(startTime, endTime);
+
+        final long startMinute = Math.floorDiv(toEpochMilli(startTime), MILLIS_PER_MINUTE);
+        final long endMinute = -Math.floorDiv(-toEpochMilli(endTime), MILLIS_PER_MINUTE);
+        final long firstDay = Math.floorDiv(startMinute, MINUTES_PER_DAY);
+        final long lastDay = Math.floorDiv(endMinute - 1, MINUTES_PER_DAY);
+
+        // a range longer than the number of meeting days only looks at the meeting days
+        if (lastDay - firstDay >= numberOfDays) {
+            for (int index = 0; index < numberOfDays; index++) {
+                final long epochDay = meetingDays[index].epochDay;
+                if (epochDay >= firstDay && epochDay <= lastDay && meetingDays[index]
+                        .isOccupied(getMinuteOfDay(startMinute, epochDay), getMinuteOfDay(endMinute, epochDay)))
+                    return false;
+            }
+            return true;
+        }
+
+        for (long epochDay = firstDay; epochDay <= lastDay; epochDay++) {
+            final MeetingDay meetingDay = getMeetingDay(epochDay);
+            if (meetingDay != null && meetingDay
+                    .isOccupied(getMinuteOfDay(startMinute, epochDay), getMinuteOfDay(endMinute, epochDay)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same as MeetingScheduleInterval.findOverlapping, walking the sorted meetings of the days of the range without
+     * building the tree. The meetings are whole minutes, so a meeting overlaps the range exactly when it overlaps
+     * the minutes the range touches. A meeting spanning midnight is the last meeting of its first day and the first
+     * one of the next day, it is only taken once.
+     */
+    @Nonnull
+    @Override
+    public List<EmployeeMeetingSchedule> findOverlapping(@Nonnull final LocalDateTime startTime,
+                                                         @Nonnull final LocalDateTime endTime) {
+        ScheduleIntervalRangeQuery.checkRange(startTime, endTime);
+
+        final long startMinute = Math.floorDiv(toEpochMilli(startTime), MILLIS_PER_MINUTE);
+        final long endMinute = -Math.floorDiv(-toEpochMilli(endTime), MILLIS_PER_MINUTE);
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        ScheduleIntervalNode previousNode = null;
+        for (final MeetingDay meetingDay : getMeetingDays(Math.floorDiv(startMinute, MINUTES_PER_DAY),
+                Math.floorDiv(endMinute - 1, MINUTES_PER_DAY))) {
+            final int fromMinute = getMinuteOfDay(startMinute, meetingDay.epochDay);
+            final int toMinute = getMinuteOfDay(endMinute, meetingDay.epochDay);
+            for (int position = meetingDay.findFirstNodeEndingAfter(fromMinute);
+                 position < meetingDay.numberOfNodes && meetingDay.nodeStartMinutes[position] < toMinute;
+                 position++) {
+                final ScheduleIntervalNode scheduleIntervalNode = meetingDay.nodes[position];
+                if (scheduleIntervalNode != previousNode)
+                    employeeMeetingSchedules.add(scheduleIntervalNode.employeeMeetingSchedule);
+                previousNode = scheduleIntervalNode;
+            }
+        }
+        return employeeMeetingSchedules;
+    }
+
+    /**
+     * Same as MeetingScheduleInterval.findFreeSlots, walking the sorted meetings of the date without building the
+     * tree. A date whose office hours have fewer free minutes than the meeting duration has no slot at all.
+     */
+    @Nonnull
+    @Override
+    public List<Meeting> findFreeSlots(@Nonnull final LocalDate meetingDate, @Nonnull final OfficeHour officeHour,
+                                       final int meetingDuration, final int maxNumberOfSlots) {
+        ScheduleIntervalRangeQuery.checkFreeSlotQuery(meetingDate, officeHour, meetingDuration, maxNumberOfSlots);
+
+        final LocalDateTime midnight = meetingDate.toLocalDateTime(LocalTime.MIDNIGHT);
+        final int windowStartMinute = getOfficeMinuteOfDay(officeHour.getOfficeStartTime());
+        final int windowEndMinute = getOfficeMinuteOfDay(officeHour.getOfficeEndTime());
+        final int durationInMinutes = meetingDuration * MINUTES_PER_HOUR;
+        final MeetingDay meetingDay = getMeetingDay(toEpochMilli(midnight) / MILLIS_PER_DAY);
+
+        final List<Meeting> freeSlots = new ArrayList<>();
+        if (meetingDay != null && meetingDay.officeStartMinute == windowStartMinute
+                && meetingDay.officeEndMinute == windowEndMinute && meetingDay.freeOfficeMinutes < durationInMinutes)
+            return freeSlots;
+
+        int cursor = windowStartMinute;
+        for (int position = 0; meetingDay != null && position < meetingDay.numberOfNodes; position++) {
+            final int nodeStartMinute = meetingDay.nodeStartMinutes[position];
+            if (nodeStartMinute >= windowEndMinute || freeSlots.size() == maxNumberOfSlots)
+                break;
+
+            if (nodeStartMinute - cursor >= durationInMinutes && cursor + durationInMinutes <= windowEndMinute)
+                freeSlots.add(new Meeting(midnight.plusMinutes(cursor), meetingDuration));
+            cursor = Math.max(cursor, meetingDay.nodeEndMinutes[position]);
+        }
+        if (freeSlots.size() < maxNumberOfSlots && windowEndMinute - cursor >= durationInMinutes)
+            freeSlots.add(new Meeting(midnight.plusMinutes(cursor), meetingDuration));
+        return freeSlots;
+    }
+
+    /**
+     * @return number of accepted meetings
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private static long toEpochMinute(@Nonnull final LocalDateTime localDateTime) {
+        final long epochMilli = toEpochMilli(localDateTime);
+        if (epochMilli % MILLIS_PER_MINUTE != 0)
+            throw new IllegalArgumentException("The time " + localDateTime + " should be a whole minute");
+        return epochMilli / MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * Minute of a day where a time falls, clamped to the day, a meeting ending at midnight ends at minute 1440.
+     */
+    private static int getMinuteOfDay(final long epochMinute, final long epochDay) {
+        return (int) Math.max(0, Math.min(MINUTES_PER_DAY, epochMinute - epochDay * MINUTES_PER_DAY));
+    }
+
+    @Nullable
+    private MeetingDay getMeetingDay(final long epochDay) {
+        final int index = slots[findSlot(epochDay)] - 1;
+        return index < 0 ? null : meetingDays[index];
+    }
+
+    @Nonnull
+    private MeetingDay getOrAddMeetingDay(final long epochDay, @Nonnull final OfficeHour officeHour) {
+        final int slot = findSlot(epochDay);
+        if (slots[slot] != 0)
+            return meetingDays[slots[slot] - 1];
+
+        if (numberOfDays == meetingDays.length)
+            meetingDays = Arrays.copyOf(meetingDays, numberOfDays * 2);
+        final MeetingDay meetingDay = new MeetingDay(epochDay, officeHour);
+        meetingDays[numberOfDays] = meetingDay;
+        slots[slot] = ++numberOfDays;
+
+        // keep the table at most half full, so that the probe sequences stay short
+        if (numberOfDays * 2 > slots.length)
+            rehash(slots.length * 2);
+        return meetingDay;
+    }
+
+    /**
+     * Meeting days from firstDay to lastDay in epoch day order.
+     */
+    @Nonnull
+    private List<MeetingDay> getMeetingDays(final long firstDay, final long lastDay) {
+        final List<MeetingDay> rangeMeetingDays = new ArrayList<>();
+        // a range longer than the number of meeting days only looks at the meeting days
+        if (lastDay - firstDay >= numberOfDays) {
+            for (int index = 0; index < numberOfDays; index++) {
+                if (meetingDays[index].epochDay >= firstDay && meetingDays[index].epochDay <= lastDay)
+                    rangeMeetingDays.add(meetingDays[index]);
+            }
+            rangeMeetingDays.sort((first, second) -> Long.compare(first.epochDay, second.epochDay));
+            return rangeMeetingDays;
+        }
+
+        for (long epochDay = firstDay; epochDay <= lastDay; epochDay++) {
+            final MeetingDay meetingDay = getMeetingDay(epochDay);
+            if (meetingDay != null)
+                rangeMeetingDays.add(meetingDay);
+        }
+        return rangeMeetingDays;
+    }
+
+    private int findSlot(final long epochDay) {
+        final int mask = slots.length - 1;
+        int slot = hash(epochDay) & mask;
+        while (slots[slot] != 0 && meetingDays[slots[slot] - 1].epochDay != epochDay) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(final int capacity) {
+        slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int index = 0; index < numberOfDays; index++) {
+            int slot = hash(meetingDays[index].epochDay) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+
+    private static int hash(final long epochDay) {
+        // consecutive days are spread over the table
+        final long hash = epochDay * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Accepted meetings of every day in start time order, a meeting spanning several days is only
+     * taken from its first day.
+     */
+    @Nonnull
+    private ScheduleIntervalNode[] getSortedNodes() {
+        final MeetingDay[] sortedMeetingDays = Arrays.copyOf(meetingDays, numberOfDays);
+        Arrays.sort(sortedMeetingDays, (first, second) -> Long.compare(first.epochDay, second.epochDay));
+
+        final ScheduleIntervalNode[] sortedNodes = new ScheduleIntervalNode[size];
+        int index = 0;
+        ScheduleIntervalNode previousNode = null;
+        for (final MeetingDay meetingDay : sortedMeetingDays) {
+            for (int position = 0; position < meetingDay.numberOfNodes; position++) {
+                final ScheduleIntervalNode scheduleIntervalNode = meetingDay.nodes[position];
+                if (scheduleIntervalNode != previousNode)
+                    sortedNodes[index++] = scheduleIntervalNode;
+                previousNode = scheduleIntervalNode;
+            }
+        }
+        return sortedNodes;
+    }
+
+    /**
+     * Occupied minutes of a day, and its accepted meetings in start time order.
+     */
+    private static final class MeetingDay {
+
+        private final long epochDay;
+
+        private final long[] occupiedMinutes = new long[WORDS_PER_DAY];
+
+        private final int officeStartMinute;
+
+        private final int officeEndMinute;
+
+        private int freeOfficeMinutes;
+
+        private ScheduleIntervalNode[] nodes = new ScheduleIntervalNode[8];
+
+        /**
+         * first minute of every node of the day
+         */
+        private int[] nodeStartMinutes = new int[8];
+
+        /**
+         * last minute of every node of the day, excluded
+         */
+        private int[] nodeEndMinutes = new int[8];
+
+        private int numberOfNodes;
+
+        private MeetingDay(final long epochDay, @Nonnull final OfficeHour officeHour) {
+            this.epochDay = epochDay;
+            this.officeStartMinute = getOfficeMinuteOfDay(officeHour.getOfficeStartTime());
+            this.officeEndMinute = getOfficeMinuteOfDay(officeHour.getOfficeEndTime());
+            this.freeOfficeMinutes = Math.max(0, officeEndMinute - officeStartMinute);
+        }
+
+        /**
+         * @return true if the minutes are inside the office hours and no office minute is free anymore
+         */
+        private boolean isFull(final int fromMinute, final int toMinute) {
+            return freeOfficeMinutes == 0 && fromMinute < officeEndMinute && toMinute > officeStartMinute
+                    && numberOfNodes > 0;
+        }
+
+        private boolean isOccupied(final int fromMinute, final int toMinute) {
+            return MinuteBitmap.isOccupied(occupiedMinutes, 0, fromMinute, toMinute);
+        }
+
+        private void occupy(final int fromMinute, final int toMinute, @Nonnull final ScheduleIntervalNode node) {
+            MinuteBitmap.occupy(occupiedMinutes, 0, fromMinute, toMinute);
+            freeOfficeMinutes -=
+                    Math.max(0, Math.min(toMinute, officeEndMinute) - Math.max(fromMinute, officeStartMinute));
+
+            int position = numberOfNodes;
+            while (position > 0 && nodeStartMinutes[position - 1] > fromMinute) {
+                position--;
+            }
+            if (numberOfNodes == nodes.length) {
+                nodes = Arrays.copyOf(nodes, numberOfNodes * 2);
+                nodeStartMinutes = Arrays.copyOf(nodeStartMinutes, numberOfNodes * 2);
+                nodeEndMinutes = Arrays.copyOf(nodeEndMinutes, numberOfNodes * 2);
+            }
+            System.arraycopy(nodes, position, nodes, position + 1, numberOfNodes - position);
+            System.arraycopy(nodeStartMinutes, position, nodeStartMinutes, position + 1, numberOfNodes - position);
+            System.arraycopy(nodeEndMinutes, position, nodeEndMinutes, position + 1, numberOfNodes - position);
+            nodes[position] = node;
+            nodeStartMinutes[position] = fromMinute;
+            nodeEndMinutes[position] = toMinute;
+            numberOfNodes++;
+        }
+
+        /**
+         * Clear the minutes of the node at a position and remove it from the sorted nodes.
+         */
+        private void release(final int position) {
+            final int fromMinute = nodeStartMinutes[position];
+            final int toMinute = nodeEndMinutes[position];
+            MinuteBitmap.release(occupiedMinutes, 0, fromMinute, toMinute);
+            freeOfficeMinutes +=
+                    Math.max(0, Math.min(toMinute, officeEndMinute) - Math.max(fromMinute, officeStartMinute));
+
+            numberOfNodes--;
+            System.arraycopy(nodes, position + 1, nodes, position, numberOfNodes - position);
+            System.arraycopy(nodeStartMinutes, position + 1, nodeStartMinutes, position, numberOfNodes - position);
+            System.arraycopy(nodeEndMinutes, position + 1, nodeEndMinutes, position, numberOfNodes - position);
+            nodes[numberOfNodes] = null;
+        }
+
+        /**
+         * @return position of the node starting at fromMinute, or -1 if there is none
+         */
+        private int findNode(final int fromMinute) {
+            final int position = Arrays.binarySearch(nodeStartMinutes, 0, numberOfNodes, fromMinute);
+            return position < 0 ? -1 : position;
+        }
+
+        /**
+         * The meetings of the day do not overlap, so they are also sorted by their last minute.
+         *
+         * @return position of the first node ending after fromMinute, or numberOfNodes if there is none
+         */
+        private int findFirstNodeEndingAfter(final int fromMinute) {
+            int low = 0;
+            int high = numberOfNodes;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (nodeEndMinutes[middle] <= fromMinute)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+
+        /**
+         * The meetings of the day do not overlap, so the last one starting before toMinute is the only one
+         * which may overlap fromMinute..toMinute, unless it ends before, then the one before cannot either.
+         */
+        @Nonnull
+        private ScheduleIntervalNode findConflictingNode(final int fromMinute, final int toMinute) {
+            int low = 0;
+            int high = numberOfNodes;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (nodeStartMinutes[middle] < toMinute)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            if (low == 0)
+                throw new IllegalStateException("No meeting found before minute " + toMinute);
+            return nodes[low - 1];
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import com.mls.booking.model.OfficeHour;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import static com.mls.booking.util.Helpers.isGreaterThanOrEqual;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Thread safe MeetingScheduleInterval for a multi threaded booking front end. Every meeting date has its own
+ * model, a BalancedMeetingScheduleIntervalModel by default, guarded by its own StampedLock, so the lock is striped
+ * by date: bookings of different dates proceed in parallel, and the queries of a date only take its read lock, so
+ * they do not block each other. The bookings of a date are checked and added under its write lock, in the order
+ * they arrive, which keeps the submission time order of every date when each date is submitted in order.
+ * A meeting spanning midnight is added to the model of every date it covers, their write locks are taken in date
+ * order, and it is only reported once, on the date it starts.
+ * getRoot returns a balanced copy of the accepted meetings at the time of the call, the nodes of the date models
+ * are never handed out since they keep changing.
+ */
+public class ConcurrentMeetingScheduleIntervalModel implements MeetingScheduleInterval {
+
+    private final ConcurrentSkipListMap<LocalDate, MeetingDate> meetingDates = new ConcurrentSkipListMap<>();
+
+    private final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ConcurrentMeetingScheduleIntervalModel() {
+        this(BalancedMeetingScheduleIntervalModel::new);
+    }
+
+    /**
+     * @param meetingScheduleIntervalFactory creates the model of a date, which is only used under the lock of the
+     *                                       date. Its queries run under the read lock, so they should not modify
+     *                                       it, which rules out the BitmapMeetingScheduleIntervalModel whose tree is
+     *                                       built lazily
+     */
+    public ConcurrentMeetingScheduleIntervalModel(
+            @Nonnull final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory) {
+        checkNull(meetingScheduleIntervalFactory, "meetingScheduleIntervalFactory");
+
+        this.meetingScheduleIntervalFactory = meetingScheduleIntervalFactory;
+    }
+
+    public void add(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        tryAdd(employeeMeetingSchedule);
+    }
+
+    @Nonnull
+    @Override
+    public ScheduleIntervalAddResult tryAdd(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
+        checkNull(employeeMeetingSchedule.getMeeting().getMeetingStartTime(), "startTime");
+        checkNull(employeeMeetingSchedule.getMeeting().getMeetingEndTime(), "endTime");
+
+        final LocalDateTime startTime = employeeMeetingSchedule.getMeeting().getMeetingStartTime();
+        final LocalDateTime endTime = employeeMeetingSchedule.getMeeting().getMeetingEndTime();
+
+        if (isGreaterThanOrEqual(startTime, endTime))
+            throw new IllegalArgumentException("The meetingEndTime " + endTime
+                    + " should be greater than meetingStartTime " + startTime);
+
+        final List<MeetingDate> coveredDates = new ArrayList<>(1);
+        for (LocalDate date = startTime.toLocalDate(); date.isBefore(getLastDate(endTime).plusDays(1));
+             date = date.plusDays(1)) {
+            coveredDates.add(meetingDates.computeIfAbsent(date, newDate -> new MeetingDate(
+                    meetingScheduleIntervalFactory.get())));
+        }
+
+        // the write locks are always taken in date order, so 2 meetings spanning midnight cannot deadlock
+        final long[] stamps = new long[coveredDates.size()];
+        for (int index = 0; index < stamps.length; index++) {
+            stamps[index] = coveredDates.get(index).lock.writeLock();
+        }
+        try {
+            for (final MeetingDate meetingDate : coveredDates) {
+                if (!meetingDate.model.isAvailable(startTime, endTime))
+                    return meetingDate.model.tryAdd(employeeMeetingSchedule);
+            }
+
+            ScheduleIntervalAddResult result = null;
+            for (final MeetingDate meetingDate : coveredDates) {
+                final ScheduleIntervalAddResult dateResult = meetingDate.model.tryAdd(employeeMeetingSchedule);
+                if (result == null)
+                    result = dateResult;
+            }
+            size.incrementAndGet();
+            return result;
+        } finally {
+            for (int index = stamps.length - 1; index >= 0; index--) {
+                coveredDates.get(index).lock.unlockWrite(stamps[index]);
+            }
+        }
+    }
+
+    /**
+     * Same as MeetingScheduleInterval.remove. The meeting is removed from the model of every date it covers, under
+     * their write locks taken in date order like tryAdd does.
+     */
+    @Nullable
+    @Override
+    public EmployeeMeetingSchedule remove(@Nonnull final String employeeId,
+                                          @Nonnull final LocalDateTime meetingStartTime) {
+        checkNull(employeeId, "employeeId");
+        checkNull(meetingStartTime, "meetingStartTime");
+
+        final MeetingDate firstDate = meetingDates.get(meetingStartTime.toLocalDate());
+        if (firstDate == null)
+            return null;
+
+        final long firstStamp = firstDate.lock.writeLock();
+        try {
+            final EmployeeMeetingSchedule employeeMeetingSchedule =
+                    firstDate.model.remove(employeeId, meetingStartTime);
+            if (employeeMeetingSchedule == null)
+                return null;
+
+            // a meeting spanning midnight is removed from the next dates too, their locks come after the first one
+            final LocalDate lastDate = getLastDate(employeeMeetingSchedule.getMeeting().getMeetingEndTime());
+            if (lastDate.isAfter(meetingStartTime.toLocalDate())) {
+                final List<MeetingDate> nextDates = new ArrayList<>(meetingDates.subMap(
+                        meetingStartTime.toLocalDate().plusDays(1), true, lastDate, true).values());
+                final long[] stamps = new long[nextDates.size()];
+                for (int index = 0; index < stamps.length; index++) {
+                    stamps[index] = nextDates.get(index).lock.writeLock();
+                }
+                try {
+                    for (final MeetingDate meetingDate : nextDates) {
+                        meetingDate.model.remove(employeeId, meetingStartTime);
+                    }
+                } finally {
+                    for (int index = stamps.length - 1; index >= 0; index--) {
+                        nextDates.get(index).lock.unlockWrite(stamps[index]);
+                    }
+                }
+            }
+            size.decrementAndGet();
+            return employeeMeetingSchedule;
+        } finally {
+            firstDate.lock.unlockWrite(firstStamp);
+        }
+    }
+
+    /**
+     * Balanced copy of the accepted meetings. Every date is copied under its read lock, so a meeting accepted while
+     * the copy is made may be missing, but no date is ever copied half way.
+     */
+    @Nullable
+    @Override
+    public ScheduleIntervalNode getRoot() {
+        return ScheduleIntervalTreeBuilder.build(getMeetingSchedules());
+    }
+
+    @Nonnull
+    @Override
+    public List<EmployeeMeetingSchedule> findOverlapping(@Nonnull final LocalDateTime startTime,
+                                                         @Nonnull final LocalDateTime endTime) {
+        ScheduleIntervalRangeQuery.checkRange(startTime, endTime);
+
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        boolean firstDate = true;
+        for (final Map.Entry<LocalDate, MeetingDate> meetingDate : getCoveredDates(startTime, endTime).entrySet()) {
+            for (final EmployeeMeetingSchedule employeeMeetingSchedule
+                    : meetingDate.getValue().findOverlapping(startTime, endTime)) {
+                // a meeting spanning midnight is found again on the next dates, it is kept on the first one
+                if (firstDate || !startsBefore(employeeMeetingSchedule, meetingDate.getKey()))
+                    employeeMeetingSchedules.add(employeeMeetingSchedule);
+            }
+            firstDate = false;
+        }
+        return employeeMeetingSchedules;
+    }
+
+    @Override
+    public boolean isAvailable(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+        ScheduleIntervalRangeQuery.checkRange(startTime, endTime);
+
+        for (final MeetingDate meetingDate : getCoveredDates(startTime, endTime).values()) {
+            if (!meetingDate.isAvailable(startTime, endTime))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same as MeetingScheduleInterval.findFreeSlots, on the model of the date under its read lock.
+     */
+    @Nonnull
+    @Override
+    public List<Meeting> findFreeSlots(@Nonnull final LocalDate meetingDate, @Nonnull final OfficeHour officeHour,
+                                       final int meetingDuration, final int maxNumberOfSlots) {
+        ScheduleIntervalRangeQuery.checkFreeSlotQuery(meetingDate, officeHour, meetingDuration, maxNumberOfSlots);
+
+        final MeetingDate date = meetingDates.get(meetingDate);
+        if (date == null)
+            return meetingScheduleIntervalFactory.get()
+                    .findFreeSlots(meetingDate, officeHour, meetingDuration, maxNumberOfSlots);
+        return date.findFreeSlots(meetingDate, officeHour, meetingDuration, maxNumberOfSlots);
+    }
+
+    /**
+     * Iterate over a copy of the accepted meetings, taken date by date under their read locks.
+     */
+    @Nonnull
+    @Override
+    public Iterator<EmployeeMeetingSchedule> iterator() {
+        return getMeetingSchedules().iterator();
+    }
+
+    /**
+     * @return number of accepted meetings
+     */
+    public int size() {
+        return this.size.get();
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private static LocalDate getLastDate(@Nonnull final LocalDateTime endTime) {
+        // a meeting ending at midnight does not cover the next date
+        return endTime.minusMillis(1).toLocalDate();
+    }
+
+    private static boolean startsBefore(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule,
+                                        @Nonnull final LocalDate date) {
+        return employeeMeetingSchedule.getMeeting().getMeetingStartTime().toLocalDate().isBefore(date);
+    }
+
+    @Nonnull
+    private Map<LocalDate, MeetingDate> getCoveredDates(@Nonnull final LocalDateTime startTime,
+                                                        @Nonnull final LocalDateTime endTime) {
+        return meetingDates.subMap(startTime.toLocalDate(), true, getLastDate(endTime), true);
+    }
+
+    /**
+     * Accepted meetings in meeting start time order, a meeting spanning midnight is taken from the date
+     * it starts.
+     */
+    @Nonnull
+    private List<EmployeeMeetingSchedule> getMeetingSchedules() {
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>(size.get());
+        for (final Map.Entry<LocalDate, MeetingDate> meetingDate : meetingDates.entrySet()) {
+            meetingDate.getValue().copyMeetingSchedules(meetingDate.getKey(), employeeMeetingSchedules);
+        }
+        return employeeMeetingSchedules;
+    }
+
+    /**
+     * Model of the meetings covering a date, and the lock guarding it.
+     */
+    private static final class MeetingDate {
+
+        private final MeetingScheduleInterval model;
+
+        private final StampedLock lock = new StampedLock();
+
+        private MeetingDate(@Nonnull final MeetingScheduleInterval model) {
+            this.model = model;
+        }
+
+        private boolean isAvailable(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+            final long stamp = lock.readLock();
+            try {
+                return model.isAvailable(startTime, endTime);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Nonnull
+        private List<EmployeeMeetingSchedule> findOverlapping(@Nonnull final LocalDateTime startTime,
+                                                              @Nonnull final LocalDateTime endTime) {
+            final long stamp = lock.readLock();
+            try {
+                return model.findOverlapping(startTime, endTime);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Nonnull
+        private List<Meeting> findFreeSlots(@Nonnull final LocalDate meetingDate,
+                                            @Nonnull final OfficeHour officeHour,
+                                            final int meetingDuration, final int maxNumberOfSlots) {
+            final long stamp = lock.readLock();
+            try {
+                return model.findFreeSlots(meetingDate, officeHour, meetingDuration, maxNumberOfSlots);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void copyMeetingSchedules(@Nonnull final LocalDate date,
+                                          @Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+            final long stamp = lock.readLock();
+            try {
+                for (final EmployeeMeetingSchedule employeeMeetingSchedule : model) {
+                    if (!startsBefore(employeeMeetingSchedule, date))
+                        employeeMeetingSchedules.add(employeeMeetingSchedule);
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
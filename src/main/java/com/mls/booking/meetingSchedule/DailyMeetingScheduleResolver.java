@@ -0,0 +1,116 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.joda.time.LocalDate;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Resolves the overlaps of the meetings day by day. A meeting has to fit in the office hours of its start
+ * date, so meetings of different dates never overlap and every date can be resolved independently.
+ * The meetings are bucketed by date, keeping their submission time order, then every date is resolved by its own
+ * MeetingScheduleInterval, a BalancedMeetingScheduleIntervalModel by default, on a ForkJoinPool, and the accepted
+ * meetings are merged in date order.
+ * The result is the same as adding every meeting to a single MeetingScheduleIntervalModel.
+ */
+public class DailyMeetingScheduleResolver {
+
+    private final int parallelism;
+
+    private final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory;
+
+    public DailyMeetingScheduleResolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public DailyMeetingScheduleResolver(final int parallelism) {
+        this(parallelism, BalancedMeetingScheduleIntervalModel::new);
+    }
+
+    /**
+     * @param parallelism                    number of dates resolved at the same time
+     * @param meetingScheduleIntervalFactory creates the model resolving a date
+     */
+    public DailyMeetingScheduleResolver(
+            final int parallelism, @Nonnull final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory) {
+        checkNull(meetingScheduleIntervalFactory, "meetingScheduleIntervalFactory");
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism should be greater than 0");
+
+        this.parallelism = parallelism;
+        this.meetingScheduleIntervalFactory = meetingScheduleIntervalFactory;
+    }
+
+    /**
+     * Keep the meetings which do not overlap a meeting submitted before them.
+     *
+     * @param employeeMeetingSchedules meetings inside the office hours, ordered by submission time
+     * @return accepted meetings ordered by meeting start time
+     */
+    @Nonnull
+    public List<EmployeeMeetingSchedule> resolve(
+            @Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        checkNull(employeeMeetingSchedules, "employeeMeetingSchedules");
+
+        final TreeMap<LocalDate, List<EmployeeMeetingSchedule>> meetingDays = new TreeMap<>();
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
+            meetingDays.computeIfAbsent(employeeMeetingSchedule.getMeeting().getMeetingStartDate(),
+                    date -> new ArrayList<>()).add(employeeMeetingSchedule);
+        }
+
+        final List<EmployeeMeetingSchedule> acceptedMeetingSchedules = new ArrayList<>();
+        if (parallelism == 1 || meetingDays.size() <= 1) {
+            for (final List<EmployeeMeetingSchedule> meetingDay : meetingDays.values()) {
+                acceptedMeetingSchedules.addAll(resolveDay(meetingDay));
+            }
+            return acceptedMeetingSchedules;
+        }
+
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+        final List<Future<List<EmployeeMeetingSchedule>>> resolvedDays = new ArrayList<>(meetingDays.size());
+        try {
+            for (final Map.Entry<LocalDate, List<EmployeeMeetingSchedule>> meetingDay : meetingDays.entrySet()) {
+                resolvedDays.add(forkJoinPool.submit(() -> resolveDay(meetingDay.getValue())));
+            }
+            for (final Future<List<EmployeeMeetingSchedule>> resolvedDay : resolvedDays) {
+                acceptedMeetingSchedules.addAll(resolvedDay.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+        return acceptedMeetingSchedules;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private List<EmployeeMeetingSchedule> resolveDay(
+            @Nonnull final List<EmployeeMeetingSchedule> meetingDay) {
+        final MeetingScheduleInterval meetingScheduleIntervalModel = meetingScheduleIntervalFactory.get();
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : meetingDay) {
+            meetingScheduleIntervalModel.tryAdd(employeeMeetingSchedule);
+        }
+        final List<EmployeeMeetingSchedule> acceptedMeetingSchedules = new ArrayList<>();
+        meetingScheduleIntervalModel.forEach(acceptedMeetingSchedules::add);
+        return acceptedMeetingSchedules;
+    }
+}
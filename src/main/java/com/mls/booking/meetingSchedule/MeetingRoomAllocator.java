@@ -0,0 +1,191 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import static com.mls.booking.util.Helpers.isGreaterThan;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Allocates the meetings to several rooms, every room having its own MeetingScheduleInterval. The rooms in use
+ * are kept in a min heap keyed on the time they are available, which is the end of their last meeting,
+ * so the room free the earliest is found in O(1). When it is free at the start of a meeting, the meeting
+ * goes there and the room moves down the heap in O(log k), otherwise the next room is opened. This is the interval
+ * partitioning of the meetings coming in start time order, O(n log k) for n meetings and k rooms, and it
+ * uses as few rooms as possible.
+ * The meetings come in submission time order though, so a meeting may start before every room in use is available
+ * and still fit in a gap between the meetings of a room. The rooms in use are then tried in room order, each one
+ * in O(log n), before a room is opened, and the meeting is rejected when every room is open and none has a gap.
+ * A meeting which fits in a gap ends before the last meeting of its room, so the heap does not change.
+ * It is meant for the meetings of a single date, whose rooms all become available again the next day, and it is
+ * not thread safe.
+ */
+public class MeetingRoomAllocator {
+
+    /**
+     * room number of a rejected meeting, the rooms are numbered from 1
+     */
+    public static final int NO_MEETING_ROOM = 0;
+
+    private static final Comparator<MeetingRoom> AVAILABILITY_ORDER =
+            Comparator.comparing((MeetingRoom meetingRoom) -> meetingRoom.availableTime)
+                    .thenComparingInt(meetingRoom -> meetingRoom.number);
+
+    private final MeetingRoom[] meetingRooms;
+
+    /**
+     * rooms in use, the other rooms are opened in room order when they are needed
+     */
+    private final PriorityQueue<MeetingRoom> availableMeetingRooms;
+
+    private int numberOfOpenRooms;
+
+    public MeetingRoomAllocator(final int numberOfRooms) {
+        this(numberOfRooms, BalancedMeetingScheduleIntervalModel::new);
+    }
+
+    /**
+     * @param numberOfRooms                  number of rooms meetings are allocated to
+     * @param meetingScheduleIntervalFactory creates the model of a room
+     */
+    public MeetingRoomAllocator(final int numberOfRooms,
+                                @Nonnull final Supplier<MeetingScheduleInterval> meetingScheduleIntervalFactory) {
+        checkNull(meetingScheduleIntervalFactory, "meetingScheduleIntervalFactory");
+        if (numberOfRooms <= 0)
+            throw new IllegalArgumentException("numberOfRooms should be greater than 0");
+
+        this.meetingRooms = new MeetingRoom[numberOfRooms];
+        this.availableMeetingRooms = new PriorityQueue<>(numberOfRooms, AVAILABILITY_ORDER);
+        for (int index = 0; index < numberOfRooms; index++) {
+            meetingRooms[index] = new MeetingRoom(index + 1, meetingScheduleIntervalFactory.get());
+        }
+    }
+
+    /**
+     * Allocate a meeting to the room available the earliest if it is free at the start of the meeting,
+     * else to the first room in use which has a gap for it, else to the next room.
+     *
+     * @param employeeMeetingSchedule contains all the details of meeting schedule
+     * @return number of the room, or NO_MEETING_ROOM if the meeting overlaps a meeting of every room
+     */
+    public int allocate(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
+
+        final LocalDateTime startTime = employeeMeetingSchedule.getMeeting().getMeetingStartTime();
+        final MeetingRoom earliestMeetingRoom = availableMeetingRooms.peek();
+        if (earliestMeetingRoom != null && !isGreaterThan(earliestMeetingRoom.availableTime, startTime)) {
+            availableMeetingRooms.poll();
+            return occupy(earliestMeetingRoom, employeeMeetingSchedule);
+        }
+
+        for (int index = 0; index < numberOfOpenRooms; index++) {
+            if (meetingRooms[index].model.tryAdd(employeeMeetingSchedule).isAccepted())
+                return meetingRooms[index].number;
+        }
+        if (numberOfOpenRooms < meetingRooms.length)
+            return occupy(meetingRooms[numberOfOpenRooms++], employeeMeetingSchedule);
+        return NO_MEETING_ROOM;
+    }
+
+    /**
+     * Visit the allocated meetings of all the rooms in start time order, the meetings starting at the
+     * same time in room order. The rooms are merged with a heap of their next meeting, in O(n log k).
+     *
+     * @param consumer receives every meeting with the number of its room
+     */
+    public void forEachAllocation(@Nonnull final ObjIntConsumer<EmployeeMeetingSchedule> consumer) {
+        checkNull(consumer, "consumer");
+
+        final PriorityQueue<RoomCursor> roomCursors = new PriorityQueue<>(meetingRooms.length,
+                Comparator.comparing((RoomCursor roomCursor) -> roomCursor.employeeMeetingSchedule.getMeeting()
+                        .getMeetingStartTime()).thenComparingInt(roomCursor -> roomCursor.number));
+        for (final MeetingRoom meetingRoom : meetingRooms) {
+            final RoomCursor roomCursor = new RoomCursor(meetingRoom.number, meetingRoom.model.iterator());
+            if (roomCursor.next())
+                roomCursors.add(roomCursor);
+        }
+
+        while (!roomCursors.isEmpty()) {
+            final RoomCursor roomCursor = roomCursors.poll();
+            consumer.accept(roomCursor.employeeMeetingSchedule, roomCursor.number);
+            if (roomCursor.next())
+                roomCursors.add(roomCursor);
+        }
+    }
+
+    /**
+     * @return number of rooms
+     */
+    public int getNumberOfRooms() {
+        return this.meetingRooms.length;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Add a meeting after the last meeting of a room which is not in the heap, and put the room back in the heap.
+     */
+    private int occupy(@Nonnull final MeetingRoom meetingRoom,
+                       @Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        meetingRoom.model.add(employeeMeetingSchedule);
+        meetingRoom.availableTime = employeeMeetingSchedule.getMeeting().getMeetingEndTime();
+        availableMeetingRooms.add(meetingRoom);
+        return meetingRoom.number;
+    }
+
+    /**
+     * Model of the meetings of a room, and the time it is available from.
+     */
+    private static final class MeetingRoom {
+
+        private final int number;
+
+        private final MeetingScheduleInterval model;
+
+        /**
+         * end of the last meeting of the room, null until the room is opened
+         */
+        private LocalDateTime availableTime;
+
+        private MeetingRoom(final int number, @Nonnull final MeetingScheduleInterval model) {
+            this.number = number;
+            this.model = model;
+        }
+    }
+
+    /**
+     * Next meeting of a room while the rooms are merged.
+     */
+    private static final class RoomCursor {
+
+        private final int number;
+
+        private final Iterator<EmployeeMeetingSchedule> iterator;
+
+        @Nullable
+        private EmployeeMeetingSchedule employeeMeetingSchedule;
+
+        private RoomCursor(final int number, @Nonnull final Iterator<EmployeeMeetingSchedule> iterator) {
+            this.number = number;
+            this.iterator = iterator;
+        }
+
+        /**
+         * @return false when the room has no meeting left
+         */
+        private boolean next() {
+            employeeMeetingSchedule = iterator.hasNext() ? iterator.next() : null;
+            return employeeMeetingSchedule != null;
+        }
+    }
+}
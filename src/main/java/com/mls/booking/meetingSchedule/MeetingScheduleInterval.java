@@ -1,12 +1,24 @@
 package com.mls.booking.meetingSchedule;
 
 import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import com.mls.booking.model.OfficeHour;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Spliterator;
 
-public interface MeetingScheduleInterval {
+import static com.mls.booking.util.Helpers.getOfficeMinuteOfDay;
+import static com.mls.booking.util.Validator.checkNull;
+
+public interface MeetingScheduleInterval extends Iterable<EmployeeMeetingSchedule> {
 
     /**
      * Adds an interval of meeting schedule to the com.mls.booking.model. It also checks for the overlap of interval.
@@ -17,12 +29,155 @@ public interface MeetingScheduleInterval {
     void add(@Nonnull EmployeeMeetingSchedule employeeMeetingSchedule);
 
     /**
-     * Traverse over all the intervals and return the lists of intervals as inorder pattern.
+     * Same as add, and tells if the meeting schedule is accepted. The meetings of the com.mls.booking.model never
+     * overlap, so only the meetings just before and just after the added one can overlap it, and both are on the
+     * way down to its insertion point. The overlap check and the insertion are therefore done in a single descent,
+     * and the maxMeetingEndTime are only updated when the meeting is inserted.
+     *
+     * @param employeeMeetingSchedule contains all the details of meeting schedule
+     * @return the node of the accepted meeting, or the node of the first overlapping meeting found
+     */
+    @Nonnull
+    ScheduleIntervalAddResult tryAdd(@Nonnull EmployeeMeetingSchedule employeeMeetingSchedule);
+
+    /**
+     * Cancel an accepted meeting, so that its time is free again. The meetings of the com.mls.booking.model never
+     * overlap, so the start time finds the meeting, and the employee id makes sure it is the right one.
+     * The maxMeetingEndTime of the nodes on the way to it are recomputed, and the tree is rebalanced if the
+     * com.mls.booking.model keeps it balanced.
+     *
+     * @param employeeId       employee who booked the meeting
+     * @param meetingStartTime start time of the meeting
+     * @return the cancelled meeting schedule, or null if the employee has no meeting at that time
+     */
+    @Nullable
+    EmployeeMeetingSchedule remove(@Nonnull String employeeId, @Nonnull LocalDateTime meetingStartTime);
+
+    /**
+     * Traverse over all the intervals and return the lists of intervals as inorder pattern. The tree is not
+     * modified, so it can be traversed again.
      *
      * @param rootNode the root node of the com.mls.booking.model
      */
-    LinkedHashSet<EmployeeMeetingSchedule> traversal(@Nullable ScheduleIntervalNode rootNode);
+    default LinkedHashSet<EmployeeMeetingSchedule> traversal(@Nullable final ScheduleIntervalNode rootNode) {
+        final LinkedHashSet<EmployeeMeetingSchedule> employeeMeetingSchedules = new LinkedHashSet<>();
+        new ScheduleIntervalIterator(rootNode).forEachRemaining(employeeMeetingSchedules::add);
+        return employeeMeetingSchedules;
+    }
 
     @Nullable
     ScheduleIntervalNode getRoot();
+
+    /**
+     * Find what is booked in a time range. The maxMeetingEndTime of the nodes prune the subtrees which end before
+     * the range, so only the relevant nodes are visited.
+     *
+     * @param startTime the start of the range
+     * @param endTime   the end of the range
+     * @return the meetings overlapping the range, in meeting start time order
+     */
+    @Nonnull
+    default List<EmployeeMeetingSchedule> findOverlapping(@Nonnull final LocalDateTime startTime,
+                                                          @Nonnull final LocalDateTime endTime) {
+        ScheduleIntervalRangeQuery.checkRange(startTime, endTime);
+
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        ScheduleIntervalRangeQuery.findOverlapping(getRoot(), startTime, endTime, employeeMeetingSchedules);
+        return employeeMeetingSchedules;
+    }
+
+    /**
+     * Check if a time range is free. Two intervals such that one of the points coincide are NOT considered as
+     * intersecting, so a range starting when a meeting ends is available.
+     *
+     * @param startTime the start of the range
+     * @param endTime   the end of the range
+     * @return true if no meeting overlaps the range
+     */
+    default boolean isAvailable(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+        ScheduleIntervalRangeQuery.checkRange(startTime, endTime);
+
+        return ScheduleIntervalRangeQuery.isAvailable(getRoot(), startTime, endTime);
+    }
+
+    /**
+     * Find the earliest free slots of a date for a meeting, so that a rejected meeting can be suggested another
+     * time. The meetings of the date are walked in order from the start of the office hours, and the
+     * walk stops as soon as enough gaps are found. Every gap long enough gives one slot, starting when the gap
+     * starts.
+     *
+     * @param meetingDate      date of the meeting
+     * @param officeHour       office hours the meeting has to fit in
+     * @param meetingDuration  duration of the meeting in hours
+     * @param maxNumberOfSlots number of slots to find at most
+     * @return the free slots ordered by start time, empty if the meeting fits nowhere
+     */
+    @Nonnull
+    default List<Meeting> findFreeSlots(@Nonnull final LocalDate meetingDate, @Nonnull final OfficeHour officeHour,
+                                        final int meetingDuration, final int maxNumberOfSlots) {
+        ScheduleIntervalRangeQuery.checkFreeSlotQuery(meetingDate, officeHour, meetingDuration, maxNumberOfSlots);
+
+        final LocalDateTime midnight = meetingDate.toLocalDateTime(LocalTime.MIDNIGHT);
+        return ScheduleIntervalRangeQuery.findFreeSlots(getRoot(),
+                midnight.plusMinutes(getOfficeMinuteOfDay(officeHour.getOfficeStartTime())),
+                midnight.plusMinutes(getOfficeMinuteOfDay(officeHour.getOfficeEndTime())),
+                meetingDuration, maxNumberOfSlots);
+    }
+
+    /**
+     * Same as findFreeSlots for the earliest slot only.
+     *
+     * @return the earliest free slot, or null if the meeting fits nowhere
+     */
+    @Nullable
+    default Meeting findFirstFreeSlot(@Nonnull final LocalDate meetingDate, @Nonnull final OfficeHour officeHour,
+                                      final int meetingDuration) {
+        final List<Meeting> freeSlots = findFreeSlots(meetingDate, officeHour, meetingDuration, 1);
+        return freeSlots.isEmpty() ? null : freeSlots.get(0);
+    }
+
+    /**
+     * Earliest free slot for a rejected meeting schedule, on its date, in its office hours and with its duration.
+     *
+     * @return the earliest free slot, or null if the meeting fits nowhere that day
+     */
+    @Nullable
+    default Meeting suggestFreeSlot(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
+
+        final Meeting meeting = employeeMeetingSchedule.getMeeting();
+        return findFirstFreeSlot(meeting.getMeetingStartDate(), employeeMeetingSchedule.getOfficeHour(),
+                meeting.getMeetingDuration());
+    }
+
+    /**
+     * Same as tryAdd, and a rejected meeting comes back with the slot of suggestFreeSlot, so it can be submitted
+     * again in the same run. The free slots are only searched for a rejected meeting.
+     *
+     * @param employeeMeetingSchedule contains all the details of meeting schedule
+     * @return the result of tryAdd, with ScheduleIntervalAddResult.getSuggestedSlot set when the meeting is rejected
+     */
+    @Nonnull
+    default ScheduleIntervalAddResult tryAddOrSuggest(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        final ScheduleIntervalAddResult result = tryAdd(employeeMeetingSchedule);
+        if (result.isAccepted())
+            return result;
+        return result.withSuggestedSlot(suggestFreeSlot(employeeMeetingSchedule));
+    }
+
+    /**
+     * Iterate over the meetings in meeting start time order, without collecting them and without
+     * modifying the tree.
+     */
+    @Nonnull
+    @Override
+    default Iterator<EmployeeMeetingSchedule> iterator() {
+        return new ScheduleIntervalIterator(getRoot());
+    }
+
+    @Nonnull
+    @Override
+    default Spliterator<EmployeeMeetingSchedule> spliterator() {
+        return ScheduleIntervalIterator.spliterator(getRoot());
+    }
 }
@@ -5,8 +5,8 @@ import org.joda.time.LocalDateTime;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.LinkedHashSet;
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.mls.booking.util.Helpers.*;
 import static com.mls.booking.util.Validator.checkNull;
@@ -15,7 +15,24 @@ public class MeetingScheduleIntervalModel implements MeetingScheduleInterval {
 
     private ScheduleIntervalNode rootNode;
 
+    /**
+     * Load meetings which have already been accepted into a model, see ScheduleIntervalTreeBuilder.buildValidated.
+     */
+    @Nonnull
+    public static MeetingScheduleIntervalModel load(
+            @Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        final MeetingScheduleIntervalModel meetingScheduleIntervalModel = new MeetingScheduleIntervalModel();
+        meetingScheduleIntervalModel.rootNode = ScheduleIntervalTreeBuilder.buildValidated(employeeMeetingSchedules);
+        return meetingScheduleIntervalModel;
+    }
+
     public void add(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        tryAdd(employeeMeetingSchedule);
+    }
+
+    @Nonnull
+    @Override
+    public ScheduleIntervalAddResult tryAdd(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
         checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
         checkNull(employeeMeetingSchedule.getMeeting().getMeetingStartTime(), "startTime");
         checkNull(employeeMeetingSchedule.getMeeting().getMeetingEndTime(), "endTime");
@@ -27,57 +44,96 @@ public class MeetingScheduleIntervalModel implements MeetingScheduleInterval {
             throw new IllegalArgumentException("The meetingEndTime " + endTime +
                     " should be greater than meetingStartTime " + startTime);
 
+        final List<ScheduleIntervalNode> path = new ArrayList<>();
+        ScheduleIntervalNode parentNode = null;
         ScheduleIntervalNode scheduleIntervalNode = rootNode;
 
         while (scheduleIntervalNode != null) {
-            // Check the overlap and ignore it
-            if (overlap(startTime, endTime))
-                return;
+            // Check the overlap and ignore it, nothing has been modified yet
+            if (validateIntersection(startTime, endTime, scheduleIntervalNode.meetingStartTime,
+                    scheduleIntervalNode.meetingEndTime))
+                return ScheduleIntervalAddResult.rejected(scheduleIntervalNode);
 
-            scheduleIntervalNode.maxMeetingEndTime = (isGreaterThan(endTime, scheduleIntervalNode.maxMeetingEndTime)) ? endTime : scheduleIntervalNode.maxMeetingEndTime;
+            path.add(scheduleIntervalNode);
+            parentNode = scheduleIntervalNode;
+            scheduleIntervalNode = isLessThan(startTime, scheduleIntervalNode.meetingStartTime)
+                    ? scheduleIntervalNode.leftNode : scheduleIntervalNode.rightNode;
+        }
 
-            if (isLessThan(startTime, scheduleIntervalNode.meetingStartTime)) {
-                if (scheduleIntervalNode.leftNode == null) {
-                    scheduleIntervalNode.leftNode = new ScheduleIntervalNode(null, startTime, endTime, endTime, null, employeeMeetingSchedule);
-                    return;
-                }
-                scheduleIntervalNode = scheduleIntervalNode.leftNode;
-            } else {
-                if (scheduleIntervalNode.rightNode == null) {
-                    scheduleIntervalNode.rightNode = new ScheduleIntervalNode(null, startTime, endTime, endTime, null, employeeMeetingSchedule);
-                    return;
-                }
-                scheduleIntervalNode = scheduleIntervalNode.rightNode;
-            }
+        final ScheduleIntervalNode acceptedNode =
+                new ScheduleIntervalNode(null, startTime, endTime, endTime, null, employeeMeetingSchedule);
+        if (parentNode == null)
+            rootNode = acceptedNode;
+        else if (isLessThan(startTime, parentNode.meetingStartTime))
+            parentNode.leftNode = acceptedNode;
+        else
+            parentNode.rightNode = acceptedNode;
+
+        for (final ScheduleIntervalNode pathNode : path) {
+            if (isGreaterThan(endTime, pathNode.maxMeetingEndTime))
+                pathNode.maxMeetingEndTime = endTime;
         }
-        rootNode = new ScheduleIntervalNode(null, startTime, endTime, endTime, null, employeeMeetingSchedule);
+        return ScheduleIntervalAddResult.accepted(acceptedNode);
     }
 
+    @Nullable
     @Override
-    public LinkedHashSet<EmployeeMeetingSchedule> traversal(@Nullable ScheduleIntervalNode rootNode) {
-        final LinkedHashSet<EmployeeMeetingSchedule> employeeMeetingSchedules = new LinkedHashSet<>();
+    public EmployeeMeetingSchedule remove(@Nonnull final String employeeId,
+                                          @Nonnull final LocalDateTime meetingStartTime) {
+        checkNull(employeeId, "employeeId");
+        checkNull(meetingStartTime, "meetingStartTime");
+
+        final List<ScheduleIntervalNode> path = new ArrayList<>();
+        ScheduleIntervalNode parentNode = null;
+        ScheduleIntervalNode removedNode = rootNode;
+
+        while (removedNode != null && !isEqual(meetingStartTime, removedNode.meetingStartTime)) {
+            path.add(removedNode);
+            parentNode = removedNode;
+            removedNode = isLessThan(meetingStartTime, removedNode.meetingStartTime)
+                    ? removedNode.leftNode : removedNode.rightNode;
+        }
+        if (removedNode == null || !employeeId.equals(removedNode.employeeMeetingSchedule.getEmployeeId()))
+            return null;
+
+        final ScheduleIntervalNode replacementNode;
+        if (removedNode.leftNode == null) {
+            replacementNode = removedNode.rightNode;
+        } else if (removedNode.rightNode == null) {
+            replacementNode = removedNode.leftNode;
+        } else {
+            // the next meeting, the leftmost node of the right subtree, takes the place of the removed node
+            final List<ScheduleIntervalNode> successorPath = new ArrayList<>();
+            ScheduleIntervalNode successorParentNode = removedNode;
+            ScheduleIntervalNode successorNode = removedNode.rightNode;
+            while (successorNode.leftNode != null) {
+                successorPath.add(successorNode);
+                successorParentNode = successorNode;
+                successorNode = successorNode.leftNode;
+            }
+            if (successorParentNode != removedNode) {
+                successorParentNode.leftNode = successorNode.rightNode;
+                successorNode.rightNode = removedNode.rightNode;
+            }
+            successorNode.leftNode = removedNode.leftNode;
 
-        if (rootNode == null) {
-            return employeeMeetingSchedules;
+            replacementNode = successorNode;
+            path.add(successorNode);
+            path.addAll(successorPath);
         }
 
-        final Stack<ScheduleIntervalNode> stack = new Stack<>();
-        stack.push(rootNode);
+        if (parentNode == null)
+            rootNode = replacementNode;
+        else if (parentNode.leftNode == removedNode)
+            parentNode.leftNode = replacementNode;
+        else
+            parentNode.rightNode = replacementNode;
 
-        while (!stack.isEmpty()) {
-            final ScheduleIntervalNode top = stack.peek();
-            if (top.leftNode != null) {
-                stack.push(top.leftNode);
-                top.leftNode = null;
-            } else {
-                employeeMeetingSchedules.add(top.employeeMeetingSchedule);
-                stack.pop();
-                if (top.rightNode != null) {
-                    stack.push(top.rightNode);
-                }
-            }
+        // the path goes from the root down, the maxMeetingEndTime of a node depends on the ones below it
+        for (int index = path.size() - 1; index >= 0; index--) {
+            updateMaxMeetingEndTime(path.get(index));
         }
-        return employeeMeetingSchedules;
+        return removedNode.employeeMeetingSchedule;
     }
 
     @Nullable
@@ -143,4 +199,18 @@ public class MeetingScheduleIntervalModel implements MeetingScheduleInterval {
         return intervalLeftSubtree != null && isGreaterThan(intervalLeftSubtree.maxMeetingEndTime, startTime);
     }
 
+    /**
+     * Recompute the maxMeetingEndTime of a node from its children.
+     */
+    private static void updateMaxMeetingEndTime(@Nonnull final ScheduleIntervalNode scheduleIntervalNode) {
+        LocalDateTime maxMeetingEndTime = scheduleIntervalNode.meetingEndTime;
+        if (scheduleIntervalNode.leftNode != null
+                && isGreaterThan(scheduleIntervalNode.leftNode.maxMeetingEndTime, maxMeetingEndTime))
+            maxMeetingEndTime = scheduleIntervalNode.leftNode.maxMeetingEndTime;
+        if (scheduleIntervalNode.rightNode != null
+                && isGreaterThan(scheduleIntervalNode.rightNode.maxMeetingEndTime, maxMeetingEndTime))
+            maxMeetingEndTime = scheduleIntervalNode.rightNode.maxMeetingEndTime;
+        scheduleIntervalNode.maxMeetingEndTime = maxMeetingEndTime;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,344 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.mls.booking.util.Helpers.isGreaterThan;
+import static com.mls.booking.util.Helpers.isGreaterThanOrEqual;
+import static com.mls.booking.util.Helpers.isLessThan;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Persistent AVL interval tree, so that the schedule can be read while meetings are still being added. A node is
+ * never modified once the tree holding it is published: an accepted meeting copies the nodes on the path from the
+ * root to its insertion point, and the nodes moved by the rotations, and every other node is shared with the
+ * previous version. The new version is then published through an AtomicReference with a compare and set, which is
+ * retried when another thread published first.
+ * A reader gets a consistent version with getRoot or snapshot without any lock, and keeps it as long as it wants,
+ * the versions no one references anymore are garbage collected. An accepted meeting allocates O(log n) nodes.
+ * The nodes handed out by getRoot and ScheduleIntervalAddResult.getNode are the published ones, not copies, and the
+ * fields of ScheduleIntervalNode are public and mutable. Nothing guards them: writing a field of a node changes
+ * every version sharing it, including the snapshots other threads are reading, so they should only be read.
+ * The accepted meetings are the same as the MeetingScheduleIntervalModel.
+ */
+public class PersistentMeetingScheduleIntervalModel implements MeetingScheduleInterval {
+
+    private final AtomicReference<Version> currentVersion;
+
+    public PersistentMeetingScheduleIntervalModel() {
+        this(new Version(null, 0));
+    }
+
+    private PersistentMeetingScheduleIntervalModel(@Nonnull final Version version) {
+        this.currentVersion = new AtomicReference<>(version);
+    }
+
+    /**
+     * Load meetings which have already been accepted into a model, see ScheduleIntervalTreeBuilder.buildValidated.
+     * The loaded tree is the first published version.
+     */
+    @Nonnull
+    public static PersistentMeetingScheduleIntervalModel load(
+            @Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        return new PersistentMeetingScheduleIntervalModel(new Version(
+                ScheduleIntervalTreeBuilder.buildValidated(employeeMeetingSchedules), employeeMeetingSchedules.size()));
+    }
+
+    public void add(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        tryAdd(employeeMeetingSchedule);
+    }
+
+    @Nonnull
+    @Override
+    public ScheduleIntervalAddResult tryAdd(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
+        checkNull(employeeMeetingSchedule.getMeeting().getMeetingStartTime(), "startTime");
+        checkNull(employeeMeetingSchedule.getMeeting().getMeetingEndTime(), "endTime");
+
+        final LocalDateTime startTime = employeeMeetingSchedule.getMeeting().getMeetingStartTime();
+        final LocalDateTime endTime = employeeMeetingSchedule.getMeeting().getMeetingEndTime();
+
+        if (isGreaterThanOrEqual(startTime, endTime))
+            throw new IllegalArgumentException("The meetingEndTime " + endTime
+                    + " should be greater than meetingStartTime " + startTime);
+
+        while (true) {
+            final Version version = currentVersion.get();
+            final Insertion insertion = new Insertion(startTime, endTime, employeeMeetingSchedule);
+            final ScheduleIntervalNode rootNode = insert(version.rootNode, insertion);
+            if (insertion.conflictingNode != null)
+                return ScheduleIntervalAddResult.rejected(insertion.conflictingNode);
+
+            // the rotations may have copied the inserted node, the published copy is the one to return
+            if (currentVersion.compareAndSet(version, new Version(rootNode, version.size + 1)))
+                return ScheduleIntervalAddResult.accepted(findNode(rootNode, startTime));
+        }
+    }
+
+    /**
+     * Same as MeetingScheduleInterval.remove, the nodes on the path to the cancelled meeting are copied and the
+     * new version is published like an accepted meeting. The snapshots taken before still have the meeting.
+     */
+    @Nullable
+    @Override
+    public EmployeeMeetingSchedule remove(@Nonnull final String employeeId,
+                                          @Nonnull final LocalDateTime meetingStartTime) {
+        checkNull(employeeId, "employeeId");
+        checkNull(meetingStartTime, "meetingStartTime");
+
+        while (true) {
+            final Version version = currentVersion.get();
+            final Removal removal = new Removal(employeeId, meetingStartTime);
+            final ScheduleIntervalNode rootNode = remove(version.rootNode, removal);
+            if (removal.removedNode == null)
+                return null;
+
+            if (currentVersion.compareAndSet(version, new Version(rootNode, version.size - 1)))
+                return removal.removedNode.employeeMeetingSchedule;
+        }
+    }
+
+    /**
+     * @return the root of the current version, which never changes afterwards as long as its nodes are only read
+     */
+    @Nullable
+    @Override
+    public ScheduleIntervalNode getRoot() {
+        return currentVersion.get().rootNode;
+    }
+
+    /**
+     * Model of the current version, which does not see the meetings added afterwards. It shares the nodes of this
+     * model, so it is taken in O(1), and the meetings added to it do not change this model.
+     */
+    @Nonnull
+    public PersistentMeetingScheduleIntervalModel snapshot() {
+        return new PersistentMeetingScheduleIntervalModel(currentVersion.get());
+    }
+
+    /**
+     * @return number of meetings of the current version
+     */
+    public int size() {
+        return currentVersion.get().size;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Insert a meeting in a copy of a subtree. When the meeting overlaps a node of the way down, the subtree is
+     * returned and nothing is copied.
+     *
+     * @return the root of the new subtree
+     */
+    @Nonnull
+    private static ScheduleIntervalNode insert(@Nullable final ScheduleIntervalNode scheduleIntervalNode,
+                                               @Nonnull final Insertion insertion) {
+        if (scheduleIntervalNode == null)
+            return new ScheduleIntervalNode(null, insertion.startTime, insertion.endTime, insertion.endTime, null,
+                    insertion.employeeMeetingSchedule);
+
+        if (isLessThan(insertion.startTime, scheduleIntervalNode.meetingEndTime)
+                && isGreaterThan(insertion.endTime, scheduleIntervalNode.meetingStartTime)) {
+            insertion.conflictingNode = scheduleIntervalNode;
+            return scheduleIntervalNode;
+        }
+
+        if (isLessThan(insertion.startTime, scheduleIntervalNode.meetingStartTime)) {
+            final ScheduleIntervalNode leftNode = insert(scheduleIntervalNode.leftNode, insertion);
+            return insertion.conflictingNode != null ? scheduleIntervalNode
+                    : balance(leftNode, scheduleIntervalNode, scheduleIntervalNode.rightNode);
+        }
+        final ScheduleIntervalNode rightNode = insert(scheduleIntervalNode.rightNode, insertion);
+        return insertion.conflictingNode != null ? scheduleIntervalNode
+                : balance(scheduleIntervalNode.leftNode, scheduleIntervalNode, rightNode);
+    }
+
+    /**
+     * The meetings of a tree do not overlap, so a start time finds at most one node.
+     *
+     * @return the node of the meeting starting at startTime
+     */
+    @Nonnull
+    private static ScheduleIntervalNode findNode(@Nullable final ScheduleIntervalNode rootNode,
+                                                 @Nonnull final LocalDateTime startTime) {
+        ScheduleIntervalNode scheduleIntervalNode = rootNode;
+        while (scheduleIntervalNode != null) {
+            if (isLessThan(startTime, scheduleIntervalNode.meetingStartTime))
+                scheduleIntervalNode = scheduleIntervalNode.leftNode;
+            else if (isGreaterThan(startTime, scheduleIntervalNode.meetingStartTime))
+                scheduleIntervalNode = scheduleIntervalNode.rightNode;
+            else
+                return scheduleIntervalNode;
+        }
+        throw new IllegalStateException("No meeting starts at " + startTime);
+    }
+
+    /**
+     * Remove a meeting from a copy of a subtree. A node with 2 children is replaced by a copy of the next meeting,
+     * the leftmost node of its right subtree. When the meeting is not found, the subtree is returned and nothing
+     * is copied.
+     *
+     * @return the root of the new subtree
+     */
+    @Nullable
+    private static ScheduleIntervalNode remove(@Nullable final ScheduleIntervalNode scheduleIntervalNode,
+                                               @Nonnull final Removal removal) {
+        if (scheduleIntervalNode == null)
+            return null;
+
+        if (isLessThan(removal.meetingStartTime, scheduleIntervalNode.meetingStartTime)) {
+            final ScheduleIntervalNode leftNode = remove(scheduleIntervalNode.leftNode, removal);
+            return removal.removedNode == null ? scheduleIntervalNode
+                    : balance(leftNode, scheduleIntervalNode, scheduleIntervalNode.rightNode);
+        }
+        if (isGreaterThan(removal.meetingStartTime, scheduleIntervalNode.meetingStartTime)) {
+            final ScheduleIntervalNode rightNode = remove(scheduleIntervalNode.rightNode, removal);
+            return removal.removedNode == null ? scheduleIntervalNode
+                    : balance(scheduleIntervalNode.leftNode, scheduleIntervalNode, rightNode);
+        }
+        if (!removal.employeeId.equals(scheduleIntervalNode.employeeMeetingSchedule.getEmployeeId()))
+            return scheduleIntervalNode;
+
+        removal.removedNode = scheduleIntervalNode;
+        if (scheduleIntervalNode.leftNode == null)
+            return scheduleIntervalNode.rightNode;
+        if (scheduleIntervalNode.rightNode == null)
+            return scheduleIntervalNode.leftNode;
+
+        ScheduleIntervalNode successorNode = scheduleIntervalNode.rightNode;
+        while (successorNode.leftNode != null) {
+            successorNode = successorNode.leftNode;
+        }
+        return balance(scheduleIntervalNode.leftNode, successorNode, removeLeftmost(scheduleIntervalNode.rightNode));
+    }
+
+    /**
+     * Copy of a subtree without its leftmost node.
+     *
+     * @return the root of the new subtree
+     */
+    @Nullable
+    private static ScheduleIntervalNode removeLeftmost(@Nonnull final ScheduleIntervalNode scheduleIntervalNode) {
+        if (scheduleIntervalNode.leftNode == null)
+            return scheduleIntervalNode.rightNode;
+
+        return balance(removeLeftmost(scheduleIntervalNode.leftNode), scheduleIntervalNode,
+                scheduleIntervalNode.rightNode);
+    }
+
+    /**
+     * New balanced subtree of the meeting of a node between 2 subtrees whose heights differ by at most 2. The
+     * rotations create new nodes instead of relinking the existing ones.
+     *
+     * @return the root of the new subtree
+     */
+    @Nonnull
+    private static ScheduleIntervalNode balance(@Nullable final ScheduleIntervalNode leftNode,
+                                                @Nonnull final ScheduleIntervalNode scheduleIntervalNode,
+                                                @Nullable final ScheduleIntervalNode rightNode) {
+        final int balance = height(leftNode) - height(rightNode);
+
+        if (balance > 1) {
+            if (height(leftNode.leftNode) >= height(leftNode.rightNode))
+                return newNode(leftNode.leftNode, leftNode,
+                        newNode(leftNode.rightNode, scheduleIntervalNode, rightNode));
+            final ScheduleIntervalNode middleNode = leftNode.rightNode;
+            return newNode(newNode(leftNode.leftNode, leftNode, middleNode.leftNode), middleNode,
+                    newNode(middleNode.rightNode, scheduleIntervalNode, rightNode));
+        }
+        if (balance < -1) {
+            if (height(rightNode.rightNode) >= height(rightNode.leftNode))
+                return newNode(newNode(leftNode, scheduleIntervalNode, rightNode.leftNode), rightNode,
+                        rightNode.rightNode);
+            final ScheduleIntervalNode middleNode = rightNode.leftNode;
+            return newNode(newNode(leftNode, scheduleIntervalNode, middleNode.leftNode), middleNode,
+                    newNode(middleNode.rightNode, rightNode, rightNode.rightNode));
+        }
+        return newNode(leftNode, scheduleIntervalNode, rightNode);
+    }
+
+    /**
+     * Copy of the meeting of a node with new children, and its height and maxMeetingEndTime.
+     */
+    @Nonnull
+    private static ScheduleIntervalNode newNode(@Nullable final ScheduleIntervalNode leftNode,
+                                                @Nonnull final ScheduleIntervalNode scheduleIntervalNode,
+                                                @Nullable final ScheduleIntervalNode rightNode) {
+        LocalDateTime maxMeetingEndTime = scheduleIntervalNode.meetingEndTime;
+        if (leftNode != null && isGreaterThan(leftNode.maxMeetingEndTime, maxMeetingEndTime))
+            maxMeetingEndTime = leftNode.maxMeetingEndTime;
+        if (rightNode != null && isGreaterThan(rightNode.maxMeetingEndTime, maxMeetingEndTime))
+            maxMeetingEndTime = rightNode.maxMeetingEndTime;
+
+        final ScheduleIntervalNode newNode = new ScheduleIntervalNode(leftNode, scheduleIntervalNode.meetingStartTime,
+                scheduleIntervalNode.meetingEndTime, maxMeetingEndTime, rightNode,
+                scheduleIntervalNode.employeeMeetingSchedule);
+        newNode.height = 1 + Math.max(height(leftNode), height(rightNode));
+        return newNode;
+    }
+
+    private static int height(@Nullable final ScheduleIntervalNode scheduleIntervalNode) {
+        return scheduleIntervalNode == null ? 0 : scheduleIntervalNode.height;
+    }
+
+    /**
+     * Root and number of meetings of a published tree.
+     */
+    private static final class Version {
+
+        private final ScheduleIntervalNode rootNode;
+
+        private final int size;
+
+        private Version(@Nullable final ScheduleIntervalNode rootNode, final int size) {
+            this.rootNode = rootNode;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Meeting being removed, and the outcome of the descent.
+     */
+    private static final class Removal {
+
+        private final String employeeId;
+
+        private final LocalDateTime meetingStartTime;
+
+        private ScheduleIntervalNode removedNode;
+
+        private Removal(@Nonnull final String employeeId, @Nonnull final LocalDateTime meetingStartTime) {
+            this.employeeId = employeeId;
+            this.meetingStartTime = meetingStartTime;
+        }
+    }
+
+    /**
+     * Meeting being inserted, and the outcome of the descent.
+     */
+    private static final class Insertion {
+
+        private final LocalDateTime startTime;
+
+        private final LocalDateTime endTime;
+
+        private final EmployeeMeetingSchedule employeeMeetingSchedule;
+
+        private ScheduleIntervalNode conflictingNode;
+
+        private Insertion(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime,
+                          @Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.employeeMeetingSchedule = employeeMeetingSchedule;
+        }
+    }
+}
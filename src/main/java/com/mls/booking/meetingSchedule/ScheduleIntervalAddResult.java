@@ -0,0 +1,83 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Result of MeetingScheduleInterval.tryAdd, either the node of the accepted meeting or the node of the meeting
+ * it overlaps. A result of MeetingScheduleInterval.tryAddOrSuggest also holds the earliest free slot of a rejected
+ * meeting.
+ */
+public class ScheduleIntervalAddResult {
+
+    private final ScheduleIntervalNode node;
+
+    private final boolean accepted;
+
+    private final Meeting suggestedSlot;
+
+    private ScheduleIntervalAddResult(@Nonnull final ScheduleIntervalNode node, final boolean accepted,
+                                      @Nullable final Meeting suggestedSlot) {
+        checkNull(node, "node");
+
+        this.node = node;
+        this.accepted = accepted;
+        this.suggestedSlot = suggestedSlot;
+    }
+
+    @Nonnull
+    static ScheduleIntervalAddResult accepted(@Nonnull final ScheduleIntervalNode acceptedNode) {
+        return new ScheduleIntervalAddResult(acceptedNode, true, null);
+    }
+
+    @Nonnull
+    static ScheduleIntervalAddResult rejected(@Nonnull final ScheduleIntervalNode conflictingNode) {
+        return new ScheduleIntervalAddResult(conflictingNode, false, null);
+    }
+
+    /**
+     * @param suggestedSlot earliest free slot of the date of the rejected meeting, or null if it fits nowhere
+     * @return the same rejection with the suggested slot
+     */
+    @Nonnull
+    ScheduleIntervalAddResult withSuggestedSlot(@Nullable final Meeting suggestedSlot) {
+        if (this.accepted)
+            throw new IllegalStateException("An accepted meeting has no suggested slot");
+
+        return new ScheduleIntervalAddResult(this.node, false, suggestedSlot);
+    }
+
+    public boolean isAccepted() {
+        return this.accepted;
+    }
+
+    /**
+     * @return the node of the accepted meeting, or the node of the meeting it overlaps
+     */
+    @Nonnull
+    public ScheduleIntervalNode getNode() {
+        return this.node;
+    }
+
+    /**
+     * @return the meeting already in the model which overlaps the added one, or null if it is accepted
+     */
+    @Nullable
+    public EmployeeMeetingSchedule getConflictingMeetingSchedule() {
+        return this.accepted ? null : this.node.employeeMeetingSchedule;
+    }
+
+    /**
+     * @return the earliest free slot of the date of the rejected meeting, or null if the meeting is accepted, fits
+     * nowhere that day or the result comes from tryAdd
+     */
+    @Nullable
+    public Meeting getSuggestedSlot() {
+        return this.suggestedSlot;
+    }
+}
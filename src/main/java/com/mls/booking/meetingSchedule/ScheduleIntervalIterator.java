@@ -0,0 +1,74 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * In order iterator over the meetings of an interval tree, in meeting start time order. The tree is
+ * not modified, so it can be iterated again, and the next node is only looked for when it is asked for.
+ * The path to the next node is kept in an array, which only grows up to the height of the tree, so the
+ * iteration allocates nothing else.
+ * The tree should not be modified while it is iterated.
+ */
+public class ScheduleIntervalIterator implements Iterator<EmployeeMeetingSchedule> {
+
+    private static final int INITIAL_STACK_SIZE = 32;
+
+    private ScheduleIntervalNode[] stack = new ScheduleIntervalNode[INITIAL_STACK_SIZE];
+
+    private int stackSize;
+
+    /**
+     * @param rootNode the root node of the tree, or null for an empty tree
+     */
+    public ScheduleIntervalIterator(@Nullable final ScheduleIntervalNode rootNode) {
+        pushLeftNodes(rootNode);
+    }
+
+    /**
+     * @param rootNode the root node of the tree, or null for an empty tree
+     * @return an ordered spliterator over the meetings of the tree
+     */
+    @Nonnull
+    public static Spliterator<EmployeeMeetingSchedule> spliterator(@Nullable final ScheduleIntervalNode rootNode) {
+        return Spliterators.spliteratorUnknownSize(new ScheduleIntervalIterator(rootNode),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return stackSize > 0;
+    }
+
+    @Override
+    public EmployeeMeetingSchedule next() {
+        if (stackSize == 0)
+            throw new NoSuchElementException();
+
+        final ScheduleIntervalNode scheduleIntervalNode = stack[--stackSize];
+        stack[stackSize] = null;
+        pushLeftNodes(scheduleIntervalNode.rightNode);
+        return scheduleIntervalNode.employeeMeetingSchedule;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private void pushLeftNodes(@Nullable final ScheduleIntervalNode rootNode) {
+        ScheduleIntervalNode scheduleIntervalNode = rootNode;
+        while (scheduleIntervalNode != null) {
+            if (stackSize == stack.length)
+                stack = Arrays.copyOf(stack, stackSize * 2);
+            stack[stackSize++] = scheduleIntervalNode;
+            scheduleIntervalNode = scheduleIntervalNode.leftNode;
+        }
+    }
+}
@@ -11,6 +11,10 @@ public class ScheduleIntervalNode {
     public LocalDateTime maxMeetingEndTime;
     public ScheduleIntervalNode rightNode;
     public EmployeeMeetingSchedule employeeMeetingSchedule;
+    /**
+     * height of the subtree, kept by the BalancedMeetingScheduleIntervalModel, a leaf has a height of 1
+     */
+    public int height = 1;
 
     public ScheduleIntervalNode(final ScheduleIntervalNode leftNode, final LocalDateTime meetingStartTime,
                                 final LocalDateTime meetingEndTime, final LocalDateTime maxMeetingEndTime,
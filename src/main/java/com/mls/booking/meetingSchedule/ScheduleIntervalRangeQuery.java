@@ -0,0 +1,177 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import com.mls.booking.model.OfficeHour;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mls.booking.util.Helpers.isGreaterThan;
+import static com.mls.booking.util.Helpers.isGreaterThanOrEqual;
+import static com.mls.booking.util.Helpers.isLessThan;
+import static com.mls.booking.util.Helpers.isLessThanOrEqual;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Range queries on an interval tree ordered by meeting start time. A subtree whose maxMeetingEndTime
+ * is not after the start of the range cannot contain an overlapping meeting, and neither can the right
+ * subtree of a node which starts at or after the end of the range, so only the paths to the 2 ends of the
+ * range and the overlapping meetings are visited, which takes O(log n + k) on a balanced tree.
+ * The free slots are found the same way, walking the meetings in order from the start of the
+ * office hours and stopping at the first gaps long enough, so only the meetings before them are visited.
+ * Two intervals such that one of the points coincide are NOT considered as intersecting.
+ */
+final class ScheduleIntervalRangeQuery {
+
+    private ScheduleIntervalRangeQuery() {
+    }
+
+    static void checkRange(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+        checkNull(startTime, "startTime");
+        checkNull(endTime, "endTime");
+
+        if (isGreaterThanOrEqual(startTime, endTime))
+            throw new IllegalArgumentException("The meetingEndTime " + endTime
+                    + " should be greater than meetingStartTime " + startTime);
+    }
+
+    static void checkFreeSlotQuery(@Nonnull final LocalDate meetingDate, @Nonnull final OfficeHour officeHour,
+                                   final int meetingDuration, final int maxNumberOfSlots) {
+        checkNull(meetingDate, "meetingDate");
+        checkNull(officeHour, "officeHour");
+
+        if (meetingDuration <= 0)
+            throw new IllegalArgumentException("meetingDuration should be greater than 0");
+        if (maxNumberOfSlots <= 0)
+            throw new IllegalArgumentException("maxNumberOfSlots should be greater than 0");
+    }
+
+    /**
+     * Add the meetings of a subtree which overlap the range, in meeting start time order.
+     */
+    static void findOverlapping(@Nullable final ScheduleIntervalNode rootNode,
+                                @Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime,
+                                @Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        // the right subtrees are visited in the loop, so the recursion only follows the left links
+        ScheduleIntervalNode scheduleIntervalNode = rootNode;
+        while (scheduleIntervalNode != null && isGreaterThan(scheduleIntervalNode.maxMeetingEndTime, startTime)) {
+            findOverlapping(scheduleIntervalNode.leftNode, startTime, endTime, employeeMeetingSchedules);
+            if (isGreaterThanOrEqual(scheduleIntervalNode.meetingStartTime, endTime))
+                return;
+
+            if (isGreaterThan(scheduleIntervalNode.meetingEndTime, startTime))
+                employeeMeetingSchedules.add(scheduleIntervalNode.employeeMeetingSchedule);
+            scheduleIntervalNode = scheduleIntervalNode.rightNode;
+        }
+    }
+
+    /**
+     * @return true if no meeting of the tree overlaps the range
+     */
+    static boolean isAvailable(@Nullable final ScheduleIntervalNode rootNode,
+                               @Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+        ScheduleIntervalNode scheduleIntervalNode = rootNode;
+        while (scheduleIntervalNode != null) {
+            if (isLessThan(startTime, scheduleIntervalNode.meetingEndTime)
+                    && isGreaterThan(endTime, scheduleIntervalNode.meetingStartTime))
+                return false;
+
+            // if no meeting of the left subtree ends after startTime, none of them can overlap
+            final ScheduleIntervalNode leftNode = scheduleIntervalNode.leftNode;
+            if (leftNode != null && isGreaterThan(leftNode.maxMeetingEndTime, startTime))
+                scheduleIntervalNode = leftNode;
+            else
+                scheduleIntervalNode = scheduleIntervalNode.rightNode;
+        }
+        return true;
+    }
+
+    /**
+     * Find the earliest gaps of the tree which are long enough for a meeting, one slot per gap, starting as soon
+     * as the gap starts.
+     *
+     * @param rootNode         the root node of the tree, or null for an empty tree
+     * @param windowStartTime  earliest start of a slot
+     * @param windowEndTime    latest end of a slot
+     * @param meetingDuration  duration of a slot in hours
+     * @param maxNumberOfSlots number of slots to find at most
+     * @return the free slots ordered by start time
+     */
+    @Nonnull
+    static List<Meeting> findFreeSlots(@Nullable final ScheduleIntervalNode rootNode,
+                                       @Nonnull final LocalDateTime windowStartTime,
+                                       @Nonnull final LocalDateTime windowEndTime,
+                                       final int meetingDuration, final int maxNumberOfSlots) {
+        final FreeSlotSearch freeSlotSearch =
+                new FreeSlotSearch(windowStartTime, windowEndTime, meetingDuration, maxNumberOfSlots);
+        if (!findFreeSlots(rootNode, freeSlotSearch))
+            freeSlotSearch.addGapUntil(windowEndTime);
+        return freeSlotSearch.freeSlots;
+    }
+
+    /**
+     * Visit the meetings of a subtree which end after the free slot cursor, in start time order.
+     *
+     * @return true when the search is over
+     */
+    private static boolean findFreeSlots(@Nullable final ScheduleIntervalNode rootNode,
+                                         @Nonnull final FreeSlotSearch freeSlotSearch) {
+        ScheduleIntervalNode scheduleIntervalNode = rootNode;
+        while (scheduleIntervalNode != null
+                && isGreaterThan(scheduleIntervalNode.maxMeetingEndTime, freeSlotSearch.cursor)) {
+            if (findFreeSlots(scheduleIntervalNode.leftNode, freeSlotSearch))
+                return true;
+            if (isGreaterThanOrEqual(scheduleIntervalNode.meetingStartTime, freeSlotSearch.windowEndTime))
+                return false;
+
+            if (freeSlotSearch.addGapUntil(scheduleIntervalNode.meetingStartTime))
+                return true;
+            if (isGreaterThan(scheduleIntervalNode.meetingEndTime, freeSlotSearch.cursor))
+                freeSlotSearch.cursor = scheduleIntervalNode.meetingEndTime;
+            scheduleIntervalNode = scheduleIntervalNode.rightNode;
+        }
+        return false;
+    }
+
+    /**
+     * Free slots found so far, and the time from which the next one may start.
+     */
+    private static final class FreeSlotSearch {
+
+        private final LocalDateTime windowEndTime;
+
+        private final int meetingDuration;
+
+        private final int maxNumberOfSlots;
+
+        private final List<Meeting> freeSlots = new ArrayList<>();
+
+        private LocalDateTime cursor;
+
+        private FreeSlotSearch(@Nonnull final LocalDateTime windowStartTime,
+                               @Nonnull final LocalDateTime windowEndTime,
+                               final int meetingDuration, final int maxNumberOfSlots) {
+            this.cursor = windowStartTime;
+            this.windowEndTime = windowEndTime;
+            this.meetingDuration = meetingDuration;
+            this.maxNumberOfSlots = maxNumberOfSlots;
+        }
+
+        /**
+         * Add a slot at the cursor if the meeting fits before the given time and inside the window.
+         *
+         * @return true when enough slots are found
+         */
+        private boolean addGapUntil(@Nonnull final LocalDateTime gapEndTime) {
+            final LocalDateTime slotEndTime = cursor.plusHours(meetingDuration);
+            if (isLessThanOrEqual(slotEndTime, gapEndTime) && isLessThanOrEqual(slotEndTime, windowEndTime))
+                freeSlots.add(new Meeting(cursor, meetingDuration));
+            return freeSlots.size() == maxNumberOfSlots;
+        }
+    }
+}
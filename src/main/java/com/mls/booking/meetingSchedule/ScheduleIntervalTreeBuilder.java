@@ -0,0 +1,169 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mls.booking.util.Helpers.isGreaterThan;
+import static com.mls.booking.util.Helpers.isGreaterThanOrEqual;
+import static com.mls.booking.util.Helpers.isLessThan;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Builds a perfectly balanced interval tree from meetings sorted by meeting start time in one linear
+ * pass, instead of adding them one at a time, which is useful to reload a schedule which has already been
+ * accepted. The middle meeting of every range becomes the root of its subtree, and the height and the
+ * maxMeetingEndTime of every node are computed from its children on the way back up.
+ * The builder only checks the start time order, which the tree needs to be searched, and not the
+ * overlaps, so it trusts that the meetings have already been accepted. buildValidated checks the overlaps too.
+ */
+public class ScheduleIntervalTreeBuilder {
+
+    /**
+     * true to check that every meeting does not overlap the previous one
+     */
+    private final boolean validating;
+
+    private ScheduleIntervalNode[] nodes;
+
+    private int size;
+
+    public ScheduleIntervalTreeBuilder() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize number of meetings expected, the builder grows past it if needed
+     */
+    public ScheduleIntervalTreeBuilder(final int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    ScheduleIntervalTreeBuilder(final int expectedSize, final boolean validating) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("expectedSize should not be negative");
+
+        this.nodes = new ScheduleIntervalNode[Math.max(expectedSize, 1)];
+        this.validating = validating;
+    }
+
+    /**
+     * Build a tree from meetings sorted by meeting start time, without checking the overlaps.
+     *
+     * @return the root of the tree, or null if there is no meeting
+     */
+    @Nullable
+    public static ScheduleIntervalNode build(@Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        checkNull(employeeMeetingSchedules, "employeeMeetingSchedules");
+
+        final ScheduleIntervalTreeBuilder scheduleIntervalTreeBuilder =
+                new ScheduleIntervalTreeBuilder(employeeMeetingSchedules.size());
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
+            scheduleIntervalTreeBuilder.add(employeeMeetingSchedule);
+        }
+        return scheduleIntervalTreeBuilder.build();
+    }
+
+    /**
+     * Load meetings which have already been accepted, for example by a previous run, in O(n) instead of adding them
+     * one at a time. Every meeting is checked against the previous one while it is added, which is enough since
+     * they are sorted, so the meetings are read once. The load methods of the models build their tree with it.
+     *
+     * @param employeeMeetingSchedules meetings sorted by meeting start time, which do not overlap
+     * @return the root of the tree, or null if there is no meeting
+     * @throws IllegalArgumentException if the meetings are not sorted or overlap
+     */
+    @Nullable
+    static ScheduleIntervalNode buildValidated(@Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
+        checkNull(employeeMeetingSchedules, "employeeMeetingSchedules");
+
+        final ScheduleIntervalTreeBuilder scheduleIntervalTreeBuilder =
+                new ScheduleIntervalTreeBuilder(employeeMeetingSchedules.size(), true);
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
+            scheduleIntervalTreeBuilder.add(employeeMeetingSchedule);
+        }
+        return scheduleIntervalTreeBuilder.build();
+    }
+
+    /**
+     * Add the next meeting, its start time should not be before the one of the previous meeting.
+     *
+     * @throws IllegalArgumentException if the meeting is not sorted, or overlaps the previous meeting when the
+     *                                  builder is validating
+     */
+    @Nonnull
+    public ScheduleIntervalTreeBuilder add(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
+
+        final LocalDateTime startTime = employeeMeetingSchedule.getMeeting().getMeetingStartTime();
+        final LocalDateTime endTime = employeeMeetingSchedule.getMeeting().getMeetingEndTime();
+        if (isGreaterThanOrEqual(startTime, endTime))
+            throw new IllegalArgumentException("The meetingEndTime " + endTime
+                    + " should be greater than meetingStartTime " + startTime);
+        if (size > 0 && isLessThan(startTime, nodes[size - 1].meetingStartTime))
+            throw new IllegalArgumentException("The meetingStartTime " + startTime
+                    + " should not be before the previous meetingStartTime " + nodes[size - 1].meetingStartTime);
+        if (validating && size > 0 && isLessThan(startTime, nodes[size - 1].meetingEndTime))
+            throw new IllegalArgumentException("The meeting of " + employeeMeetingSchedule.getEmployeeId()
+                    + " at " + startTime + " overlaps the previous meeting");
+
+        if (size == nodes.length)
+            nodes = Arrays.copyOf(nodes, size * 2);
+        nodes[size++] = new ScheduleIntervalNode(null, startTime, endTime, endTime, null, employeeMeetingSchedule);
+        return this;
+    }
+
+    /**
+     * @return number of meetings added
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Link the meetings added so far into a balanced tree. The builder can be used again, the next tree has new
+     * nodes.
+     *
+     * @return the root of the tree, or null if there is no meeting
+     */
+    @Nullable
+    public ScheduleIntervalNode build() {
+        final ScheduleIntervalNode rootNode = link(nodes, 0, size);
+        nodes = new ScheduleIntervalNode[nodes.length];
+        size = 0;
+        return rootNode;
+    }
+
+    /**
+     * Link the nodes from..to, sorted by start time, into a balanced tree, and compute their height and
+     * maxMeetingEndTime. The nodes are relinked in place.
+     *
+     * @return the root of the tree, or null if there is no node
+     */
+    @Nullable
+    private static ScheduleIntervalNode link(@Nonnull final ScheduleIntervalNode[] sortedNodes, final int from, final int to) {
+        if (from >= to)
+            return null;
+
+        final int middle = (from + to) >>> 1;
+        final ScheduleIntervalNode scheduleIntervalNode = sortedNodes[middle];
+        final ScheduleIntervalNode leftNode = link(sortedNodes, from, middle);
+        final ScheduleIntervalNode rightNode = link(sortedNodes, middle + 1, to);
+        scheduleIntervalNode.leftNode = leftNode;
+        scheduleIntervalNode.rightNode = rightNode;
+
+        LocalDateTime maxMeetingEndTime = scheduleIntervalNode.meetingEndTime;
+        if (leftNode != null && isGreaterThan(leftNode.maxMeetingEndTime, maxMeetingEndTime))
+            maxMeetingEndTime = leftNode.maxMeetingEndTime;
+        if (rightNode != null && isGreaterThan(rightNode.maxMeetingEndTime, maxMeetingEndTime))
+            maxMeetingEndTime = rightNode.maxMeetingEndTime;
+        scheduleIntervalNode.maxMeetingEndTime = maxMeetingEndTime;
+        scheduleIntervalNode.height = 1 + Math.max(leftNode == null ? 0 : leftNode.height,
+                rightNode == null ? 0 : rightNode.height);
+        return scheduleIntervalNode;
+    }
+}
@@ -0,0 +1,142 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.mls.booking.util.Helpers.isGreaterThan;
+import static com.mls.booking.util.Helpers.isLessThan;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Meetings rejected by a MeetingScheduleInterval, kept so that the time released by a cancellation is given to them
+ * without running the whole batch again. The rejected meetings are kept by meeting date in the order they are
+ * rejected, which is the submission time order when the meetings are added in that order. A cancellation only
+ * tries again the rejected meetings overlapping the released time, in submission time order, the other ones are
+ * still rejected by the same meetings. The accepted meetings keep their time, a rejected meeting only gets the
+ * time nobody uses anymore.
+ * It is not thread safe, even around a ConcurrentMeetingScheduleIntervalModel.
+ */
+public class ScheduleIntervalWaitingList {
+
+    private static final Comparator<EmployeeMeetingSchedule> SUBMISSION_TIME_ORDER =
+            Comparator.comparing(EmployeeMeetingSchedule::getSubmissionTime);
+
+    private final MeetingScheduleInterval meetingScheduleIntervalModel;
+
+    private final Map<LocalDate, List<EmployeeMeetingSchedule>> waitingMeetingSchedules = new HashMap<>();
+
+    /**
+     * longest waiting meeting in hours, a waiting meeting starting up to that long before a released time may
+     * overlap it
+     */
+    private int maxMeetingDuration;
+
+    private int size;
+
+    public ScheduleIntervalWaitingList(@Nonnull final MeetingScheduleInterval meetingScheduleIntervalModel) {
+        checkNull(meetingScheduleIntervalModel, "meetingScheduleIntervalModel");
+
+        this.meetingScheduleIntervalModel = meetingScheduleIntervalModel;
+    }
+
+    /**
+     * Same as MeetingScheduleInterval.tryAdd, and keep the meeting schedule when it is rejected.
+     */
+    @Nonnull
+    public ScheduleIntervalAddResult tryAdd(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        final ScheduleIntervalAddResult result = meetingScheduleIntervalModel.tryAdd(employeeMeetingSchedule);
+        if (!result.isAccepted()) {
+            waitingMeetingSchedules.computeIfAbsent(employeeMeetingSchedule.getMeeting().getMeetingStartDate(),
+                    date -> new ArrayList<>()).add(employeeMeetingSchedule);
+            maxMeetingDuration = Math.max(maxMeetingDuration,
+                    employeeMeetingSchedule.getMeeting().getMeetingDuration());
+            size++;
+        }
+        return result;
+    }
+
+    /**
+     * Cancel an accepted meeting, then add the waiting meetings which overlap the released time in submission time
+     * order, as long as they fit.
+     *
+     * @param employeeId       employee who booked the meeting
+     * @param meetingStartTime start time of the meeting
+     * @return the waiting meetings accepted in the released time, empty if no meeting has been cancelled
+     */
+    @Nonnull
+    public List<EmployeeMeetingSchedule> cancel(@Nonnull final String employeeId,
+                                                @Nonnull final LocalDateTime meetingStartTime) {
+        final List<EmployeeMeetingSchedule> acceptedMeetingSchedules = new ArrayList<>();
+        final EmployeeMeetingSchedule cancelledMeetingSchedule =
+                meetingScheduleIntervalModel.remove(employeeId, meetingStartTime);
+        if (cancelledMeetingSchedule == null)
+            return acceptedMeetingSchedules;
+
+        final LocalDateTime releasedEndTime = cancelledMeetingSchedule.getMeeting().getMeetingEndTime();
+        // a meeting ending at midnight does not release any time of the next date
+        final LocalDate lastDate = releasedEndTime.minusMillis(1).toLocalDate();
+        final List<EmployeeMeetingSchedule> candidates = new ArrayList<>();
+        for (LocalDate date = meetingStartTime.minusHours(maxMeetingDuration).toLocalDate(); !date.isAfter(lastDate);
+             date = date.plusDays(1)) {
+            final List<EmployeeMeetingSchedule> waitingMeetingSchedulesOfDate = waitingMeetingSchedules.get(date);
+            if (waitingMeetingSchedulesOfDate == null)
+                continue;
+
+            for (final EmployeeMeetingSchedule employeeMeetingSchedule : waitingMeetingSchedulesOfDate) {
+                if (overlaps(employeeMeetingSchedule, meetingStartTime, releasedEndTime))
+                    candidates.add(employeeMeetingSchedule);
+            }
+        }
+        candidates.sort(SUBMISSION_TIME_ORDER);
+
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : candidates) {
+            if (meetingScheduleIntervalModel.tryAdd(employeeMeetingSchedule).isAccepted())
+                acceptedMeetingSchedules.add(employeeMeetingSchedule);
+        }
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : acceptedMeetingSchedules) {
+            removeWaitingMeetingSchedule(employeeMeetingSchedule);
+        }
+        return acceptedMeetingSchedules;
+    }
+
+    /**
+     * @return number of waiting meetings
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private static boolean overlaps(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule,
+                                    @Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+        return isLessThan(employeeMeetingSchedule.getMeeting().getMeetingStartTime(), endTime)
+                && isGreaterThan(employeeMeetingSchedule.getMeeting().getMeetingEndTime(), startTime);
+    }
+
+    private void removeWaitingMeetingSchedule(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        final LocalDate meetingDate = employeeMeetingSchedule.getMeeting().getMeetingStartDate();
+        final List<EmployeeMeetingSchedule> waitingMeetingSchedulesOfDate = waitingMeetingSchedules.get(meetingDate);
+        final Iterator<EmployeeMeetingSchedule> iterator = waitingMeetingSchedulesOfDate.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == employeeMeetingSchedule) {
+                iterator.remove();
+                size--;
+                break;
+            }
+        }
+        if (waitingMeetingSchedulesOfDate.isEmpty())
+            waitingMeetingSchedules.remove(meetingDate);
+    }
+}
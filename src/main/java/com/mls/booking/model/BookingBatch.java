@@ -0,0 +1,307 @@
+package com.mls.booking.model;
+
+import com.mls.booking.fileParser.BookingRecordConsumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+import static com.mls.booking.util.MinuteBitmap.WORDS_PER_DAY;
+import static com.mls.booking.util.MinuteBitmap.isOccupied;
+import static com.mls.booking.util.MinuteBitmap.occupy;
+import static com.mls.booking.util.RadixSort.sortIndexes;
+import static com.mls.booking.util.TimestampDecoder.MINUTES_PER_DAY;
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Columnar storage of a batch of booking requests. Every booking is a row stored in primitive arrays:
+ * the submission time in epoch seconds, the meeting date in epoch days, the meeting start and
+ * end in minutes of that day and the code of the employee id. A row takes 20 bytes instead of the
+ * ten or so objects of an EmployeeMeetingSchedule, so large batches can be sorted, checked for overlaps and
+ * printed without building any model object.
+ * The file readers only pass the bookings inside the office hours, so every meeting starts and ends on the same day.
+ * The employee ids are interned by an EmployeeDictionary, and only decoded when they are printed.
+ */
+public class BookingBatch implements BookingRecordConsumer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private OfficeHour officeHour;
+
+    private long[] submissionTimes = new long[INITIAL_CAPACITY];
+
+    private int[] meetingDays = new int[INITIAL_CAPACITY];
+
+    private short[] meetingStartMinutes = new short[INITIAL_CAPACITY];
+
+    private short[] meetingEndMinutes = new short[INITIAL_CAPACITY];
+
+    private int[] employeeCodes = new int[INITIAL_CAPACITY];
+
+    private final EmployeeDictionary employeeDictionary;
+
+    private int size;
+
+    public BookingBatch() {
+        this.employeeDictionary = new EmployeeDictionary();
+    }
+
+    public BookingBatch(@Nonnull final OfficeHour officeHour) {
+        this();
+        acceptOfficeHour(officeHour);
+    }
+
+    /**
+     * @param officeHour         office hours of the bookings
+     * @param employeeDictionary dictionary of the employee ids, it can be shared with other batches of the same thread
+     */
+    public BookingBatch(@Nonnull final OfficeHour officeHour, @Nonnull final EmployeeDictionary employeeDictionary) {
+        checkNull(employeeDictionary, "employeeDictionary");
+
+        this.employeeDictionary = employeeDictionary;
+        acceptOfficeHour(officeHour);
+    }
+
+    @Override
+    public void acceptOfficeHour(@Nonnull final OfficeHour officeHour) {
+        checkNull(officeHour, "officeHour");
+
+        this.officeHour = officeHour;
+    }
+
+    /**
+     * Same as add, the booking comes from a file reader so it is inside the office hours.
+     */
+    @Override
+    public void acceptBooking(final long submissionTime, @Nonnull final CharSequence employeeId,
+                              final long meetingStartTime, final int meetingDuration) {
+        checkNull(employeeId, "employeeId");
+
+        add(submissionTime, employeeId, meetingStartTime, meetingStartTime + meetingDuration * 60L);
+    }
+
+    /**
+     * Add a booking, its meeting should start and end on the same day.
+     *
+     * @param submissionTime   request submission time, in seconds since 1970-01-01 00:00:00
+     * @param employeeId       employee id, an example is "EMP001"
+     * @param meetingStartTime meeting start time, in minutes since 1970-01-01 00:00
+     * @param meetingEndTime   meeting end time, in minutes since 1970-01-01 00:00
+     * @return index of the added row
+     * @throws IllegalArgumentException the meeting does not fit in a single day
+     */
+    public int add(final long submissionTime, @Nonnull final CharSequence employeeId,
+                   final long meetingStartTime, final long meetingEndTime) {
+        checkNull(employeeId, "employeeId");
+
+        final long meetingDay = Math.floorDiv(meetingStartTime, MINUTES_PER_DAY);
+        final long meetingStartMinute = meetingStartTime - meetingDay * MINUTES_PER_DAY;
+        final long meetingEndMinute = meetingEndTime - meetingDay * MINUTES_PER_DAY;
+        if (meetingEndMinute <= meetingStartMinute || meetingEndMinute > MINUTES_PER_DAY)
+            throw new IllegalArgumentException("Invalid meeting minutes " + meetingStartMinute + " "
+                    + meetingEndMinute);
+
+        return addRow(submissionTime, (int) meetingDay, (int) meetingStartMinute, (int) meetingEndMinute,
+                employeeDictionary.encode(employeeId));
+    }
+
+    /**
+     * Add a row which has already been checked and encoded, an example is a row of a binary booking file.
+     *
+     * @param submissionTime     request submission time, in seconds since 1970-01-01 00:00:00
+     * @param meetingDay         meeting date, in days since 1970-01-01
+     * @param meetingStartMinute meeting start time, in minutes of the meeting date
+     * @param meetingEndMinute   meeting end time, in minutes of the meeting date
+     * @param employeeCode       code of the employee id in the employee dictionary of this batch
+     * @return index of the added row
+     */
+    public int addRow(final long submissionTime, final int meetingDay, final int meetingStartMinute,
+                      final int meetingEndMinute, final int employeeCode) {
+        if (meetingStartMinute < 0 || meetingEndMinute <= meetingStartMinute || meetingEndMinute > MINUTES_PER_DAY)
+            throw new IllegalArgumentException("Invalid meeting minutes " + meetingStartMinute + " " + meetingEndMinute);
+        if (employeeCode < 0 || employeeCode >= employeeDictionary.size())
+            throw new IllegalArgumentException("Unknown employee code " + employeeCode);
+
+        ensureCapacity(size + 1);
+        submissionTimes[size] = submissionTime;
+        meetingDays[size] = meetingDay;
+        meetingStartMinutes[size] = (short) meetingStartMinute;
+        meetingEndMinutes[size] = (short) meetingEndMinute;
+        employeeCodes[size] = employeeCode;
+        return size++;
+    }
+
+    /**
+     * Replay every row of this batch to a consumer, in the order they were added.
+     *
+     * @param consumer receives the office hours then every booking
+     */
+    public void forEach(@Nonnull final BookingRecordConsumer consumer) {
+        checkNull(consumer, "consumer");
+
+        for (int row = 0; row < size; row++) {
+            consumer.acceptBooking(submissionTimes[row], employeeDictionary.decode(employeeCodes[row]),
+                    getMeetingStartTime(row), (int) ((getMeetingEndTime(row) - getMeetingStartTime(row)) / 60));
+        }
+    }
+
+    /**
+     * Sort the rows by the submission time with a radix sort, rows submitted at the same time keep their order.
+     * The rows themselves are not moved.
+     *
+     * @return the indexes of the rows in submission order
+     */
+    @Nonnull
+    public int[] sortBySubmissionTime() {
+        return sortIndexes(submissionTimes, size);
+    }
+
+    /**
+     * Check the rows for overlapping meetings. The rows are processed in the given order, and a meeting which
+     * overlaps with a meeting already accepted is discarded. Two meetings such that one ends when the other
+     * starts are not overlapping.
+     * The meetings start and end on the same day, so every day of the rows has a bitmap of its minutes, and a
+     * meeting is checked and set with a few word masks. The accepted rows are then ordered with a radix sort.
+     *
+     * @param rows indexes of the rows in processing order, usually the submission order
+     * @return the indexes of the accepted rows, ordered by meeting start time
+     */
+    @Nonnull
+    public int[] resolveOverlaps(@Nonnull final int[] rows) {
+        checkNull(rows, "rows");
+
+        final int[] days = getDistinctMeetingDays(rows);
+        final long[] occupiedMinutes = new long[days.length * WORDS_PER_DAY];
+        final int[] acceptedRows = new int[rows.length];
+        // minutes since the first day of the rows, so that the keys of the radix sort are not negative
+        final long[] acceptedStartMinutes = new long[rows.length];
+        int numberOfAcceptedRows = 0;
+        for (final int row : rows) {
+            final int dayIndex = Arrays.binarySearch(days, meetingDays[row]);
+            final int fromMinute = meetingStartMinutes[row];
+            final int toMinute = meetingEndMinutes[row];
+            if (isOccupied(occupiedMinutes, dayIndex * WORDS_PER_DAY, fromMinute, toMinute))
+                continue;
+
+            occupy(occupiedMinutes, dayIndex * WORDS_PER_DAY, fromMinute, toMinute);
+            acceptedRows[numberOfAcceptedRows] = row;
+            acceptedStartMinutes[numberOfAcceptedRows] = (long) dayIndex * MINUTES_PER_DAY + fromMinute;
+            numberOfAcceptedRows++;
+        }
+
+        final int[] order = sortIndexes(acceptedStartMinutes, numberOfAcceptedRows);
+        final int[] accepted = new int[numberOfAcceptedRows];
+        for (int index = 0; index < numberOfAcceptedRows; index++) {
+            accepted[index] = acceptedRows[order[index]];
+        }
+        return accepted;
+    }
+
+    @Nullable
+    public OfficeHour getOfficeHour() {
+        return this.officeHour;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public long getSubmissionTime(final int row) {
+        checkRow(row);
+        return this.submissionTimes[row];
+    }
+
+    /**
+     * @return meeting date, in days since 1970-01-01
+     */
+    public int getMeetingDay(final int row) {
+        checkRow(row);
+        return this.meetingDays[row];
+    }
+
+    /**
+     * @return meeting start time, in minutes since 1970-01-01 00:00
+     */
+    public long getMeetingStartTime(final int row) {
+        checkRow(row);
+        return (long) this.meetingDays[row] * MINUTES_PER_DAY + this.meetingStartMinutes[row];
+    }
+
+    /**
+     * @return meeting end time, in minutes since 1970-01-01 00:00
+     */
+    public long getMeetingEndTime(final int row) {
+        checkRow(row);
+        return (long) this.meetingDays[row] * MINUTES_PER_DAY + this.meetingEndMinutes[row];
+    }
+
+    public int getMeetingStartMinute(final int row) {
+        checkRow(row);
+        return this.meetingStartMinutes[row];
+    }
+
+    public int getMeetingEndMinute(final int row) {
+        checkRow(row);
+        return this.meetingEndMinutes[row];
+    }
+
+    /**
+     * @return code of the employee id in the employee dictionary of this batch
+     */
+    public int getEmployeeCode(final int row) {
+        checkRow(row);
+        return this.employeeCodes[row];
+    }
+
+    @Nonnull
+    public String getEmployeeId(final int row) {
+        checkRow(row);
+        return this.employeeDictionary.decode(this.employeeCodes[row]);
+    }
+
+    @Nonnull
+    public EmployeeDictionary getEmployeeDictionary() {
+        return this.employeeDictionary;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= submissionTimes.length)
+            return;
+
+        final int newCapacity = Math.max(capacity, submissionTimes.length + (submissionTimes.length >> 1));
+        submissionTimes = Arrays.copyOf(submissionTimes, newCapacity);
+        meetingDays = Arrays.copyOf(meetingDays, newCapacity);
+        meetingStartMinutes = Arrays.copyOf(meetingStartMinutes, newCapacity);
+        meetingEndMinutes = Arrays.copyOf(meetingEndMinutes, newCapacity);
+        employeeCodes = Arrays.copyOf(employeeCodes, newCapacity);
+    }
+
+    private void checkRow(final int row) {
+        if (row < 0 || row >= size)
+            throw new IndexOutOfBoundsException("Row " + row + " does not exist, batch has " + size + " rows");
+    }
+
+    /**
+     * @return the meetingDays of the rows, sorted and without duplicates
+     */
+    @Nonnull
+    private int[] getDistinctMeetingDays(@Nonnull final int[] rows) {
+        final int[] days = new int[rows.length];
+        for (int index = 0; index < rows.length; index++) {
+            checkRow(rows[index]);
+            days[index] = meetingDays[rows[index]];
+        }
+        Arrays.sort(days);
+
+        int numberOfDays = 0;
+        for (final int day : days) {
+            if (numberOfDays == 0 || days[numberOfDays - 1] != day)
+                days[numberOfDays++] = day;
+        }
+        return Arrays.copyOf(days, numberOfDays);
+    }
+}
@@ -0,0 +1,144 @@
+package com.mls.booking.model;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Interns employee ids into small integer codes. The codes are given in order of first appearance, starting at 0,
+ * and an id which is already known is found from its characters only, so the parser can encode the id of every
+ * booking straight from the line it reads without creating a String. A String is created once per distinct id,
+ * and the records only keep the code until the id is decoded for the output.
+ * The ids are not restricted to FileParserParams.EMPLOYEE_ID_FORMAT, any length and characters are supported.
+ * An instance is not thread safe.
+ */
+public class EmployeeDictionary {
+
+    /**
+     * code returned by getCode for an unknown employee id
+     */
+    public static final int UNKNOWN = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * open addressing hash table of code + 1, 0 is an empty slot
+     */
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    private String[] employeeIds = new String[INITIAL_CAPACITY];
+
+    private int[] hashes = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Get the code of an employee id, adding the id if it is not known yet.
+     *
+     * @param employeeId employee id, an example is "EMP001"
+     * @return code of the employee id
+     */
+    public int encode(@Nonnull final CharSequence employeeId) {
+        checkNull(employeeId, "employeeId");
+
+        final int hash = hash(employeeId);
+        final int slot = findSlot(employeeId, hash);
+        if (slots[slot] != 0)
+            return slots[slot] - 1;
+
+        if (size == employeeIds.length) {
+            employeeIds = Arrays.copyOf(employeeIds, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        employeeIds[size] = employeeId.toString();
+        hashes[size] = hash;
+        slots[slot] = ++size;
+
+        // keep the table at most half full, so that the probe sequences stay short
+        if (size * 2 > slots.length)
+            rehash(slots.length * 2);
+        return size - 1;
+    }
+
+    /**
+     * Get the code of an employee id without adding it.
+     *
+     * @param employeeId employee id, an example is "EMP001"
+     * @return code of the employee id, or UNKNOWN if it has never been encoded
+     */
+    public int getCode(@Nonnull final CharSequence employeeId) {
+        checkNull(employeeId, "employeeId");
+
+        return slots[findSlot(employeeId, hash(employeeId))] - 1;
+    }
+
+    /**
+     * @param code code given by encode
+     * @return the employee id of the code
+     */
+    @Nonnull
+    public String decode(final int code) {
+        if (code < 0 || code >= size)
+            throw new IndexOutOfBoundsException("Employee code " + code + " does not exist, dictionary has "
+                    + size + " employees");
+        return employeeIds[code];
+    }
+
+    /**
+     * @return number of distinct employee ids
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Same hash as String.hashCode, computed on the characters of any CharSequence.
+     */
+    private static int hash(@Nonnull final CharSequence employeeId) {
+        int hash = 0;
+        for (int index = 0; index < employeeId.length(); index++) {
+            hash = 31 * hash + employeeId.charAt(index);
+        }
+        return hash;
+    }
+
+    /**
+     * Spread the bits of the hash, the ids usually differ by their last characters only.
+     */
+    private static int mix(final int hash) {
+        final int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    /**
+     * @return the slot of the employee id, or the empty slot where it should be added
+     */
+    private int findSlot(@Nonnull final CharSequence employeeId, final int hash) {
+        final int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (slots[slot] != 0) {
+            final int code = slots[slot] - 1;
+            if (hashes[code] == hash && employeeIds[code].contentEquals(employeeId))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(final int capacity) {
+        slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = mix(hashes[code]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = code + 1;
+        }
+    }
+}
@@ -61,6 +61,12 @@ public class EmployeeMeetingSchedule {
                 (submissionTime, FileParserParams.SIMPLE_DATE_FORMAT_HHMMSS);
     }
 
+    public void setSubmissionTime(@Nonnull final LocalDateTime submissionTime) {
+        checkNull(submissionTime, "submissionTime");
+
+        this.submissionTime = submissionTime;
+    }
+
     @Nonnull
     public Meeting getMeeting() {
         return this.meeting;
@@ -27,10 +27,15 @@ public class Meeting {
         this.setMeetingStartDate(convertStringToLocalDate(meetingStartDate, FileParserParams.SIMPLE_DATE_FORMAT));
         this.setMeetingStartTime(convertStringToLocalDateTimeFormat(meetingStartTime,
                 FileParserParams.SIMPLE_DATE_FORMAT_HHMM));
-        this.setMeetingEndTime(convertStringToLocalDateTimeFormat(meetingStartTime,
-                FileParserParams.SIMPLE_DATE_FORMAT_HHMM)
-                .plusHours(Integer.parseInt(meetingDuration)));
         this.setMeetingDuration(Integer.parseInt(meetingDuration));
+        this.setMeetingEndTime(this.meetingStartTime.plusHours(this.meetingDuration));
+    }
+
+    public Meeting(final LocalDateTime meetingStartTime, final int meetingDuration) {
+        this.setMeetingStartTime(meetingStartTime);
+        this.setMeetingStartDate(meetingStartTime.toLocalDate());
+        this.setMeetingDuration(meetingDuration);
+        this.setMeetingEndTime(meetingStartTime.plusHours(meetingDuration));
     }
 
     @Nonnull
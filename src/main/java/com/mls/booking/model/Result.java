@@ -8,12 +8,22 @@ public class Result {
 
     private String meetingEndTime;
 
+    /**
+     * number of the room, null when the meetings are scheduled for a single room
+     */
+    private Integer meetingRoom;
+
     public Result(String employeeId, String meetingStartTime, String meetingEndTime) {
         this.setEmployeeId(employeeId);
         this.meetingStartTime = meetingStartTime;
         this.meetingEndTime = meetingEndTime;
     }
 
+    public Result(String employeeId, String meetingStartTime, String meetingEndTime, Integer meetingRoom) {
+        this(employeeId, meetingStartTime, meetingEndTime);
+        this.meetingRoom = meetingRoom;
+    }
+
     public String getEmployeeId() {
         return this.employeeId;
     }
@@ -38,6 +48,14 @@ public class Result {
         this.meetingEndTime = meetingEndTime;
     }
 
+    public Integer getMeetingRoom() {
+        return this.meetingRoom;
+    }
+
+    public void setMeetingRoom(Integer meetingRoom) {
+        this.meetingRoom = meetingRoom;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -47,7 +65,8 @@ public class Result {
 
         if (!employeeId.equals(result.employeeId)) return false;
         if (!meetingStartTime.equals(result.meetingStartTime)) return false;
-        return meetingEndTime.equals(result.meetingEndTime);
+        if (!meetingEndTime.equals(result.meetingEndTime)) return false;
+        return meetingRoom != null ? meetingRoom.equals(result.meetingRoom) : result.meetingRoom == null;
 
     }
 
@@ -56,11 +75,13 @@ public class Result {
         int result = employeeId.hashCode();
         result = 31 * result + meetingStartTime.hashCode();
         result = 31 * result + meetingEndTime.hashCode();
+        result = 31 * result + (meetingRoom != null ? meetingRoom.hashCode() : 0);
         return result;
     }
 
     @Override
     public String toString() {
-        return getMeetingStartTime() + " " + getMeetingEndTime() + " " + getEmployeeId();
+        final String result = getMeetingStartTime() + " " + getMeetingEndTime() + " " + getEmployeeId();
+        return meetingRoom == null ? result : result + " ROOM" + meetingRoom;
     }
 }
@@ -2,6 +2,7 @@ package com.mls.booking.util;
 
 import com.mls.booking.errors.InvalidFileFormatException;
 import com.mls.booking.fileParser.FileParserParams;
+import com.mls.booking.fileParser.LineTokenizer;
 import com.mls.booking.model.EmployeeMeetingSchedule;
 import com.mls.booking.model.Meeting;
 import com.mls.booking.model.OfficeHour;
@@ -22,7 +23,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static com.mls.booking.fileParser.FileParserParams.BINARY_FILE_EXTENSION;
 import static com.mls.booking.fileParser.FileParserParams.INPUT_FILE_EXTENSION;
+import static com.mls.booking.util.TimestampDecoder.*;
 import static com.mls.booking.util.Validator.checkNull;
 
 public class Helpers {
@@ -76,10 +79,11 @@ public class Helpers {
         checkNull(file, "file");
 
         final List<String> inputs = new ArrayList<String>();
-        final BufferedReader reader = new BufferedReader(new FileReader(file.getPath()));
-        String line = "";
-        while (Boolean.FALSE.equals(isStringEmpty(line = reader.readLine()))) {
-            inputs.add(line);
+        try (final BufferedReader reader = new BufferedReader(new FileReader(file.getPath()))) {
+            String line = "";
+            while (Boolean.FALSE.equals(isStringEmpty(line = reader.readLine()))) {
+                inputs.add(line);
+            }
         }
 
         return isListEmpty(inputs) ? Collections.<String>emptyList() : inputs;
@@ -107,6 +111,7 @@ public class Helpers {
     /** LocalDateTime utis */
     /**
      * Convert a string to LocalDateTime format.
+     * The fixed width formats of the input file are decoded by the TimestampDecoder, without any formatter.
      *
      * @param time           input string to be converted.
      * @param dateTimeFormat the specified format, an example is "yyyy-MM-dd HH:mm".
@@ -118,6 +123,11 @@ public class Helpers {
         checkNull(time, "time");
         checkNull(dateTimeFormat, "dateTimeFormat");
 
+        if (FileParserParams.SIMPLE_DATE_FORMAT_HHMMSS.equals(dateTimeFormat))
+            return epochSecondToLocalDateTime(checkDecoded(decodeEpochSecond(time), time, dateTimeFormat));
+        if (FileParserParams.SIMPLE_DATE_FORMAT_HHMM.equals(dateTimeFormat))
+            return epochMinuteToLocalDateTime(checkDecoded(decodeEpochMinute(time), time, dateTimeFormat));
+
         final DateTimeFormatter dateTimeFormatter = DateTimeFormat.forPattern(dateTimeFormat);
 
         return LocalDateTime.parse(time, dateTimeFormatter);
@@ -136,11 +146,28 @@ public class Helpers {
         checkNull(time, "time");
         checkNull(dateTimeFormat, "dateTimeFormat");
 
+        if (FileParserParams.SIMPLE_DATE_FORMAT.equals(dateTimeFormat))
+            return toLocalDate(checkDecoded(decodeEpochDay(time), time, dateTimeFormat));
+
         final DateTimeFormatter dateTimeFormatter = DateTimeFormat.forPattern(dateTimeFormat);
 
         return LocalDate.parse(time, dateTimeFormatter);
     }
 
+    /**
+     * Throw the same exception as joda parsing when a value could not be decoded.
+     *
+     * @param decoded        value returned by the TimestampDecoder
+     * @param time           decoded string
+     * @param dateTimeFormat format of the decoded string
+     * @return the decoded value
+     */
+    private static long checkDecoded(final long decoded, @Nonnull final String time, @Nonnull final String dateTimeFormat) {
+        if (decoded == TimestampDecoder.INVALID)
+            throw new IllegalArgumentException("Invalid format: \"" + time + "\" is not in the format " + dateTimeFormat);
+        return decoded;
+    }
+
     public static boolean isGreaterThanOrEqual(@Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
         checkNull(startTime, "startTime");
         checkNull(endTime, "endTime");
@@ -184,6 +211,17 @@ public class Helpers {
             throw new InvalidFileFormatException("Input file should be a text file");
     }
 
+    /**
+     * Check if the file is a binary booking file written by the BookingFileConverter, from its extension.
+     *
+     * @param fileName file name to be checked
+     * @return true | false
+     */
+    public static boolean ifFileIsBinary(@Nonnull final String fileName) {
+        checkNull(fileName, "fileName");
+
+        return FilenameUtils.isExtension(fileName.toLowerCase(), BINARY_FILE_EXTENSION.toLowerCase());
+    }
 
     /** Meeting Schedule Interval Tree utils*/
 
@@ -235,7 +273,8 @@ public class Helpers {
     }
 
     /**
-     * sort the input list by the submission time.
+     * sort the input list by the submission time. The submission times are turned into epoch millisecond keys
+     * and sorted by the RadixSort, so no submission time is compared, and the sort is stable as before.
      *
      * @param employeeMeetingSchedules list to be sorted
      * @return sorted list
@@ -245,8 +284,17 @@ public class Helpers {
             @Nonnull final List<EmployeeMeetingSchedule> employeeMeetingSchedules) {
         checkNull(employeeMeetingSchedules, "employeeMeetingSchedules");
 
-        Collections.sort(employeeMeetingSchedules, (submissionTime1, submissionTime2)
-                -> submissionTime1.getSubmissionTime().compareTo(submissionTime2.getSubmissionTime()));
+        final int size = employeeMeetingSchedules.size();
+        final long[] submissionTimes = new long[size];
+        final EmployeeMeetingSchedule[] unsorted = employeeMeetingSchedules.toArray(new EmployeeMeetingSchedule[size]);
+        for (int index = 0; index < size; index++) {
+            submissionTimes[index] = toEpochMilli(unsorted[index].getSubmissionTime());
+        }
+
+        final int[] order = RadixSort.sortIndexes(submissionTimes, size);
+        for (int index = 0; index < size; index++) {
+            employeeMeetingSchedules.set(index, unsorted[order[index]]);
+        }
         return employeeMeetingSchedules;
     }
 
@@ -260,9 +308,21 @@ public class Helpers {
     public static OfficeHour getOfficeHour(@Nonnull final String input) {
         checkNull(input, "input");
 
-        final String[] officeHourString = input.split(FileParserParams.SPLIT_PATTERN);
-        final String officeStartTime = trimWhiteSpaceOfString(officeHourString[0]);
-        final String officeEndTime = trimWhiteSpaceOfString(officeHourString[1]);
+        return getOfficeHour(new LineTokenizer(FileParserParams.MAX_NUMBER_OF_PARTS).reset(input));
+    }
+
+    /**
+     * build the OfficeHour com.mls.booking.model from an already tokenized line.
+     *
+     * @param tokens tokenized line to be converted to the OfficeHour object
+     * @return OfficeHour
+     */
+    @Nonnull
+    public static OfficeHour getOfficeHour(@Nonnull final LineTokenizer tokens) {
+        checkNull(tokens, "tokens");
+
+        final String officeStartTime = tokens.getFieldAsString(0);
+        final String officeEndTime = tokens.getFieldAsString(1);
 
         return new OfficeHour(officeStartTime, officeEndTime);
     }
@@ -277,12 +337,24 @@ public class Helpers {
     public static Meeting getMeeting(@Nonnull final String input) {
         checkNull(input, "input");
 
-        final String[] meetingString = input.split(FileParserParams.SPLIT_PATTERN);
-        final String meetingStartDate = trimWhiteSpaceOfString(meetingString[0]);
-        final String meetingStartTime = trimWhiteSpaceOfString(meetingString[1]);
-        final String meetingDuration = trimWhiteSpaceOfString(meetingString[2]);
+        return getMeeting(new LineTokenizer(FileParserParams.MAX_NUMBER_OF_PARTS).reset(input));
+    }
 
-        return new Meeting(meetingStartDate, getTimeFormat(meetingStartDate, meetingStartTime), meetingDuration);
+    /**
+     * build the Meeting com.mls.booking.model from an already tokenized line.
+     *
+     * @param tokens tokenized line to be converted to the Meeting object
+     * @return Meeting
+     */
+    @Nonnull
+    public static Meeting getMeeting(@Nonnull final LineTokenizer tokens) {
+        checkNull(tokens, "tokens");
+
+        final long meetingStartTime = decodeEpochMinute(tokens.getField(0), tokens.getField(1));
+        if (meetingStartTime == TimestampDecoder.INVALID)
+            throw new IllegalArgumentException("Invalid meeting start time " + tokens.getLine());
+
+        return new Meeting(epochMinuteToLocalDateTime(meetingStartTime), parseDuration(tokens.getField(2)));
     }
 
     /**
@@ -295,26 +367,93 @@ public class Helpers {
         checkNull(input, "input");
         checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
 
-        final String[] meetingString = input.split(FileParserParams.SPLIT_PATTERN);
+        getEmployeeMeetingSchedule(new LineTokenizer(FileParserParams.MAX_NUMBER_OF_PARTS).reset(input),
+                employeeMeetingSchedule);
+    }
 
-        final String submissionDate = trimWhiteSpaceOfString(meetingString[0]);
-        final String submissionTime = trimWhiteSpaceOfString(meetingString[1]);
-        final String employeeId = trimWhiteSpaceOfString(meetingString[2]);
+    /**
+     * build the EmployeeMeetingSchedule com.mls.booking.model from an already tokenized line.
+     *
+     * @param tokens tokenized line to be converted to the EmployeeMeetingSchedule object
+     */
+    public static void getEmployeeMeetingSchedule(@Nonnull final LineTokenizer tokens,
+                                                  @Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
+        checkNull(tokens, "tokens");
+        checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
 
-        if (getTimeFormat(submissionDate, submissionTime) != null) {
-            employeeMeetingSchedule.setSubmissionTime(getTimeFormat(submissionDate, submissionTime));
-        } else {
-            LOGGER.fatal("getTimeFormat() is null");
-            throw new NullPointerException("getTimeFormat() is null");
+        final long submissionTime = decodeEpochSecond(tokens.getField(0), tokens.getField(1));
+        if (submissionTime == TimestampDecoder.INVALID) {
+            LOGGER.fatal("Invalid submission time " + tokens.getLine());
+            throw new IllegalArgumentException("Invalid submission time " + tokens.getLine());
         }
 
-        employeeMeetingSchedule.setEmployeeId(employeeId);
+        employeeMeetingSchedule.setSubmissionTime(epochSecondToLocalDateTime(submissionTime));
+        employeeMeetingSchedule.setEmployeeId(tokens.getFieldAsString(2));
+    }
+
+    /**
+     * Parse a meeting duration in hours, an example is "2".
+     *
+     * @param duration duration to be parsed, only made of digits
+     * @return the duration
+     */
+    public static int parseDuration(@Nonnull final CharSequence duration) {
+        checkNull(duration, "duration");
+
+        if (duration.length() == 0)
+            throw new NumberFormatException("Invalid meeting duration " + duration);
+
+        int value = 0;
+        for (int index = 0; index < duration.length(); index++) {
+            final int digit = duration.charAt(index) - '0';
+            if (digit < 0 || digit > 9 || value > (Integer.MAX_VALUE - digit) / 10)
+                throw new NumberFormatException("Invalid meeting duration " + duration);
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Convert an office time in the 24 hour clock format HHmm into the number of minutes since midnight.
+     *
+     * @param officeTime office time, an example is "1730"
+     * @return minute of day, an example is 1050
+     */
+    public static int getOfficeMinuteOfDay(@Nonnull final String officeTime) {
+        checkNull(officeTime, "officeTime");
+
+        if (officeTime.length() != 4)
+            throw new IllegalArgumentException("Invalid office time " + officeTime);
+        return parseDuration(officeTime.substring(0, 2)) * 60 + parseDuration(officeTime.substring(2, 4));
+    }
+
+    /**
+     * Same check as validateMeetingTimeSchedule, for times in minutes. The office hours are taken on the date of
+     * the meeting start time.
+     *
+     * @param meetingStartTime  meeting start time, in minutes since 1970-01-01 00:00
+     * @param meetingEndTime    meeting end time, in minutes since 1970-01-01 00:00
+     * @param officeStartMinute office start time, in minutes since midnight
+     * @param officeEndMinute   office end time, in minutes since midnight
+     * @return true | false
+     */
+    public static boolean isInsideOfficeHours(final long meetingStartTime, final long meetingEndTime,
+                                              final int officeStartMinute, final int officeEndMinute) {
+        final long meetingDayStart = Math.floorDiv(meetingStartTime, MINUTES_PER_DAY) * MINUTES_PER_DAY;
+        final long officeStartTime = meetingDayStart + officeStartMinute;
+        final long officeEndTime = meetingDayStart + officeEndMinute;
+
+        return officeStartTime <= meetingStartTime
+                && officeEndTime > meetingStartTime
+                && officeEndTime >= meetingEndTime
+                && officeStartTime < meetingEndTime;
     }
 
     /**
      * Validate the meeting meetingStartTime and meetingEndTime time.
      * Return false if meeting meetingStartTime time is before the office meetingStartTime time
      * and meeting meetingEndTime time is before the office meetingEndTime time.
+     * The times are compared in milliseconds, the office hours are not formatted and parsed again for every meeting.
      *
      * @param employeeMeetingSchedule meeting schedule timings including meetingStartTime and meetingEndTime time
      * @return true | false
@@ -322,21 +461,18 @@ public class Helpers {
     public static boolean validateMeetingTimeSchedule(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule) {
         checkNull(employeeMeetingSchedule, "employeeMeetingSchedule");
 
-        final LocalDateTime meetingStartTime = employeeMeetingSchedule.getMeeting().getMeetingStartTime();
-        final LocalDateTime meetingEndTime = employeeMeetingSchedule.getMeeting().getMeetingEndTime();
-
-        final String officeStart = getTimeFormat(employeeMeetingSchedule.getMeeting().getMeetingStartDate().toString(),
-                employeeMeetingSchedule.getOfficeHour().getOfficeStartTime());
-        final String officeEnd = getTimeFormat(employeeMeetingSchedule.getMeeting().getMeetingStartDate().toString(),
-                employeeMeetingSchedule.getOfficeHour().getOfficeEndTime());
+        final long meetingStartTime = toEpochMilli(employeeMeetingSchedule.getMeeting().getMeetingStartTime());
+        final long meetingEndTime = toEpochMilli(employeeMeetingSchedule.getMeeting().getMeetingEndTime());
 
-        final DateTimeFormatter dateTimeFormatter = DateTimeFormat.forPattern("yyyy-MM-dd HHmm");
-        final LocalDateTime officeStartTime = LocalDateTime.parse(officeStart, dateTimeFormatter);
-        final LocalDateTime officeEndTime = LocalDateTime.parse(officeEnd, dateTimeFormatter);
+        final long meetingDayStart = Math.floorDiv(meetingStartTime, MILLIS_PER_DAY) * MILLIS_PER_DAY;
+        final long officeStartTime = meetingDayStart
+                + getOfficeMinuteOfDay(employeeMeetingSchedule.getOfficeHour().getOfficeStartTime()) * MILLIS_PER_MINUTE;
+        final long officeEndTime = meetingDayStart
+                + getOfficeMinuteOfDay(employeeMeetingSchedule.getOfficeHour().getOfficeEndTime()) * MILLIS_PER_MINUTE;
 
-        return isLessThanOrEqual(officeStartTime, meetingStartTime)
-                && isGreaterThan(officeEndTime, meetingStartTime)
-                && isGreaterThanOrEqual(officeEndTime, meetingEndTime)
-                && isLessThan(officeStartTime, meetingEndTime);
+        return officeStartTime <= meetingStartTime
+                && officeEndTime > meetingStartTime
+                && officeEndTime >= meetingEndTime
+                && officeStartTime < meetingEndTime;
     }
 }
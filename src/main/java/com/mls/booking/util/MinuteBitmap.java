@@ -0,0 +1,69 @@
+package com.mls.booking.util;
+
+import javax.annotation.Nonnull;
+
+import static com.mls.booking.util.TimestampDecoder.MINUTES_PER_DAY;
+
+/**
+ * Bit arithmetic of the occupied minutes of a day. A day is WORDS_PER_DAY longs starting at an offset of an array,
+ * minute m of the day being the bit m % 64 of the word m / 64, so a meeting is checked or set with a few word masks
+ * instead of one operation per minute. The minutes are given as fromMinute..toMinute, toMinute excluded, and
+ * should be inside the day.
+ */
+public class MinuteBitmap {
+
+    /**
+     * number of longs holding the minutes of a day
+     */
+    public static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    private MinuteBitmap() {
+    }
+
+    /**
+     * @param minutes    occupied minutes of the days
+     * @param offset     index of the first word of the day
+     * @param fromMinute first minute of the day to be checked
+     * @param toMinute   last minute of the day to be checked, excluded
+     * @return true if one of the minutes is occupied
+     */
+    public static boolean isOccupied(@Nonnull final long[] minutes, final int offset, final int fromMinute,
+                                     final int toMinute) {
+        for (int word = fromMinute >>> 6; word <= (toMinute - 1) >>> 6; word++) {
+            if ((minutes[offset + word] & mask(word, fromMinute, toMinute)) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Set the minutes fromMinute..toMinute of the day starting at offset.
+     */
+    public static void occupy(@Nonnull final long[] minutes, final int offset, final int fromMinute,
+                              final int toMinute) {
+        for (int word = fromMinute >>> 6; word <= (toMinute - 1) >>> 6; word++) {
+            minutes[offset + word] |= mask(word, fromMinute, toMinute);
+        }
+    }
+
+    /**
+     * Clear the minutes fromMinute..toMinute of the day starting at offset.
+     */
+    public static void release(@Nonnull final long[] minutes, final int offset, final int fromMinute,
+                               final int toMinute) {
+        for (int word = fromMinute >>> 6; word <= (toMinute - 1) >>> 6; word++) {
+            minutes[offset + word] &= ~mask(word, fromMinute, toMinute);
+        }
+    }
+
+    /**
+     * @return the bits of a word which are inside fromMinute..toMinute
+     */
+    public static long mask(final int word, final int fromMinute, final int toMinute) {
+        final int wordStart = word << 6;
+        final int from = Math.max(fromMinute, wordStart) - wordStart;
+        final int to = Math.min(toMinute, wordStart + Long.SIZE) - wordStart;
+        final long upTo = to == Long.SIZE ? -1L : (1L << to) - 1;
+        return upTo & (-1L << from);
+    }
+}
@@ -0,0 +1,159 @@
+package com.mls.booking.util;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Least significant digit radix sort of long keys, used to order the bookings by submission time without
+ * comparing any object. The sort is stable and takes a linear time: every pass distributes the keys by one digit
+ * of RADIX_BITS bits, and only the digits which differ between the smallest and the largest key are sorted.
+ * When the keys span less than 2^32, the key and the index of every row are packed into a single long, so a pass
+ * moves one array instead of two.
+ */
+public class RadixSort {
+
+    /**
+     * number of bits sorted by a pass, 2^11 counters fit in the L1 cache
+     */
+    private static final int RADIX_BITS = 11;
+
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private static final int RADIX_MASK = RADIX - 1;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Sort the rows by their keys. Rows with the same key keep their order.
+     *
+     * @param keys one key per row, an example is the submission time of every booking
+     * @param size number of rows, the first size keys are sorted
+     * @return the indexes of the rows in key order
+     */
+    @Nonnull
+    public static int[] sortIndexes(@Nonnull final long[] keys, final int size) {
+        checkNull(keys, "keys");
+        if (size < 0 || size > keys.length)
+            throw new IllegalArgumentException("size should be between 0 and " + keys.length);
+
+        final int[] indexes = new int[size];
+        if (size == 0)
+            return indexes;
+
+        long minKey = Long.MAX_VALUE;
+        long maxKey = Long.MIN_VALUE;
+        for (int index = 0; index < size; index++) {
+            minKey = Math.min(minKey, keys[index]);
+            maxKey = Math.max(maxKey, keys[index]);
+        }
+        // the range is unsigned, it may not fit in a signed long
+        final long range = maxKey - minKey;
+        final int keyBits = Long.SIZE - Long.numberOfLeadingZeros(range);
+
+        if (keyBits <= Integer.SIZE) {
+            // the index is in the low 32 bits, and the indexes are already in order so only the key bits are sorted
+            long[] packed = new long[size];
+            for (int index = 0; index < size; index++) {
+                packed[index] = ((keys[index] - minKey) << Integer.SIZE) | index;
+            }
+            packed = sortPacked(packed, Integer.SIZE, Integer.SIZE + keyBits);
+            for (int index = 0; index < size; index++) {
+                indexes[index] = (int) packed[index];
+            }
+            return indexes;
+        }
+
+        final long[] shiftedKeys = new long[size];
+        for (int index = 0; index < size; index++) {
+            shiftedKeys[index] = keys[index] - minKey;
+            indexes[index] = index;
+        }
+        return sortPairs(shiftedKeys, indexes, keyBits);
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Sort unsigned keys by their bits from fromBit to toBit. The keys are moved to a buffer at every pass,
+     * so the sorted keys may be in the buffer, they are returned.
+     */
+    @Nonnull
+    private static long[] sortPacked(@Nonnull long[] keys, final int fromBit, final int toBit) {
+        final int size = keys.length;
+        long[] keyBuffer = new long[size];
+        final int[] offsets = new int[RADIX];
+
+        for (int shift = fromBit; shift < toBit; shift += RADIX_BITS) {
+            if (Boolean.FALSE.equals(computeOffsets(keys, shift, offsets)))
+                continue;
+
+            for (int index = 0; index < size; index++) {
+                keyBuffer[offsets[(int) (keys[index] >>> shift) & RADIX_MASK]++] = keys[index];
+            }
+
+            final long[] sortedKeys = keyBuffer;
+            keyBuffer = keys;
+            keys = sortedKeys;
+        }
+        return keys;
+    }
+
+    /**
+     * Sort unsigned keys by their bits from 0 to toBit, the indexes follow their keys.
+     *
+     * @return the sorted indexes
+     */
+    @Nonnull
+    private static int[] sortPairs(@Nonnull long[] keys, @Nonnull int[] indexes, final int toBit) {
+        final int size = keys.length;
+        long[] keyBuffer = new long[size];
+        int[] indexBuffer = new int[size];
+        final int[] offsets = new int[RADIX];
+
+        for (int shift = 0; shift < toBit; shift += RADIX_BITS) {
+            if (Boolean.FALSE.equals(computeOffsets(keys, shift, offsets)))
+                continue;
+
+            for (int index = 0; index < size; index++) {
+                final int position = offsets[(int) (keys[index] >>> shift) & RADIX_MASK]++;
+                keyBuffer[position] = keys[index];
+                indexBuffer[position] = indexes[index];
+            }
+
+            final long[] sortedKeys = keyBuffer;
+            keyBuffer = keys;
+            keys = sortedKeys;
+            final int[] sortedIndexes = indexBuffer;
+            indexBuffer = indexes;
+            indexes = sortedIndexes;
+        }
+        return indexes;
+    }
+
+    /**
+     * Count the keys by their digit at the given shift, and turn the counts into the first position of every digit.
+     *
+     * @return false if every key has the same digit, then the pass would not change the order
+     */
+    private static boolean computeOffsets(@Nonnull final long[] keys, final int shift, @Nonnull final int[] offsets) {
+        Arrays.fill(offsets, 0);
+        for (final long key : keys) {
+            offsets[(int) (key >>> shift) & RADIX_MASK]++;
+        }
+        if (offsets[(int) (keys[0] >>> shift) & RADIX_MASK] == keys.length)
+            return false;
+
+        int offset = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            final int count = offsets[digit];
+            offsets[digit] = offset;
+            offset += count;
+        }
+        return true;
+    }
+}
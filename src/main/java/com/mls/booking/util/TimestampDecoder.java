@@ -0,0 +1,266 @@
+package com.mls.booking.util;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+/**
+ * Decodes the fixed width date and time formats of the input file with digit arithmetic, without any formatter.
+ * The checks are as strict as the REGEX and the non lenient SimpleDateFormat used before: every digit must be
+ * present, the month must exist, the day must exist in that month (leap years included), the hour must be in
+ * 00-23 and the minutes and seconds in 00-59.
+ * Nothing is thrown when a value is not valid, the decode methods return INVALID instead.
+ * Dates are counted in the ISO (proleptic gregorian) calendar, the same as joda LocalDate.
+ */
+public class TimestampDecoder {
+
+    /**
+     * returned by the decode methods when the input is not valid
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * length of the date format yyyy-MM-dd, an example is "2015-08-17"
+     */
+    public static final int DATE_LENGTH = 10;
+
+    /**
+     * length of the time format HH:mm, an example is "09:00"
+     */
+    public static final int TIME_HHMM_LENGTH = 5;
+
+    /**
+     * length of the time format HH:mm:ss, an example is "10:17:06"
+     */
+    public static final int TIME_HHMMSS_LENGTH = 8;
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    public static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    public static final long MILLIS_PER_MINUTE = 60 * 1000L;
+
+    public static final long MILLIS_PER_DAY = SECONDS_PER_DAY * 1000L;
+
+    private TimestampDecoder() {
+    }
+
+    /**
+     * Decode a date in the format yyyy-MM-dd into the number of days since 1970-01-01.
+     *
+     * @param date date to be decoded
+     * @return epoch day | INVALID
+     */
+    public static long decodeEpochDay(@Nonnull final CharSequence date) {
+        checkNull(date, "date");
+
+        if (date.length() != DATE_LENGTH)
+            return INVALID;
+        return decodeEpochDay(date, 0);
+    }
+
+    /**
+     * Decode a time in the format HH:mm into the number of minutes since midnight.
+     *
+     * @param time time to be decoded
+     * @return minute of day | INVALID
+     */
+    public static long decodeMinuteOfDay(@Nonnull final CharSequence time) {
+        checkNull(time, "time");
+
+        if (time.length() != TIME_HHMM_LENGTH)
+            return INVALID;
+        return decodeMinuteOfDay(time, 0);
+    }
+
+    /**
+     * Decode a time in the format HH:mm:ss into the number of seconds since midnight.
+     *
+     * @param time time to be decoded
+     * @return second of day | INVALID
+     */
+    public static long decodeSecondOfDay(@Nonnull final CharSequence time) {
+        checkNull(time, "time");
+
+        if (time.length() != TIME_HHMMSS_LENGTH)
+            return INVALID;
+        final long minuteOfDay = decodeMinuteOfDay(time, 0);
+        if (minuteOfDay == INVALID || time.charAt(5) != ':')
+            return INVALID;
+        final int second = twoDigits(time, 6);
+        if (second < 0 || second > 59)
+            return INVALID;
+        return minuteOfDay * 60 + second;
+    }
+
+    /**
+     * Decode a date and a time in the format yyyy-MM-dd HH:mm:ss into the number of seconds since 1970-01-01 00:00:00.
+     *
+     * @param dateTime date time to be decoded, an example is "2015-08-17 10:17:06"
+     * @return epoch second | INVALID
+     */
+    public static long decodeEpochSecond(@Nonnull final CharSequence dateTime) {
+        checkNull(dateTime, "dateTime");
+
+        if (dateTime.length() != DATE_LENGTH + 1 + TIME_HHMMSS_LENGTH || dateTime.charAt(DATE_LENGTH) != ' ')
+            return INVALID;
+        return decodeEpochSecond(dateTime.subSequence(0, DATE_LENGTH),
+                dateTime.subSequence(DATE_LENGTH + 1, dateTime.length()));
+    }
+
+    /**
+     * Decode a date in the format yyyy-MM-dd and a time in the format HH:mm:ss into the number of seconds
+     * since 1970-01-01 00:00:00.
+     *
+     * @param date date to be decoded, an example is "2015-08-17"
+     * @param time time to be decoded, an example is "10:17:06"
+     * @return epoch second | INVALID
+     */
+    public static long decodeEpochSecond(@Nonnull final CharSequence date, @Nonnull final CharSequence time) {
+        final long epochDay = decodeEpochDay(date);
+        final long secondOfDay = decodeSecondOfDay(time);
+        if (epochDay == INVALID || secondOfDay == INVALID)
+            return INVALID;
+        return epochDay * SECONDS_PER_DAY + secondOfDay;
+    }
+
+    /**
+     * Decode a date and a time in the format yyyy-MM-dd HH:mm into the number of minutes since 1970-01-01 00:00.
+     *
+     * @param dateTime date time to be decoded, an example is "2015-08-21 09:00"
+     * @return epoch minute | INVALID
+     */
+    public static long decodeEpochMinute(@Nonnull final CharSequence dateTime) {
+        checkNull(dateTime, "dateTime");
+
+        if (dateTime.length() != DATE_LENGTH + 1 + TIME_HHMM_LENGTH || dateTime.charAt(DATE_LENGTH) != ' ')
+            return INVALID;
+        return decodeEpochMinute(dateTime.subSequence(0, DATE_LENGTH),
+                dateTime.subSequence(DATE_LENGTH + 1, dateTime.length()));
+    }
+
+    /**
+     * Decode a date in the format yyyy-MM-dd and a time in the format HH:mm into the number of minutes
+     * since 1970-01-01 00:00.
+     *
+     * @param date date to be decoded, an example is "2015-08-21"
+     * @param time time to be decoded, an example is "09:00"
+     * @return epoch minute | INVALID
+     */
+    public static long decodeEpochMinute(@Nonnull final CharSequence date, @Nonnull final CharSequence time) {
+        final long epochDay = decodeEpochDay(date);
+        final long minuteOfDay = decodeMinuteOfDay(time);
+        if (epochDay == INVALID || minuteOfDay == INVALID)
+            return INVALID;
+        return epochDay * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    /** Conversions to joda */
+
+    @Nonnull
+    public static LocalDate toLocalDate(final long epochDay) {
+        return new LocalDate(epochDay * SECONDS_PER_DAY * 1000L, DateTimeZone.UTC);
+    }
+
+    @Nonnull
+    public static LocalDateTime epochSecondToLocalDateTime(final long epochSecond) {
+        return new LocalDateTime(epochSecond * 1000L, DateTimeZone.UTC);
+    }
+
+    @Nonnull
+    public static LocalDateTime epochMinuteToLocalDateTime(final long epochMinute) {
+        return new LocalDateTime(epochMinute * 60 * 1000L, DateTimeZone.UTC);
+    }
+
+    /**
+     * Number of milliseconds from 1970-01-01 00:00:00.000 to the given date time, the inverse of the conversions
+     * above. It only reads the fields of the date time, no chronology is involved.
+     *
+     * @param localDateTime date time to be converted
+     * @return epoch millisecond
+     */
+    public static long toEpochMilli(@Nonnull final LocalDateTime localDateTime) {
+        checkNull(localDateTime, "localDateTime");
+
+        return toEpochDay(localDateTime.getYear(), localDateTime.getMonthOfYear(), localDateTime.getDayOfMonth())
+                * MILLIS_PER_DAY + localDateTime.getMillisOfDay();
+    }
+
+    /**
+     * Number of days from 1970-01-01 to the given date of the proleptic gregorian calendar.
+     *
+     * @param year  year
+     * @param month month, 1 to 12
+     * @param day   day of month, 1 to 31
+     * @return epoch day
+     */
+    public static long toEpochDay(final int year, final int month, final int day) {
+        // shift the year to start in march, so that the leap day is the last day of the year
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = (y >= 0 ? y : y - 399) / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * 146097 + dayOfEra - 719468;
+    }
+
+    public static boolean isLeapYear(final int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    public static int daysInMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private static long decodeEpochDay(@Nonnull final CharSequence date, final int offset) {
+        final int year1 = twoDigits(date, offset);
+        final int year2 = twoDigits(date, offset + 2);
+        final int month = twoDigits(date, offset + 5);
+        final int day = twoDigits(date, offset + 8);
+        if (year1 < 0 || year2 < 0 || month < 0 || day < 0
+                || date.charAt(offset + 4) != '-' || date.charAt(offset + 7) != '-')
+            return INVALID;
+
+        final int year = year1 * 100 + year2;
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month))
+            return INVALID;
+        return toEpochDay(year, month, day);
+    }
+
+    private static long decodeMinuteOfDay(@Nonnull final CharSequence time, final int offset) {
+        final int hour = twoDigits(time, offset);
+        final int minute = twoDigits(time, offset + 3);
+        if (hour < 0 || minute < 0 || time.charAt(offset + 2) != ':' || hour > 23 || minute > 59)
+            return INVALID;
+        return hour * 60 + minute;
+    }
+
+    /**
+     * @return the value of 2 digits, or -1 if any of them is not a digit
+     */
+    private static int twoDigits(@Nonnull final CharSequence input, final int offset) {
+        final int tens = input.charAt(offset) - '0';
+        final int units = input.charAt(offset + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9)
+            return -1;
+        return tens * 10 + units;
+    }
+}
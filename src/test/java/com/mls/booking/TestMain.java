@@ -0,0 +1,158 @@
+package com.mls.booking;
+
+import com.mls.booking.fileParser.InputMode;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class TestMain {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testMain_WhenSeveralRooms() throws Exception {
+        final String output = runMain("inputValid.txt", "STREAM", "ROOMS=2");
+
+        Assert.assertTrue(output.contains("09:00 11:00 EMP002 ROOM1"));
+        Assert.assertTrue(output.contains("09:00 11:00 EMP001 ROOM2"));
+        Assert.assertTrue(output.contains("16:00 17:00 EMP004 ROOM1"));
+    }
+
+    @Test
+    public void testMain_WhenSingleRoom() throws Exception {
+        final String output = runMain("inputValid.txt", "STREAM");
+
+        Assert.assertTrue(output.contains("09:00 11:00 EMP002"));
+        Assert.assertFalse(output.contains("EMP001"));
+        Assert.assertFalse(output.contains("ROOM"));
+    }
+
+    @Test
+    public void testMain_WhenNumberOfRoomsIsNotValid() throws Exception {
+        for (final String roomsOption : new String[]{"ROOMS=abc", "ROOMS=0", "ROOMS=-2", "ROOMS"}) {
+            try {
+                runMain("inputValid.txt", "STREAM", roomsOption);
+                Assert.fail(roomsOption + " should not be accepted");
+            } catch (final IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage().contains("ROOMS=<number>"));
+                Assert.assertTrue(e.getMessage().contains(roomsOption));
+            }
+        }
+    }
+
+    @Test
+    public void testMain_WhenSeveralRoomsAreSortedExternally() throws Exception {
+        final String output = runMain("inputValid.txt", "MAPPED", "EXTERNAL=1", "ROOMS=2");
+
+        Assert.assertTrue(output.contains("09:00 11:00 EMP002 ROOM1"));
+        Assert.assertTrue(output.contains("09:00 11:00 EMP001 ROOM2"));
+        Assert.assertTrue(output.contains("16:00 17:00 EMP004 ROOM1"));
+    }
+
+    @Test
+    public void testMain_WhenSeveralRoomsAreMerged() throws Exception {
+        final File first = newFile("first.txt", "0900 1730",
+                "2015-08-16 12:34:56 EMP002", "2015-08-21 09:00 2",
+                "2015-08-17 11:23:45 EMP004", "2015-08-22 16:00 1");
+        final File second = newFile("second.txt", "0900 1730",
+                "2015-08-16 09:28:23 EMP003", "2015-08-22 14:00 2",
+                "2015-08-17 10:17:06 EMP001", "2015-08-21 09:00 2");
+
+        final String output = runMain(first.getPath() + "," + second.getPath(), "MERGE", "ROOMS=2");
+
+        Assert.assertTrue(output.contains("09:00 11:00 EMP002 ROOM1"));
+        Assert.assertTrue(output.contains("09:00 11:00 EMP001 ROOM2"));
+        Assert.assertTrue(output.contains("16:00 17:00 EMP004 ROOM1"));
+    }
+
+    @Test
+    public void testMain_WhenSeveralRoomsAreGivenWithBatch() throws Exception {
+        for (final String option : new String[]{"BATCH", "CONVERT"}) {
+            final String[] args = "CONVERT".equals(option)
+                    ? new String[]{option, "ROOMS=2"} : new String[]{"STREAM", option, "ROOMS=2"};
+            try {
+                runMain("inputValid.txt", args);
+                Assert.fail("ROOMS=2 should not be accepted with " + option);
+            } catch (final IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage().contains("ROOMS=<number>"));
+                Assert.assertTrue(e.getMessage().contains(option));
+            }
+        }
+    }
+
+    @Test
+    public void testMain_WhenMemoryBudgetIsNotValid() throws Exception {
+        for (final String externalOption : new String[]{"EXTERNAL=abc", "EXTERNAL=0", "EXTERNAL=-1",
+                "EXTERNAL=99999999999999", "EXTERNAL="}) {
+            try {
+                runMain("inputValid.txt", "STREAM", externalOption);
+                Assert.fail(externalOption + " should not be accepted");
+            } catch (final IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage().contains("EXTERNAL=<megabytes>"));
+                Assert.assertTrue(e.getMessage().contains(externalOption));
+            }
+        }
+    }
+
+    @Test
+    public void testMain_WhenInputModeIsInLowerCase() throws Exception {
+        Assert.assertTrue(runMain("inputValid.txt", "mapped").contains("09:00 11:00 EMP002"));
+    }
+
+    @Test
+    public void testMain_WhenInputModeIsUnknown() throws Exception {
+        try {
+            runMain("inputValid.txt", "STRAEM");
+            Assert.fail("STRAEM should not be accepted");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("STRAEM"));
+            for (final InputMode inputMode : InputMode.values()) {
+                Assert.assertTrue(e.getMessage().contains(inputMode.name()));
+            }
+        }
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Run the application with the file name typed on the standard input.
+     *
+     * @return what has been printed to the standard output
+     */
+    @Nonnull
+    private static String runMain(@Nonnull final String fileName, @Nonnull final String... args) throws Exception {
+        final InputStream standardInput = System.in;
+        final PrintStream standardOutput = System.out;
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setIn(new ByteArrayInputStream((fileName + System.lineSeparator()).getBytes()));
+        System.setOut(new PrintStream(output, true));
+        try {
+            Main.main(args);
+        } finally {
+            System.setIn(standardInput);
+            System.setOut(standardOutput);
+        }
+        return output.toString();
+    }
+
+    @Nonnull
+    private File newFile(@Nonnull final String fileName, @Nonnull final String... lines) throws Exception {
+        final File file = temporaryFolder.newFile(fileName);
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mls.booking;
+
+import com.mls.booking.fileParser.InputMode;
+import com.mls.booking.meetingSchedule.BalancedMeetingScheduleIntervalModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static com.mls.booking.fileParser.FileParserParams.WIDE_EMPLOYEE_ID_FORMAT;
+
+public class TestMeetingScheduler {
+
+    @Test
+    public void testProcess_WhenWideEmployeeIds() throws Exception {
+        final String inputFileName = "inputWideEmployeeIds.txt";
+
+        for (final InputMode inputMode : InputMode.values()) {
+            final MeetingScheduler meetingScheduler =
+                    new MeetingScheduler(BalancedMeetingScheduleIntervalModel::new, 1, WIDE_EMPLOYEE_ID_FORMAT);
+            final String output = captureOutput(() -> meetingScheduler.process(inputFileName, inputMode));
+
+            Assert.assertTrue(output.contains("09:00 11:00 HR-000123"));
+            Assert.assertTrue(output.contains("11:00 13:00 EMP0012345"));
+            Assert.assertTrue(output.contains("14:00 16:00 EMP001"));
+        }
+    }
+
+    @Test
+    public void testProcess_WhenWideEmployeeIdsWithDefaultFormat() throws Exception {
+        final String inputFileName = "inputWideEmployeeIds.txt";
+
+        // the first booking request is not valid with the default format, so nothing is scheduled
+        final String output = captureOutput(() -> new MeetingScheduler().process(inputFileName, InputMode.STREAM));
+
+        Assert.assertFalse(output.contains("Meeting Schedule"));
+    }
+
+    @Test
+    public void testProcess_WhenSeveralRooms() throws Exception {
+        final String inputFileName = "inputValid.txt";
+
+        for (final InputMode inputMode : InputMode.values()) {
+            final MeetingScheduler meetingScheduler =
+                    new MeetingScheduler(BalancedMeetingScheduleIntervalModel::new, 2);
+            final String output = captureOutput(() -> meetingScheduler.process(inputFileName, inputMode));
+
+            // EMP001 overlaps EMP002, submitted first, so it gets the second room
+            Assert.assertTrue(output.contains(String.join(System.lineSeparator(), "2015-08-21",
+                    "09:00 11:00 EMP002 ROOM1", "09:00 11:00 EMP001 ROOM2", "2015-08-22",
+                    "14:00 16:00 EMP003 ROOM1", "16:00 17:00 EMP004 ROOM1")));
+        }
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private static String captureOutput(@Nonnull final OutputAction action) throws Exception {
+        final PrintStream standardOutput = System.out;
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true));
+        try {
+            action.run();
+        } finally {
+            System.setOut(standardOutput);
+        }
+        return output.toString();
+    }
+
+    private interface OutputAction {
+
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFileFormatException;
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.BookingBatch;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.OfficeHour;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+public class TestBookingFileConverter {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testBookingFileConverter_SameAsBookingFileReader()
+            throws IOException, InvalidFormatException, InvalidFileFormatException {
+        final String inputFileName = "inputValid.txt";
+        final File binaryFile = new File(temporaryFolder.getRoot(), "inputValid.bkb");
+
+        final BookingFileConverter bookingFileConverter = new BookingFileConverterImpl();
+        Assert.assertEquals(4, bookingFileConverter.convert(getFile(inputFileName), binaryFile));
+
+        final List<EmployeeMeetingSchedule> expected = new ArrayList<>();
+        new BookingFileReaderImpl().read(getFile(inputFileName), expected::add);
+
+        final List<EmployeeMeetingSchedule> actual = new ArrayList<>();
+        final OfficeHour officeHour = new BinaryBookingFileReaderImpl().read(binaryFile, actual::add);
+
+        Assert.assertEquals(new OfficeHour("0900", "1730"), officeHour);
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testBinaryBookingFileReader_LoadBatch()
+            throws IOException, InvalidFormatException, InvalidFileFormatException {
+        final String inputFileName = "inputValid.txt";
+        final File binaryFile = new File(temporaryFolder.getRoot(), "inputValid.bkb");
+        new BookingFileConverterImpl().convert(getFile(inputFileName), binaryFile);
+
+        final BookingBatch bookingBatch = new BinaryBookingFileReaderImpl().load(binaryFile);
+
+        Assert.assertEquals(4, bookingBatch.size());
+        Assert.assertEquals("EMP001", bookingBatch.getEmployeeId(0));
+        Assert.assertEquals(9 * 60, bookingBatch.getMeetingStartMinute(0));
+        Assert.assertEquals(11 * 60, bookingBatch.getMeetingEndMinute(0));
+    }
+
+    @Test
+    public void testBookingFileConverter_WhenInValidInputs() throws IOException, InvalidFileFormatException {
+        final String inputFileName = "inputInValid.txt";
+        final File binaryFile = new File(temporaryFolder.getRoot(), "inputInValid.bkb");
+
+        try {
+            new BookingFileConverterImpl().convert(getFile(inputFileName), binaryFile);
+            Assert.fail();
+        } catch (final InvalidFormatException e) {
+            Assert.assertFalse(binaryFile.exists());
+        }
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    public void testBinaryBookingFileReader_WhenTextFile() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputValid.txt";
+
+        new BinaryBookingFileReaderImpl().load(getFile(inputFileName));
+    }
+
+    /**
+     * Helpers method
+     */
+    @Nonnull
+    private File getFile(@Nonnull final String fileName) throws IOException {
+        checkNull(fileName, "fileName");
+
+        final ClassLoader classLoader = getClass().getClassLoader();
+        if (classLoader.getResource(fileName) == null)
+            throw new FileNotFoundException(fileName + " file not found.");
+
+        return new File(classLoader.getResource(fileName).getFile());
+    }
+}
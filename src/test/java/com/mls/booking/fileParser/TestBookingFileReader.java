@@ -0,0 +1,210 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.OfficeHour;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mls.booking.util.Validator.checkNull;
+
+public class TestBookingFileReader {
+
+    @Test
+    public void testBookingFileReader_WhenValidInputs() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputValid.txt";
+
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        final BookingFileReader bookingFileReader = new BookingFileReaderImpl();
+        final OfficeHour officeHour = bookingFileReader.read(getFile(inputFileName), employeeMeetingSchedules::add);
+
+        Assert.assertEquals("0900", officeHour.getOfficeStartTime());
+        Assert.assertEquals("1730", officeHour.getOfficeEndTime());
+
+        // EMP005 ends at 19:00 which is outside of the office hours, the rest are kept in file order
+        Assert.assertEquals(4, employeeMeetingSchedules.size());
+        Assert.assertEquals("EMP001", employeeMeetingSchedules.get(0).getEmployeeId());
+        Assert.assertEquals("EMP004", employeeMeetingSchedules.get(3).getEmployeeId());
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    public void testBookingFileReader_WhenInValidInputs() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputInValid.txt";
+
+        final BookingFileReader bookingFileReader = new BookingFileReaderImpl();
+        bookingFileReader.read(getFile(inputFileName), employeeMeetingSchedule -> {
+        });
+    }
+
+    @Test
+    public void testBookingFileReader_ErrorContainsLineNumber() throws IOException {
+        final String inputFileName = "inputInValid.txt";
+
+        final BookingFileReader bookingFileReader = new BookingFileReaderImpl();
+        try {
+            bookingFileReader.read(getFile(inputFileName), employeeMeetingSchedule -> {
+            });
+            Assert.fail();
+        } catch (final InvalidFormatException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Line 1: "));
+        }
+    }
+
+    @Test
+    public void testMappedBookingFileReader_SameAsBookingFileReader() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputValid.txt";
+
+        final List<EmployeeMeetingSchedule> expected = new ArrayList<>();
+        new BookingFileReaderImpl().read(getFile(inputFileName), expected::add);
+
+        // small segments so that lines are split across segment boundaries
+        final List<EmployeeMeetingSchedule> actual = new ArrayList<>();
+        final BookingFileReader bookingFileReader = new MappedBookingFileReaderImpl(40);
+        bookingFileReader.read(getFile(inputFileName), actual::add);
+
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    public void testMappedBookingFileReader_WhenLineLongerThanSegment() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputValid.txt";
+
+        final BookingFileReader bookingFileReader = new MappedBookingFileReaderImpl(16);
+        bookingFileReader.read(getFile(inputFileName), employeeMeetingSchedule -> {
+        });
+    }
+
+    @Test
+    public void testParallelBookingFileReader_SameAsBookingFileReader() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputValid.txt";
+
+        final List<EmployeeMeetingSchedule> expected = new ArrayList<>();
+        new BookingFileReaderImpl().read(getFile(inputFileName), expected::add);
+
+        // small segments so that record pairs are split across segment boundaries
+        final List<EmployeeMeetingSchedule> actual = new ArrayList<>();
+        final BookingFileReader bookingFileReader = new ParallelBookingFileReaderImpl(70, 3);
+        bookingFileReader.read(getFile(inputFileName), actual::add);
+
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testParallelBookingFileReader_ErrorContainsLineNumber() throws IOException {
+        final String inputFileName = "inputInValid.txt";
+
+        final BookingFileReader bookingFileReader = new ParallelBookingFileReaderImpl(70, 3);
+        try {
+            bookingFileReader.read(getFile(inputFileName), employeeMeetingSchedule -> {
+            });
+            Assert.fail();
+        } catch (final InvalidFormatException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Line 1: "));
+        }
+    }
+
+    @Test
+    public void testBookingFileReader_WhenLenient() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputPartiallyValid.txt";
+
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        final RejectionBuffer rejectionBuffer = new RejectionBuffer();
+        final BookingFileReader bookingFileReader = new BookingFileReaderImpl();
+        bookingFileReader.read(getFile(inputFileName),
+                new EmployeeMeetingScheduleBuilder(employeeMeetingSchedules::add), rejectionBuffer);
+
+        Assert.assertEquals(2, employeeMeetingSchedules.size());
+        Assert.assertEquals("EMP001", employeeMeetingSchedules.get(0).getEmployeeId());
+        Assert.assertEquals("EMP004", employeeMeetingSchedules.get(1).getEmployeeId());
+
+        Assert.assertEquals(4, rejectionBuffer.size());
+        Assert.assertEquals(4, rejectionBuffer.getLineNumber(0));
+        Assert.assertEquals(RejectionReason.INVALID_EMPLOYEE_ID, rejectionBuffer.getReason(0));
+        Assert.assertEquals(7, rejectionBuffer.getLineNumber(1));
+        Assert.assertEquals(RejectionReason.ZERO_MEETING_DURATION, rejectionBuffer.getReason(1));
+        Assert.assertEquals(10, rejectionBuffer.getLineNumber(2));
+        Assert.assertEquals(RejectionReason.INVALID_DATE, rejectionBuffer.getReason(2));
+        Assert.assertEquals(12, rejectionBuffer.getLineNumber(3));
+        Assert.assertEquals(RejectionReason.MISSING_MEETING_SCHEDULE, rejectionBuffer.getReason(3));
+    }
+
+    @Test
+    public void testParallelBookingFileReader_WhenLenientSameAsBookingFileReader()
+            throws IOException, InvalidFormatException {
+        final String inputFileName = "inputPartiallyValid.txt";
+
+        final List<EmployeeMeetingSchedule> expected = new ArrayList<>();
+        final RejectionBuffer expectedRejections = new RejectionBuffer();
+        new BookingFileReaderImpl().read(getFile(inputFileName),
+                new EmployeeMeetingScheduleBuilder(expected::add), expectedRejections);
+
+        // small segments so that record pairs are split across segment boundaries
+        final List<EmployeeMeetingSchedule> actual = new ArrayList<>();
+        final RejectionBuffer actualRejections = new RejectionBuffer();
+        new ParallelBookingFileReaderImpl(70, 3).read(getFile(inputFileName),
+                new EmployeeMeetingScheduleBuilder(actual::add), actualRejections);
+
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expectedRejections.getSummary(), actualRejections.getSummary());
+        for (int index = 0; index < expectedRejections.size(); index++) {
+            Assert.assertEquals(expectedRejections.getLineNumber(index), actualRejections.getLineNumber(index));
+            Assert.assertEquals(expectedRejections.getReason(index), actualRejections.getReason(index));
+        }
+    }
+
+    @Test
+    public void testBookingFileReader_OutsideOfficeHoursNotPassed() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputValid.txt";
+
+        final List<String> employeeIds = new ArrayList<>();
+        new BookingFileReaderImpl().read(getFile(inputFileName), new BookingRecordConsumer() {
+            @Override
+            public void acceptOfficeHour(@Nonnull final OfficeHour officeHour) {
+            }
+
+            @Override
+            public void acceptBooking(final long submissionTime, @Nonnull final CharSequence employeeId,
+                                      final long meetingStartTime, final int meetingDuration) {
+                employeeIds.add(employeeId.toString());
+            }
+        });
+
+        // EMP005 ends at 19:00, it is dropped by the reader before reaching the consumer
+        Assert.assertEquals(4, employeeIds.size());
+        Assert.assertFalse(employeeIds.contains("EMP005"));
+    }
+
+    @Test
+    public void testRejectionBuffer_WhenFull() {
+        final RejectionBuffer rejectionBuffer = new RejectionBuffer(1);
+
+        Assert.assertTrue(rejectionBuffer.add(4, RejectionReason.INVALID_DATE));
+        Assert.assertFalse(rejectionBuffer.add(6, RejectionReason.INVALID_DATE));
+
+        Assert.assertEquals(1, rejectionBuffer.size());
+        Assert.assertEquals(2, rejectionBuffer.getNumberOfRejections(RejectionReason.INVALID_DATE));
+        Assert.assertEquals("2 lines rejected: 2 INVALID_DATE (only the first 1 are detailed)",
+                rejectionBuffer.getSummary());
+    }
+
+    /**
+     * Helpers method
+     */
+    @Nonnull
+    private File getFile(@Nonnull final String fileName) throws IOException {
+        checkNull(fileName, "fileName");
+
+        final ClassLoader classLoader = getClass().getClassLoader();
+        if (classLoader.getResource(fileName) == null)
+            throw new FileNotFoundException(fileName + " file not found.");
+
+        return new File(classLoader.getResource(fileName).getFile());
+    }
+}
@@ -0,0 +1,147 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.OfficeHour;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static com.mls.booking.util.TimestampDecoder.decodeEpochMinute;
+import static com.mls.booking.util.TimestampDecoder.decodeEpochSecond;
+
+public class TestExternalBookingSorter {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testExternalBookingSorter_SeveralMergePasses() throws IOException {
+        final List<long[]> bookings = newBookings(1000);
+        final List<String> actual = new ArrayList<>();
+
+        // 34 runs merged 2 by 2 need several passes before the last merge
+        try (final ExternalBookingSorter externalBookingSorter =
+                     new ExternalBookingSorter(newRecorder(actual), 30, 2, temporaryFolder.getRoot())) {
+            accept(externalBookingSorter, bookings);
+            Assert.assertEquals(1000, externalBookingSorter.finish());
+            Assert.assertEquals(2, externalBookingSorter.getNumberOfRuns());
+        }
+
+        Assert.assertEquals(getExpected(bookings), actual);
+        Assert.assertEquals(0, temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void testExternalBookingSorter_InMemory() throws IOException {
+        final List<long[]> bookings = newBookings(100);
+        final List<String> actual = new ArrayList<>();
+
+        try (final ExternalBookingSorter externalBookingSorter =
+                     new ExternalBookingSorter(newRecorder(actual), 100, 2, temporaryFolder.getRoot())) {
+            accept(externalBookingSorter, bookings);
+            Assert.assertEquals(100, externalBookingSorter.finish());
+            Assert.assertEquals(0, externalBookingSorter.getNumberOfRuns());
+        }
+
+        Assert.assertEquals(getExpected(bookings), actual);
+    }
+
+    @Test
+    public void testExternalBookingSorter_OutsideOfficeHours() throws IOException, InvalidFormatException {
+        final File file = temporaryFolder.newFile("input.txt");
+        Files.write(file.toPath(), Arrays.asList("0900 1730",
+                "2015-08-17 10:17:06 EMP001", "2015-08-21 16:00 2",
+                "2015-08-17 10:17:05 EMP002", "2015-08-21 09:00 2"), StandardCharsets.UTF_8);
+        final List<String> actual = new ArrayList<>();
+
+        // 2015-08-21 16:00 for 2 hours ends after the office hours, the reader discards it before the sorter
+        try (final ExternalBookingSorter externalBookingSorter =
+                     new ExternalBookingSorter(newRecorder(actual), 1, 2, temporaryFolder.getRoot())) {
+            new BookingFileReaderImpl().read(file, externalBookingSorter);
+            Assert.assertEquals(1, externalBookingSorter.finish());
+        }
+
+        Assert.assertEquals(1, actual.size());
+        Assert.assertEquals(decodeEpochSecond("2015-08-17 10:17:05") + " EMP002 "
+                + decodeEpochMinute("2015-08-21 09:00") + " 2", actual.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExternalBookingSorter_WhenMemoryBudgetIsTooSmall() {
+        new ExternalBookingSorter(newRecorder(new ArrayList<>()), 1024, null);
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Bookings inside the office hours with many equal submission times, each one is
+     * {submission time, employee number, meeting start time, meeting duration, file order}.
+     */
+    @Nonnull
+    private static List<long[]> newBookings(final int numberOfBookings) {
+        final Random random = new Random(42);
+        final List<long[]> bookings = new ArrayList<>();
+        for (int index = 0; index < numberOfBookings; index++) {
+            final long meetingStartTime = (16000 + random.nextInt(30)) * 1440L + 9 * 60 + random.nextInt(6) * 30;
+            bookings.add(new long[]{1400000000L + random.nextInt(200), random.nextInt(50), meetingStartTime,
+                    1 + random.nextInt(3), index});
+        }
+        return bookings;
+    }
+
+    private static void accept(@Nonnull final ExternalBookingSorter externalBookingSorter,
+                               @Nonnull final List<long[]> bookings) {
+        externalBookingSorter.acceptOfficeHour(new OfficeHour("0900", "1730"));
+        for (final long[] booking : bookings) {
+            externalBookingSorter.acceptBooking(booking[0], employeeId(booking[1]), booking[2], (int) booking[3]);
+        }
+    }
+
+    @Nonnull
+    private static List<String> getExpected(@Nonnull final List<long[]> bookings) {
+        final List<long[]> sortedBookings = new ArrayList<>(bookings);
+        sortedBookings.sort(Comparator.<long[]>comparingLong(booking -> booking[0])
+                .thenComparingLong(booking -> booking[4]));
+
+        final List<String> expected = new ArrayList<>();
+        for (final long[] booking : sortedBookings) {
+            expected.add(booking[0] + " " + employeeId(booking[1]) + " " + booking[2] + " " + booking[3]);
+        }
+        return expected;
+    }
+
+    @Nonnull
+    private static String employeeId(final long employeeNumber) {
+        return String.format("EMP%03d", employeeNumber);
+    }
+
+    @Nonnull
+    private static BookingRecordConsumer newRecorder(@Nonnull final List<String> records) {
+        return new BookingRecordConsumer() {
+            @Override
+            public void acceptOfficeHour(@Nonnull final OfficeHour officeHour) {
+                Assert.assertTrue(records.isEmpty());
+            }
+
+            @Override
+            public void acceptBooking(final long submissionTime, @Nonnull final CharSequence employeeId,
+                                      final long meetingStartTime, final int meetingDuration) {
+                records.add(submissionTime + " " + employeeId + " " + meetingStartTime + " " + meetingDuration);
+            }
+        };
+    }
+}
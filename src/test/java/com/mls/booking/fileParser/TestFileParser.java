@@ -88,6 +88,14 @@ public class TestFileParser {
         }
     }
 
+    @Test
+    public void testBookingRequestFormat_WhenEmployeeIdIsWide() throws InvalidFormatException {
+        final FileParser fileParser = new FileParserImpl(FileParserParams.WIDE_EMPLOYEE_ID_FORMAT);
+
+        Assert.assertTrue(fileParser.validateBookingRequestFormat("2015-08-17 10:17:06 EMP001"));
+        Assert.assertTrue(fileParser.validateBookingRequestFormat("2015-08-17 10:17:06 HR-000123"));
+    }
+
     @Test
     public void testMeetingScheduleIntervalFormatOverlapping() throws IOException, InvalidFormatException {
         final String inputFileName = "inputValid.txt";
@@ -0,0 +1,46 @@
+package com.mls.booking.fileParser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestLineTokenizer {
+
+    @Test
+    public void testLineTokenizer_FieldOffsets() {
+        final LineTokenizer lineTokenizer = new LineTokenizer(FileParserParams.MAX_NUMBER_OF_PARTS);
+        lineTokenizer.reset("  2015-08-17\t10:17:06   EMP001 ");
+
+        Assert.assertEquals(3, lineTokenizer.getNumberOfFields());
+        Assert.assertEquals(2, lineTokenizer.getFieldStart(0));
+        Assert.assertEquals(12, lineTokenizer.getFieldEnd(0));
+        Assert.assertEquals("10:17:06", lineTokenizer.getField(1).toString());
+        Assert.assertEquals("EMP001", lineTokenizer.getFieldAsString(2));
+        Assert.assertTrue(lineTokenizer.fieldEquals(2, "EMP001"));
+    }
+
+    @Test
+    public void testLineTokenizer_CountsExtraFields() {
+        final LineTokenizer lineTokenizer = new LineTokenizer(2);
+        lineTokenizer.reset("0900 1730 1800");
+
+        Assert.assertEquals(3, lineTokenizer.getNumberOfFields());
+        Assert.assertEquals("1730", lineTokenizer.getField(1).toString());
+    }
+
+    @Test
+    public void testLineTokenizer_ViewFollowsReset() {
+        final LineTokenizer lineTokenizer = new LineTokenizer(FileParserParams.MAX_NUMBER_OF_PARTS);
+        final CharSequence field = lineTokenizer.reset("0900 1730").getField(0);
+        lineTokenizer.reset("1000 1830");
+
+        Assert.assertEquals("1000", field.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testLineTokenizer_WhenFieldDoesNotExist() {
+        final LineTokenizer lineTokenizer = new LineTokenizer(FileParserParams.MAX_NUMBER_OF_PARTS);
+        lineTokenizer.reset("0900");
+
+        lineTokenizer.getField(1);
+    }
+}
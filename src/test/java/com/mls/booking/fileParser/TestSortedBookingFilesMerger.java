@@ -0,0 +1,90 @@
+package com.mls.booking.fileParser;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestSortedBookingFilesMerger {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSortedBookingFilesMerger_InSubmissionTimeOrder() throws IOException, InvalidFormatException {
+        final File first = newFile("first.txt", "0900 1730",
+                "2015-08-15 09:00:00 EMP001", "2015-08-21 09:00 1",
+                "2015-08-16 12:00:00 EMP003", "2015-08-21 11:00 1");
+        final File second = newFile("second.txt", "0900 1730",
+                "2015-08-15 09:00:00 EMP002", "2015-08-21 10:00 1",
+                "2015-08-15 10:00:00 EMP004", "2015-08-21 19:00 1",
+                "2015-08-17 08:00:00 EMP005", "2015-08-21 12:00 1");
+
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        new SortedBookingFilesMerger().merge(Arrays.asList(first, second),
+                new EmployeeMeetingScheduleBuilder(employeeMeetingSchedules::add));
+
+        // the same submission time is taken from the first file, EMP004 is outside of the office hours
+        final List<String> employeeIds = new ArrayList<>();
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
+            employeeIds.add(employeeMeetingSchedule.getEmployeeId());
+        }
+        Assert.assertEquals(Arrays.asList("EMP001", "EMP002", "EMP003", "EMP005"), employeeIds);
+    }
+
+    @Test
+    public void testSortedBookingFilesMerger_WhenFileIsNotOrdered() throws IOException {
+        final File first = newFile("first.txt", "0900 1730",
+                "2015-08-15 09:00:00 EMP001", "2015-08-21 09:00 1",
+                "2015-08-16 12:00:00 EMP002", "2015-08-21 11:00 1");
+        final File second = newFile("second.txt", "0900 1730",
+                "2015-08-17 09:00:00 EMP003", "2015-08-21 10:00 1",
+                "2015-08-15 10:00:00 EMP004", "2015-08-21 12:00 1");
+
+        try {
+            new SortedBookingFilesMerger().merge(Arrays.asList(first, second), newIgnoringConsumer());
+            Assert.fail("InvalidFormatException expected");
+        } catch (final InvalidFormatException e) {
+            Assert.assertTrue(e.getMessage().startsWith(second.getPath() + ": line 4 "));
+        }
+    }
+
+    @Test(expected = InvalidFormatException.class)
+    public void testSortedBookingFilesMerger_WhenOfficeHoursDiffer() throws IOException, InvalidFormatException {
+        final File first = newFile("first.txt", "0900 1730",
+                "2015-08-15 09:00:00 EMP001", "2015-08-21 09:00 1",
+                "2015-08-16 12:00:00 EMP002", "2015-08-21 11:00 1");
+        final File second = newFile("second.txt", "0800 1730",
+                "2015-08-17 09:00:00 EMP003", "2015-08-21 10:00 1",
+                "2015-08-18 10:00:00 EMP004", "2015-08-21 12:00 1");
+
+        new SortedBookingFilesMerger().merge(Arrays.asList(first, second), newIgnoringConsumer());
+    }
+
+    /**
+     * Helpers method
+     */
+    @Nonnull
+    private File newFile(@Nonnull final String fileName, @Nonnull final String... lines) throws IOException {
+        final File file = temporaryFolder.newFile(fileName);
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.US_ASCII);
+        return file;
+    }
+
+    @Nonnull
+    private static BookingRecordConsumer newIgnoringConsumer() {
+        return new EmployeeMeetingScheduleBuilder(employeeMeetingSchedule -> {
+        });
+    }
+}
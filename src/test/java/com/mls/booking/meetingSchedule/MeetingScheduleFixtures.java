@@ -0,0 +1,44 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import com.mls.booking.model.OfficeHour;
+import org.joda.time.LocalDateTime;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Meeting schedules shared by the tests of the interval models.
+ */
+final class MeetingScheduleFixtures {
+
+    static final LocalDateTime FIRST_MEETING_TIME = new LocalDateTime(2015, 8, 17, 9, 0);
+
+    private static final LocalDateTime FIRST_SUBMISSION_TIME = new LocalDateTime(2015, 8, 1, 0, 0);
+
+    private MeetingScheduleFixtures() {
+    }
+
+    /**
+     * Meeting schedule of employee "EMP" + index, in the office hours 0900 to 1730, submitted index seconds after
+     * the first submission time, so the meeting schedules are in submission time order when created by index.
+     */
+    @Nonnull
+    static EmployeeMeetingSchedule newMeetingSchedule(final int index, @Nonnull final LocalDateTime meetingStartTime,
+                                                      final int meetingDuration) {
+        return newMeetingSchedule(index, "0900", "1730", meetingStartTime, meetingDuration);
+    }
+
+    @Nonnull
+    static EmployeeMeetingSchedule newMeetingSchedule(final int index, @Nonnull final String officeStartTime,
+                                                      @Nonnull final String officeEndTime,
+                                                      @Nonnull final LocalDateTime meetingStartTime,
+                                                      final int meetingDuration) {
+        final EmployeeMeetingSchedule employeeMeetingSchedule = new EmployeeMeetingSchedule();
+        employeeMeetingSchedule.setOfficeHour(new OfficeHour(officeStartTime, officeEndTime));
+        employeeMeetingSchedule.setEmployeeId("EMP" + index);
+        employeeMeetingSchedule.setSubmissionTime(FIRST_SUBMISSION_TIME.plusSeconds(index));
+        employeeMeetingSchedule.setMeeting(new Meeting(meetingStartTime, meetingDuration));
+        return employeeMeetingSchedule;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.joda.time.LocalDateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.FIRST_MEETING_TIME;
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.newMeetingSchedule;
+
+public class TestBalancedMeetingScheduleIntervalModel {
+
+    @Test
+    public void testBalancedMeetingScheduleIntervalModel_SameAsMeetingScheduleIntervalModel() {
+        final Random random = new Random(11);
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        for (int index = 0; index < 3000; index++) {
+            employeeMeetingSchedules.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusDays(random.nextInt(20))
+                    .plusMinutes(15 * random.nextInt(30)), 1 + random.nextInt(3)));
+        }
+
+        final MeetingScheduleInterval expectedModel = new MeetingScheduleIntervalModel();
+        final BalancedMeetingScheduleIntervalModel balancedModel = new BalancedMeetingScheduleIntervalModel();
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
+            expectedModel.add(employeeMeetingSchedule);
+            balancedModel.add(employeeMeetingSchedule);
+        }
+
+        checkNode(balancedModel.getRoot());
+        final List<EmployeeMeetingSchedule> expected =
+                new ArrayList<>(expectedModel.traversal(expectedModel.getRoot()));
+        Assert.assertEquals(expected, new ArrayList<>(balancedModel.traversal(balancedModel.getRoot())));
+        Assert.assertEquals(expected.size(), balancedModel.size());
+        // the traversal does not modify the tree
+        Assert.assertEquals(expected, new ArrayList<>(balancedModel.traversal(balancedModel.getRoot())));
+    }
+
+    @Test
+    public void testBalancedMeetingScheduleIntervalModel_WhenMeetingsInIncreasingOrder() {
+        final BalancedMeetingScheduleIntervalModel balancedModel = new BalancedMeetingScheduleIntervalModel();
+        for (int index = 0; index < 100000; index++) {
+            balancedModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(index), 1));
+        }
+
+        Assert.assertEquals(100000, balancedModel.size());
+        // an AVL tree of n nodes is at most 1.44 log2(n) high, log2(100000) is about 17
+        Assert.assertTrue(balancedModel.height() <= 25);
+        checkNode(balancedModel.getRoot());
+
+        Assert.assertTrue(balancedModel.overlap(FIRST_MEETING_TIME.plusMinutes(30),
+                FIRST_MEETING_TIME.plusMinutes(90)));
+        Assert.assertFalse(balancedModel.overlap(FIRST_MEETING_TIME.plusHours(100000),
+                FIRST_MEETING_TIME.plusHours(100001)));
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Check the height, the balance and the maxMeetingEndTime of every node of a subtree.
+     *
+     * @return height of the subtree
+     */
+    private static int checkNode(@Nullable final ScheduleIntervalNode scheduleIntervalNode) {
+        if (scheduleIntervalNode == null)
+            return 0;
+
+        final int leftHeight = checkNode(scheduleIntervalNode.leftNode);
+        final int rightHeight = checkNode(scheduleIntervalNode.rightNode);
+        Assert.assertTrue(Math.abs(leftHeight - rightHeight) <= 1);
+        Assert.assertEquals(1 + Math.max(leftHeight, rightHeight), scheduleIntervalNode.height);
+
+        LocalDateTime maxMeetingEndTime = scheduleIntervalNode.meetingEndTime;
+        if (scheduleIntervalNode.leftNode != null
+                && scheduleIntervalNode.leftNode.maxMeetingEndTime.isAfter(maxMeetingEndTime))
+            maxMeetingEndTime = scheduleIntervalNode.leftNode.maxMeetingEndTime;
+        if (scheduleIntervalNode.rightNode != null
+                && scheduleIntervalNode.rightNode.maxMeetingEndTime.isAfter(maxMeetingEndTime))
+            maxMeetingEndTime = scheduleIntervalNode.rightNode.maxMeetingEndTime;
+        Assert.assertEquals(maxMeetingEndTime, scheduleIntervalNode.maxMeetingEndTime);
+        return scheduleIntervalNode.height;
+    }
+}
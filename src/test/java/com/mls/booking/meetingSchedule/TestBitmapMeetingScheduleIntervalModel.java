@@ -0,0 +1,122 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.FIRST_MEETING_TIME;
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.newMeetingSchedule;
+
+public class TestBitmapMeetingScheduleIntervalModel {
+
+    @Test
+    public void testBitmapMeetingScheduleIntervalModel_SameAsMeetingScheduleIntervalModel() {
+        final Random random = new Random(17);
+        final MeetingScheduleInterval expectedModel = new MeetingScheduleIntervalModel();
+        final BitmapMeetingScheduleIntervalModel bitmapModel = new BitmapMeetingScheduleIntervalModel();
+
+        for (int index = 0; index < 3000; index++) {
+            // some meetings are outside of the office hours, and some span midnight
+            final EmployeeMeetingSchedule employeeMeetingSchedule = newMeetingSchedule(index, "0900", "1730",
+                    FIRST_MEETING_TIME.plusDays(random.nextInt(200)).plusMinutes(15 * random.nextInt(96)),
+                    1 + random.nextInt(3));
+
+            final boolean expected = expectedModel.tryAdd(employeeMeetingSchedule).isAccepted();
+            final ScheduleIntervalAddResult result = bitmapModel.tryAdd(employeeMeetingSchedule);
+            Assert.assertEquals(expected, result.isAccepted());
+            if (!result.isAccepted()) {
+                final Meeting meeting = employeeMeetingSchedule.getMeeting();
+                final Meeting conflictingMeeting = result.getConflictingMeetingSchedule().getMeeting();
+                Assert.assertTrue(meeting.getMeetingStartTime().isBefore(conflictingMeeting.getMeetingEndTime())
+                        && meeting.getMeetingEndTime().isAfter(conflictingMeeting.getMeetingStartTime()));
+            }
+        }
+
+        final List<EmployeeMeetingSchedule> expected =
+                new ArrayList<>(expectedModel.traversal(expectedModel.getRoot()));
+        Assert.assertEquals(expected, new ArrayList<>(bitmapModel.traversal(bitmapModel.getRoot())));
+        Assert.assertEquals(expected.size(), bitmapModel.size());
+    }
+
+    @Test
+    public void testTryAdd_WhenOfficeHoursAreFull() {
+        final BitmapMeetingScheduleIntervalModel bitmapModel = new BitmapMeetingScheduleIntervalModel();
+        for (int index = 0; index < 8; index++) {
+            Assert.assertTrue(bitmapModel.tryAdd(newMeetingSchedule(index, "0900", "1700",
+                    FIRST_MEETING_TIME.plusHours(index), 1)).isAccepted());
+        }
+
+        final ScheduleIntervalAddResult rejected =
+                bitmapModel.tryAdd(newMeetingSchedule(8, "0900", "1700", FIRST_MEETING_TIME.plusHours(3), 2));
+        Assert.assertFalse(rejected.isAccepted());
+        Assert.assertEquals("EMP4", rejected.getConflictingMeetingSchedule().getEmployeeId());
+        // the meetings outside of the office hours and the next day are still free
+        Assert.assertTrue(bitmapModel.tryAdd(newMeetingSchedule(9, "0900", "1700",
+                FIRST_MEETING_TIME.plusHours(8), 1)).isAccepted());
+        Assert.assertTrue(bitmapModel.tryAdd(newMeetingSchedule(10, "0900", "1700",
+                FIRST_MEETING_TIME.plusDays(1), 1)).isAccepted());
+        Assert.assertEquals(10, bitmapModel.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTryAdd_WhenTimeIsNotWholeMinute() {
+        new BitmapMeetingScheduleIntervalModel().tryAdd(newMeetingSchedule(0, "0900", "1730",
+                FIRST_MEETING_TIME.plusSeconds(30), 1));
+    }
+
+    @Test
+    public void testIterator_WhenMeetingsAreAddedAfterwards() {
+        final BitmapMeetingScheduleIntervalModel bitmapModel = new BitmapMeetingScheduleIntervalModel();
+        for (int index = 0; index < 8; index++) {
+            bitmapModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(2 * index), 1));
+        }
+        final Iterator<EmployeeMeetingSchedule> iterator = bitmapModel.iterator();
+        Assert.assertEquals("EMP0", iterator.next().getEmployeeId());
+
+        // the next tree is built with new nodes, the iterator still walks the tree it started with
+        for (int index = 8; index < 16; index++) {
+            bitmapModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(2 * (index - 8) + 1), 1));
+        }
+        Assert.assertEquals(16, new ArrayList<>(bitmapModel.traversal(bitmapModel.getRoot())).size());
+        final List<String> employeeIds = new ArrayList<>();
+        iterator.forEachRemaining(employeeMeetingSchedule -> employeeIds.add(employeeMeetingSchedule.getEmployeeId()));
+        Assert.assertEquals(Arrays.asList("EMP1", "EMP2", "EMP3", "EMP4", "EMP5", "EMP6", "EMP7"), employeeIds);
+    }
+
+    @Test
+    public void testFindOverlapping_WhenMeetingSpansMidnight() {
+        final BitmapMeetingScheduleIntervalModel bitmapModel = new BitmapMeetingScheduleIntervalModel();
+        final EmployeeMeetingSchedule evening =
+                newMeetingSchedule(0, "0900", "1730", FIRST_MEETING_TIME.plusHours(13), 1);
+        final EmployeeMeetingSchedule night =
+                newMeetingSchedule(1, "0900", "1730", FIRST_MEETING_TIME.plusHours(14), 2);
+        final EmployeeMeetingSchedule morning =
+                newMeetingSchedule(2, "0900", "1730", FIRST_MEETING_TIME.plusDays(1), 1);
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : Arrays.asList(morning, night, evening)) {
+            Assert.assertTrue(bitmapModel.tryAdd(employeeMeetingSchedule).isAccepted());
+        }
+
+        // the meeting from 23:00 to 01:00 is found once, and the meetings are in start time order
+        Assert.assertEquals(Arrays.asList(evening, night, morning),
+                bitmapModel.findOverlapping(FIRST_MEETING_TIME, FIRST_MEETING_TIME.plusDays(2)));
+        Assert.assertEquals(Collections.singletonList(night),
+                bitmapModel.findOverlapping(FIRST_MEETING_TIME.plusHours(15).plusMinutes(30),
+                        FIRST_MEETING_TIME.plusHours(24)));
+        // ranges touching a meeting, or inside a minute next to it, do not overlap it
+        Assert.assertEquals(Collections.singletonList(night),
+                bitmapModel.findOverlapping(FIRST_MEETING_TIME.plusHours(14), FIRST_MEETING_TIME.plusHours(16)));
+        Assert.assertTrue(bitmapModel.findOverlapping(FIRST_MEETING_TIME.plusHours(16).plusSeconds(10),
+                FIRST_MEETING_TIME.plusHours(16).plusSeconds(50)).isEmpty());
+        Assert.assertEquals(Collections.singletonList(morning),
+                bitmapModel.findOverlapping(FIRST_MEETING_TIME.plusDays(1).minusSeconds(1),
+                        FIRST_MEETING_TIME.plusDays(1).plusSeconds(1)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import org.joda.time.LocalDateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.FIRST_MEETING_TIME;
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.newMeetingSchedule;
+
+public class TestConcurrentMeetingScheduleIntervalModel {
+
+    private static final int NUMBER_OF_THREADS = 4;
+
+    @Test
+    public void testConcurrentMeetingScheduleIntervalModel_SameAsMeetingScheduleIntervalModel() throws Exception {
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        final Random random = new Random(21);
+        for (int index = 0; index < 4000; index++) {
+            employeeMeetingSchedules.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusDays(random.nextInt(40))
+                    .plusMinutes(30 * random.nextInt(14)), 1 + random.nextInt(2)));
+        }
+
+        final MeetingScheduleInterval expectedModel = new MeetingScheduleIntervalModel();
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
+            expectedModel.add(employeeMeetingSchedule);
+        }
+
+        // every thread books its own dates in submission time order, while the other threads book and query theirs
+        final ConcurrentMeetingScheduleIntervalModel concurrentModel = new ConcurrentMeetingScheduleIntervalModel();
+        final ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < NUMBER_OF_THREADS; thread++) {
+                final int stripe = thread;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
+                        final Meeting meeting = employeeMeetingSchedule.getMeeting();
+                        if (meeting.getMeetingStartDate().getDayOfYear() % NUMBER_OF_THREADS != stripe)
+                            continue;
+                        concurrentModel.add(employeeMeetingSchedule);
+                        Assert.assertFalse(concurrentModel.isAvailable(meeting.getMeetingStartTime(),
+                                meeting.getMeetingEndTime()));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        final List<EmployeeMeetingSchedule> expected =
+                new ArrayList<>(expectedModel.traversal(expectedModel.getRoot()));
+        final List<EmployeeMeetingSchedule> actual = new ArrayList<>();
+        concurrentModel.forEach(actual::add);
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expected.size(), concurrentModel.size());
+        Assert.assertEquals(expected, new ArrayList<>(concurrentModel.traversal(concurrentModel.getRoot())));
+    }
+
+    @Test
+    public void testTryAdd_WhenMeetingSpansMidnight() {
+        final ConcurrentMeetingScheduleIntervalModel concurrentModel = new ConcurrentMeetingScheduleIntervalModel();
+        final LocalDateTime lateMeetingTime = FIRST_MEETING_TIME.withHourOfDay(23);
+        Assert.assertTrue(concurrentModel.tryAdd(newMeetingSchedule(1, lateMeetingTime, 2)).isAccepted());
+
+        final ScheduleIntervalAddResult rejected =
+                concurrentModel.tryAdd(newMeetingSchedule(2, lateMeetingTime.plusHours(1), 1));
+        Assert.assertFalse(rejected.isAccepted());
+        Assert.assertEquals("EMP1", rejected.getConflictingMeetingSchedule().getEmployeeId());
+        Assert.assertTrue(concurrentModel.tryAdd(newMeetingSchedule(3, lateMeetingTime.plusHours(2), 1)).isAccepted());
+
+        // the meeting spanning midnight is only reported once
+        Assert.assertEquals(2, concurrentModel.findOverlapping(lateMeetingTime, lateMeetingTime.plusDays(1)).size());
+        Assert.assertEquals(1, concurrentModel.findOverlapping(lateMeetingTime.plusHours(1),
+                lateMeetingTime.plusHours(2)).size());
+        Assert.assertEquals(2, concurrentModel.size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import com.mls.booking.model.OfficeHour;
+import org.joda.time.LocalDateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TestDailyMeetingScheduleResolver {
+
+    @Test
+    public void testDailyMeetingScheduleResolver_SameAsSingleIntervalTree() {
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = newMeetingSchedules(2000);
+
+        final MeetingScheduleInterval meetingScheduleIntervalModel = new MeetingScheduleIntervalModel();
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : employeeMeetingSchedules) {
+            meetingScheduleIntervalModel.add(employeeMeetingSchedule);
+        }
+        final List<EmployeeMeetingSchedule> expected =
+                new ArrayList<>(meetingScheduleIntervalModel.traversal(meetingScheduleIntervalModel.getRoot()));
+
+        final List<EmployeeMeetingSchedule> parallel =
+                new DailyMeetingScheduleResolver(4).resolve(employeeMeetingSchedules);
+        final List<EmployeeMeetingSchedule> sequential =
+                new DailyMeetingScheduleResolver(1).resolve(employeeMeetingSchedules);
+
+        Assert.assertEquals(expected, parallel);
+        Assert.assertEquals(expected, sequential);
+    }
+
+    @Test
+    public void testDailyMeetingScheduleResolver_WhenEmpty() {
+        Assert.assertTrue(new DailyMeetingScheduleResolver(4).resolve(new ArrayList<>()).isEmpty());
+    }
+
+    /**
+     * Helpers method
+     */
+
+    /**
+     * Meetings of 10 days inside the office hours, ordered by submission time.
+     */
+    @Nonnull
+    private static List<EmployeeMeetingSchedule> newMeetingSchedules(final int numberOfMeetings) {
+        final Random random = new Random(7);
+        final OfficeHour officeHour = new OfficeHour("0900", "1730");
+        final LocalDateTime firstSubmissionTime = new LocalDateTime(2015, 8, 1, 8, 0, 0);
+        final LocalDateTime firstMeetingDay = new LocalDateTime(2015, 8, 17, 9, 0);
+
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+        for (int index = 0; index < numberOfMeetings; index++) {
+            final EmployeeMeetingSchedule employeeMeetingSchedule = new EmployeeMeetingSchedule();
+            employeeMeetingSchedule.setOfficeHour(officeHour);
+            employeeMeetingSchedule.setEmployeeId(String.format("EMP%03d", random.nextInt(100)));
+            employeeMeetingSchedule.setSubmissionTime(firstSubmissionTime.plusSeconds(index));
+            employeeMeetingSchedule.setMeeting(new Meeting(firstMeetingDay.plusDays(random.nextInt(10))
+                    .plusMinutes(30 * random.nextInt(12)), 1 + random.nextInt(2)));
+            employeeMeetingSchedules.add(employeeMeetingSchedule);
+        }
+        return employeeMeetingSchedules;
+    }
+}
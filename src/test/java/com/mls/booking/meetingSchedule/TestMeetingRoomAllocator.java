@@ -0,0 +1,112 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.FIRST_MEETING_TIME;
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.newMeetingSchedule;
+
+public class TestMeetingRoomAllocator {
+
+    private static final int NUMBER_OF_ROOMS = 4;
+
+    @Test
+    public void testAllocate_SameAsBruteForce() {
+        final Random random = new Random(25);
+        final MeetingRoomAllocator meetingRoomAllocator = new MeetingRoomAllocator(NUMBER_OF_ROOMS);
+        final List<List<EmployeeMeetingSchedule>> rooms = new ArrayList<>();
+        for (int room = 0; room < NUMBER_OF_ROOMS; room++) {
+            rooms.add(new ArrayList<>());
+        }
+
+        for (int index = 0; index < 200; index++) {
+            final EmployeeMeetingSchedule employeeMeetingSchedule = newMeetingSchedule(index,
+                    FIRST_MEETING_TIME.plusMinutes(30 * random.nextInt(14)), 1 + random.nextInt(2));
+            final int meetingRoom = meetingRoomAllocator.allocate(employeeMeetingSchedule);
+            if (meetingRoom == MeetingRoomAllocator.NO_MEETING_ROOM) {
+                for (final List<EmployeeMeetingSchedule> room : rooms) {
+                    Assert.assertTrue(overlapsAny(employeeMeetingSchedule, room));
+                }
+                continue;
+            }
+            Assert.assertFalse(overlapsAny(employeeMeetingSchedule, rooms.get(meetingRoom - 1)));
+            // the rooms are opened in room order, and only when the meeting fits in none of the rooms in use
+            if (rooms.get(meetingRoom - 1).isEmpty()) {
+                for (int room = 0; room < meetingRoom - 1; room++) {
+                    Assert.assertTrue(overlapsAny(employeeMeetingSchedule, rooms.get(room)));
+                }
+            }
+            rooms.get(meetingRoom - 1).add(employeeMeetingSchedule);
+        }
+
+        final List<EmployeeMeetingSchedule> expected = new ArrayList<>();
+        final List<Integer> expectedRooms = new ArrayList<>();
+        for (int room = 0; room < NUMBER_OF_ROOMS; room++) {
+            for (final EmployeeMeetingSchedule employeeMeetingSchedule : rooms.get(room)) {
+                expected.add(employeeMeetingSchedule);
+            }
+        }
+        expected.sort(Comparator.comparing((EmployeeMeetingSchedule employeeMeetingSchedule) ->
+                employeeMeetingSchedule.getMeeting().getMeetingStartTime()).thenComparingInt(employeeMeetingSchedule ->
+                roomOf(employeeMeetingSchedule, rooms)));
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : expected) {
+            expectedRooms.add(roomOf(employeeMeetingSchedule, rooms));
+        }
+
+        final List<EmployeeMeetingSchedule> actual = new ArrayList<>();
+        final List<Integer> actualRooms = new ArrayList<>();
+        meetingRoomAllocator.forEachAllocation((employeeMeetingSchedule, meetingRoom) -> {
+            actual.add(employeeMeetingSchedule);
+            actualRooms.add(meetingRoom);
+        });
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expectedRooms, actualRooms);
+    }
+
+    @Test
+    public void testAllocate_WhenMeetingsComeInStartTimeOrder() {
+        // at most 3 meetings overlap at any time, so 3 rooms are enough and the fourth one is never opened
+        final MeetingRoomAllocator meetingRoomAllocator = new MeetingRoomAllocator(NUMBER_OF_ROOMS);
+        for (int index = 0; index < 24; index++) {
+            Assert.assertNotEquals(MeetingRoomAllocator.NO_MEETING_ROOM, meetingRoomAllocator.allocate(
+                    newMeetingSchedule(index, FIRST_MEETING_TIME.plusMinutes(20 * index), 1)));
+        }
+        final List<Integer> meetingRooms = new ArrayList<>();
+        meetingRoomAllocator.forEachAllocation((employeeMeetingSchedule, meetingRoom) -> meetingRooms.add(meetingRoom));
+        Assert.assertEquals(24, meetingRooms.size());
+        Assert.assertFalse(meetingRooms.contains(4));
+        Assert.assertEquals(Integer.valueOf(1), meetingRooms.get(3));
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private static int roomOf(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule,
+                              @Nonnull final List<List<EmployeeMeetingSchedule>> rooms) {
+        for (int room = 0; room < rooms.size(); room++) {
+            if (rooms.get(room).contains(employeeMeetingSchedule))
+                return room + 1;
+        }
+        throw new IllegalStateException(employeeMeetingSchedule.getEmployeeId() + " has no room");
+    }
+
+    private static boolean overlapsAny(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule,
+                                       @Nonnull final List<EmployeeMeetingSchedule> meetings) {
+        final Meeting meeting = employeeMeetingSchedule.getMeeting();
+        for (final EmployeeMeetingSchedule other : meetings) {
+            if (meeting.getMeetingStartTime().isBefore(other.getMeeting().getMeetingEndTime())
+                    && meeting.getMeetingEndTime().isAfter(other.getMeeting().getMeetingStartTime()))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,324 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import com.mls.booking.model.Meeting;
+import com.mls.booking.model.OfficeHour;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.FIRST_MEETING_TIME;
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.newMeetingSchedule;
+
+public class TestMeetingScheduleIntervalModel {
+
+    @Test
+    public void testTryAdd_WhenOverlapping() {
+        for (final MeetingScheduleInterval meetingScheduleInterval : newModels()) {
+            final EmployeeMeetingSchedule first = newMeetingSchedule(1, FIRST_MEETING_TIME, 2);
+            final EmployeeMeetingSchedule second = newMeetingSchedule(2, FIRST_MEETING_TIME.plusHours(1), 2);
+            final EmployeeMeetingSchedule third = newMeetingSchedule(3, FIRST_MEETING_TIME.plusHours(2), 2);
+
+            final ScheduleIntervalAddResult accepted = meetingScheduleInterval.tryAdd(first);
+            Assert.assertTrue(accepted.isAccepted());
+            Assert.assertSame(first, accepted.getNode().employeeMeetingSchedule);
+            Assert.assertNull(accepted.getConflictingMeetingSchedule());
+
+            final ScheduleIntervalAddResult rejected = meetingScheduleInterval.tryAdd(second);
+            Assert.assertFalse(rejected.isAccepted());
+            Assert.assertSame(first, rejected.getConflictingMeetingSchedule());
+            // the rejected meeting does not change the maxMeetingEndTime
+            Assert.assertEquals(FIRST_MEETING_TIME.plusHours(2), meetingScheduleInterval.getRoot().maxMeetingEndTime);
+
+            // meetings which only share a point do not overlap
+            Assert.assertTrue(meetingScheduleInterval.tryAdd(third).isAccepted());
+        }
+    }
+
+    @Test
+    public void testTryAdd_SameAsBruteForce() {
+        for (final MeetingScheduleInterval meetingScheduleInterval : newModels()) {
+            final Random random = new Random(5);
+            final List<EmployeeMeetingSchedule> accepted = new ArrayList<>();
+
+            for (int index = 0; index < 2000; index++) {
+                final EmployeeMeetingSchedule employeeMeetingSchedule = newMeetingSchedule(index,
+                        FIRST_MEETING_TIME.plusMinutes(15 * random.nextInt(400)), 1 + random.nextInt(3));
+                final boolean expected = !overlapsAny(employeeMeetingSchedule, accepted);
+                if (expected)
+                    accepted.add(employeeMeetingSchedule);
+
+                final ScheduleIntervalAddResult result = meetingScheduleInterval.tryAdd(employeeMeetingSchedule);
+                Assert.assertEquals(expected, result.isAccepted());
+                if (!result.isAccepted())
+                    Assert.assertTrue(overlapsAny(employeeMeetingSchedule,
+                            Collections.singletonList(result.getConflictingMeetingSchedule())));
+            }
+            Assert.assertEquals(accepted.size(),
+                    meetingScheduleInterval.traversal(meetingScheduleInterval.getRoot()).size());
+        }
+    }
+
+    @Test
+    public void testIterator_DoesNotModifyTheTree() {
+        for (final MeetingScheduleInterval meetingScheduleInterval : newModels()) {
+            final Random random = new Random(18);
+            for (int index = 0; index < 500; index++) {
+                meetingScheduleInterval.add(newMeetingSchedule(index,
+                        FIRST_MEETING_TIME.plusMinutes(15 * random.nextInt(400)), 1 + random.nextInt(3)));
+            }
+
+            final List<EmployeeMeetingSchedule> expected = new ArrayList<>();
+            meetingScheduleInterval.forEach(expected::add);
+            for (int index = 1; index < expected.size(); index++) {
+                Assert.assertTrue(expected.get(index - 1).getMeeting().getMeetingEndTime()
+                        .compareTo(expected.get(index).getMeeting().getMeetingStartTime()) <= 0);
+            }
+
+            // the tree can be iterated, streamed and traversed again
+            final List<EmployeeMeetingSchedule> iterated = new ArrayList<>();
+            meetingScheduleInterval.iterator().forEachRemaining(iterated::add);
+            Assert.assertEquals(expected, iterated);
+            Assert.assertEquals(expected, StreamSupport.stream(meetingScheduleInterval.spliterator(), false)
+                    .collect(Collectors.toList()));
+            Assert.assertEquals(expected,
+                    new ArrayList<>(meetingScheduleInterval.traversal(meetingScheduleInterval.getRoot())));
+            Assert.assertEquals(expected,
+                    new ArrayList<>(meetingScheduleInterval.traversal(meetingScheduleInterval.getRoot())));
+        }
+    }
+
+    @Test
+    public void testFindOverlapping_SameAsBruteForce() {
+        for (final MeetingScheduleInterval meetingScheduleInterval : newModels()) {
+            final Random random = new Random(19);
+            for (int index = 0; index < 1000; index++) {
+                meetingScheduleInterval.add(newMeetingSchedule(index,
+                        FIRST_MEETING_TIME.plusMinutes(15 * random.nextInt(2000)), 1 + random.nextInt(3)));
+            }
+            final List<EmployeeMeetingSchedule> accepted = new ArrayList<>();
+            meetingScheduleInterval.forEach(accepted::add);
+
+            for (int query = 0; query < 500; query++) {
+                final LocalDateTime startTime = FIRST_MEETING_TIME.plusMinutes(5 * random.nextInt(6000) - 60);
+                final LocalDateTime endTime = startTime.plusMinutes(1 + random.nextInt(query % 2 == 0 ? 180 : 6000));
+
+                final List<EmployeeMeetingSchedule> expected = new ArrayList<>();
+                for (final EmployeeMeetingSchedule employeeMeetingSchedule : accepted) {
+                    if (overlapsAny(employeeMeetingSchedule, startTime, endTime))
+                        expected.add(employeeMeetingSchedule);
+                }
+                Assert.assertEquals(expected, meetingScheduleInterval.findOverlapping(startTime, endTime));
+                Assert.assertEquals(expected.isEmpty(), meetingScheduleInterval.isAvailable(startTime, endTime));
+            }
+        }
+    }
+
+    @Test
+    public void testRemove_SameAsBruteForce() {
+        for (final MeetingScheduleInterval meetingScheduleInterval : newModels()) {
+            final Random random = new Random(24);
+            for (int index = 0; index < 1000; index++) {
+                meetingScheduleInterval.add(newMeetingSchedule(index,
+                        FIRST_MEETING_TIME.plusMinutes(15 * random.nextInt(2000)), 1 + random.nextInt(3)));
+            }
+            final List<EmployeeMeetingSchedule> accepted = new ArrayList<>();
+            meetingScheduleInterval.forEach(accepted::add);
+
+            final List<EmployeeMeetingSchedule> remaining = new ArrayList<>();
+            for (final EmployeeMeetingSchedule employeeMeetingSchedule : accepted) {
+                final LocalDateTime meetingStartTime = employeeMeetingSchedule.getMeeting().getMeetingStartTime();
+                if (random.nextBoolean()) {
+                    remaining.add(employeeMeetingSchedule);
+                    continue;
+                }
+                // the meeting is only removed for the employee who booked it
+                Assert.assertNull(meetingScheduleInterval.remove("EMP-1", meetingStartTime));
+                Assert.assertNull(meetingScheduleInterval.remove(employeeMeetingSchedule.getEmployeeId(),
+                        meetingStartTime.plusMinutes(1)));
+                Assert.assertSame(employeeMeetingSchedule, meetingScheduleInterval.remove(
+                        employeeMeetingSchedule.getEmployeeId(), meetingStartTime));
+                Assert.assertNull(meetingScheduleInterval.remove(employeeMeetingSchedule.getEmployeeId(),
+                        meetingStartTime));
+            }
+
+            final List<EmployeeMeetingSchedule> actual = new ArrayList<>();
+            meetingScheduleInterval.forEach(actual::add);
+            Assert.assertEquals(remaining, actual);
+            assertMaxMeetingEndTime(meetingScheduleInterval.getRoot());
+            for (int query = 0; query < 500; query++) {
+                final LocalDateTime startTime = FIRST_MEETING_TIME.plusMinutes(5 * random.nextInt(6000) - 60);
+                final LocalDateTime endTime = startTime.plusMinutes(1 + random.nextInt(180));
+
+                final List<EmployeeMeetingSchedule> expected = new ArrayList<>();
+                for (final EmployeeMeetingSchedule employeeMeetingSchedule : remaining) {
+                    if (overlapsAny(employeeMeetingSchedule, startTime, endTime))
+                        expected.add(employeeMeetingSchedule);
+                }
+                Assert.assertEquals(expected, meetingScheduleInterval.findOverlapping(startTime, endTime));
+                Assert.assertEquals(expected.isEmpty(), meetingScheduleInterval.isAvailable(startTime, endTime));
+            }
+        }
+    }
+
+    @Test
+    public void testRemove_KeepsTheTreeBalanced() {
+        final BalancedMeetingScheduleIntervalModel balancedModel = new BalancedMeetingScheduleIntervalModel();
+        final PersistentMeetingScheduleIntervalModel persistentModel = new PersistentMeetingScheduleIntervalModel();
+        for (int index = 0; index < 4096; index++) {
+            balancedModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(index), 1));
+            persistentModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(index), 1));
+        }
+        // removing the first meetings only shrinks the left side of the tree
+        for (int index = 0; index < 4000; index++) {
+            Assert.assertNotNull(balancedModel.remove("EMP" + index, FIRST_MEETING_TIME.plusHours(index)));
+            Assert.assertNotNull(persistentModel.remove("EMP" + index, FIRST_MEETING_TIME.plusHours(index)));
+        }
+        Assert.assertEquals(96, balancedModel.size());
+        Assert.assertEquals(96, persistentModel.size());
+        Assert.assertTrue(balancedModel.height() <= 9);
+        Assert.assertTrue(persistentModel.getRoot().height <= 9);
+        assertMaxMeetingEndTime(balancedModel.getRoot());
+        assertMaxMeetingEndTime(persistentModel.getRoot());
+    }
+
+    @Test
+    public void testIsAvailable_WhenRangeTouchesMeetings() {
+        for (final MeetingScheduleInterval meetingScheduleInterval : newModels()) {
+            meetingScheduleInterval.add(newMeetingSchedule(1, FIRST_MEETING_TIME, 1));
+            meetingScheduleInterval.add(newMeetingSchedule(2, FIRST_MEETING_TIME.plusHours(2), 1));
+
+            Assert.assertTrue(meetingScheduleInterval.isAvailable(FIRST_MEETING_TIME.plusHours(1),
+                    FIRST_MEETING_TIME.plusHours(2)));
+            Assert.assertFalse(meetingScheduleInterval.isAvailable(FIRST_MEETING_TIME.plusMinutes(59).plusSeconds(30),
+                    FIRST_MEETING_TIME.plusHours(2)));
+            Assert.assertEquals(2, meetingScheduleInterval.findOverlapping(FIRST_MEETING_TIME.minusDays(1),
+                    FIRST_MEETING_TIME.plusDays(1)).size());
+            Assert.assertTrue(meetingScheduleInterval.findOverlapping(FIRST_MEETING_TIME.plusHours(3),
+                    FIRST_MEETING_TIME.plusHours(4)).isEmpty());
+        }
+    }
+
+    @Test
+    public void testFindFreeSlots_SameAsBruteForce() {
+        final OfficeHour officeHour = new OfficeHour("0900", "1730");
+        for (final MeetingScheduleInterval meetingScheduleInterval : newModels()) {
+            final Random random = new Random(20);
+            for (int index = 0; index < 300; index++) {
+                meetingScheduleInterval.add(newMeetingSchedule(index, FIRST_MEETING_TIME
+                        .plusDays(random.nextInt(20)).plusMinutes(15 * random.nextInt(30)), 1 + random.nextInt(2)));
+            }
+
+            for (int day = 0; day < 20; day++) {
+                final LocalDate meetingDate = FIRST_MEETING_TIME.toLocalDate().plusDays(day);
+                for (int meetingDuration = 1; meetingDuration <= 3; meetingDuration++) {
+                    final List<Meeting> expected = new ArrayList<>();
+                    LocalDateTime cursor = FIRST_MEETING_TIME.plusDays(day);
+                    final LocalDateTime officeEndTime = cursor.plusMinutes(8 * 60 + 30);
+                    // every gap long enough gives a slot at its start
+                    while (!cursor.plusHours(meetingDuration).isAfter(officeEndTime)) {
+                        final List<EmployeeMeetingSchedule> overlapping = meetingScheduleInterval
+                                .findOverlapping(cursor, cursor.plusHours(meetingDuration));
+                        if (overlapping.isEmpty()) {
+                            expected.add(new Meeting(cursor, meetingDuration));
+                            final List<EmployeeMeetingSchedule> next =
+                                    meetingScheduleInterval.findOverlapping(cursor, officeEndTime);
+                            if (next.isEmpty())
+                                break;
+                            cursor = next.get(0).getMeeting().getMeetingEndTime();
+                        } else {
+                            cursor = overlapping.get(overlapping.size() - 1).getMeeting().getMeetingEndTime();
+                        }
+                    }
+
+                    Assert.assertEquals(expected,
+                            meetingScheduleInterval.findFreeSlots(meetingDate, officeHour, meetingDuration, 100));
+                    Assert.assertEquals(expected.isEmpty() ? null : expected.get(0),
+                            meetingScheduleInterval.findFirstFreeSlot(meetingDate, officeHour, meetingDuration));
+                    if (expected.size() > 1)
+                        Assert.assertEquals(expected.subList(0, 2),
+                                meetingScheduleInterval.findFreeSlots(meetingDate, officeHour, meetingDuration, 2));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSuggestFreeSlot_WhenMeetingIsRejected() {
+        for (final MeetingScheduleInterval meetingScheduleInterval : newModels()) {
+            meetingScheduleInterval.add(newMeetingSchedule(1, FIRST_MEETING_TIME, 2));
+            meetingScheduleInterval.add(newMeetingSchedule(2, FIRST_MEETING_TIME.plusHours(3), 1));
+
+            final EmployeeMeetingSchedule rejected = newMeetingSchedule(3, FIRST_MEETING_TIME.plusHours(1), 2);
+            Assert.assertFalse(meetingScheduleInterval.tryAdd(rejected).isAccepted());
+            // 11:00 to 12:00 is too short, the next gap starts at 13:00
+            Assert.assertEquals(new Meeting(FIRST_MEETING_TIME.plusHours(4), 2),
+                    meetingScheduleInterval.suggestFreeSlot(rejected));
+            final ScheduleIntervalAddResult result = meetingScheduleInterval.tryAddOrSuggest(rejected);
+            Assert.assertFalse(result.isAccepted());
+            Assert.assertEquals(new Meeting(FIRST_MEETING_TIME.plusHours(4), 2), result.getSuggestedSlot());
+            Assert.assertTrue(meetingScheduleInterval.tryAdd(newMeetingSchedule(3, FIRST_MEETING_TIME.plusHours(4), 2))
+                    .isAccepted());
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testIterator_WhenEmpty() {
+        final Iterator<EmployeeMeetingSchedule> iterator = new MeetingScheduleIntervalModel().iterator();
+        Assert.assertFalse(iterator.hasNext());
+        iterator.next();
+    }
+
+    /**
+     * Helpers method
+     */
+
+    @Nonnull
+    private static MeetingScheduleInterval[] newModels() {
+        return new MeetingScheduleInterval[]{new MeetingScheduleIntervalModel(),
+                new BalancedMeetingScheduleIntervalModel(), new BitmapMeetingScheduleIntervalModel(),
+                new ConcurrentMeetingScheduleIntervalModel(), new PersistentMeetingScheduleIntervalModel()};
+    }
+
+    private static void assertMaxMeetingEndTime(final ScheduleIntervalNode scheduleIntervalNode) {
+        if (scheduleIntervalNode == null)
+            return;
+
+        LocalDateTime maxMeetingEndTime = scheduleIntervalNode.meetingEndTime;
+        for (final ScheduleIntervalNode childNode : new ScheduleIntervalNode[]{scheduleIntervalNode.leftNode,
+                scheduleIntervalNode.rightNode}) {
+            assertMaxMeetingEndTime(childNode);
+            if (childNode != null && childNode.maxMeetingEndTime.isAfter(maxMeetingEndTime))
+                maxMeetingEndTime = childNode.maxMeetingEndTime;
+        }
+        Assert.assertEquals(maxMeetingEndTime, scheduleIntervalNode.maxMeetingEndTime);
+    }
+
+    private static boolean overlapsAny(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule,
+                                       @Nonnull final LocalDateTime startTime, @Nonnull final LocalDateTime endTime) {
+        final Meeting meeting = employeeMeetingSchedule.getMeeting();
+        return meeting.getMeetingStartTime().isBefore(endTime) && meeting.getMeetingEndTime().isAfter(startTime);
+    }
+
+    private static boolean overlapsAny(@Nonnull final EmployeeMeetingSchedule employeeMeetingSchedule,
+                                       @Nonnull final List<EmployeeMeetingSchedule> meetings) {
+        final Meeting meeting = employeeMeetingSchedule.getMeeting();
+        for (final EmployeeMeetingSchedule other : meetings) {
+            if (meeting.getMeetingStartTime().isBefore(other.getMeeting().getMeetingEndTime())
+                    && meeting.getMeetingEndTime().isAfter(other.getMeeting().getMeetingStartTime()))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.FIRST_MEETING_TIME;
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.newMeetingSchedule;
+
+public class TestPersistentMeetingScheduleIntervalModel {
+
+    @Test
+    public void testSnapshot_WhenMeetingsAreAddedAfterwards() {
+        final PersistentMeetingScheduleIntervalModel persistentModel = new PersistentMeetingScheduleIntervalModel();
+        for (int index = 0; index < 100; index++) {
+            persistentModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(2 * index), 1));
+        }
+        final PersistentMeetingScheduleIntervalModel snapshot = persistentModel.snapshot();
+        final ScheduleIntervalNode rootNode = persistentModel.getRoot();
+        final List<EmployeeMeetingSchedule> expected = new ArrayList<>(snapshot.traversal(rootNode));
+
+        for (int index = 100; index < 200; index++) {
+            persistentModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(2 * (index - 100) + 1), 1));
+        }
+        // a meeting added to the snapshot only changes the snapshot
+        Assert.assertTrue(snapshot.tryAdd(newMeetingSchedule(200, FIRST_MEETING_TIME.plusHours(1), 1)).isAccepted());
+
+        Assert.assertEquals(expected, new ArrayList<>(persistentModel.traversal(rootNode)));
+        Assert.assertEquals(200, persistentModel.size());
+        Assert.assertEquals(101, snapshot.size());
+        Assert.assertFalse(persistentModel.isAvailable(FIRST_MEETING_TIME.plusHours(1),
+                FIRST_MEETING_TIME.plusHours(2)));
+        Assert.assertEquals("EMP100", persistentModel.findOverlapping(FIRST_MEETING_TIME.plusHours(1),
+                FIRST_MEETING_TIME.plusHours(2)).get(0).getEmployeeId());
+        Assert.assertEquals("EMP200", snapshot.findOverlapping(FIRST_MEETING_TIME.plusHours(1),
+                FIRST_MEETING_TIME.plusHours(2)).get(0).getEmployeeId());
+    }
+
+    @Test
+    public void testGetRoot_WhileMeetingsAreAdded() throws Exception {
+        final PersistentMeetingScheduleIntervalModel persistentModel = new PersistentMeetingScheduleIntervalModel();
+        final AtomicBoolean done = new AtomicBoolean();
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            // the reader checks that every version it gets is complete and ordered
+            final Future<Integer> reader = executorService.submit(() -> {
+                int numberOfReads = 0;
+                while (!done.get() || numberOfReads == 0) {
+                    final PersistentMeetingScheduleIntervalModel snapshot = persistentModel.snapshot();
+                    final List<EmployeeMeetingSchedule> employeeMeetingSchedules = new ArrayList<>();
+                    snapshot.forEach(employeeMeetingSchedules::add);
+                    Assert.assertEquals(snapshot.size(), employeeMeetingSchedules.size());
+                    for (int index = 0; index < employeeMeetingSchedules.size(); index++) {
+                        Assert.assertEquals("EMP" + index, employeeMeetingSchedules.get(index).getEmployeeId());
+                    }
+                    numberOfReads++;
+                }
+                return numberOfReads;
+            });
+
+            for (int index = 0; index < 20000; index++) {
+                persistentModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(index), 1));
+            }
+            done.set(true);
+            Assert.assertTrue(reader.get(1, TimeUnit.MINUTES) > 0);
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assert.assertEquals(20000, persistentModel.size());
+        Assert.assertTrue(persistentModel.getRoot().height <= 20);
+    }
+
+    @Test
+    public void testTryAdd_ReturnsThePublishedNode() {
+        final PersistentMeetingScheduleIntervalModel persistentModel = new PersistentMeetingScheduleIntervalModel();
+        persistentModel.add(newMeetingSchedule(0, FIRST_MEETING_TIME.plusHours(1), 1));
+        persistentModel.add(newMeetingSchedule(1, FIRST_MEETING_TIME.minusHours(1), 1));
+
+        // the double rotation copies the new leaf, which becomes the root of the published version
+        final ScheduleIntervalAddResult result = persistentModel.tryAdd(newMeetingSchedule(2, FIRST_MEETING_TIME, 1));
+        Assert.assertTrue(result.isAccepted());
+        Assert.assertSame(persistentModel.getRoot(), result.getNode());
+        Assert.assertEquals("EMP1", result.getNode().leftNode.employeeMeetingSchedule.getEmployeeId());
+        Assert.assertEquals("EMP0", result.getNode().rightNode.employeeMeetingSchedule.getEmployeeId());
+    }
+}
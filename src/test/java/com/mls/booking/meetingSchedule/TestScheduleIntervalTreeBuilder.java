@@ -0,0 +1,102 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.joda.time.LocalDateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.FIRST_MEETING_TIME;
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.newMeetingSchedule;
+
+public class TestScheduleIntervalTreeBuilder {
+
+    @Test
+    public void testLoad_SameAsMeetingScheduleIntervalModel() {
+        final Random random = new Random(23);
+        final MeetingScheduleInterval expectedModel = new MeetingScheduleIntervalModel();
+        for (int index = 0; index < 2000; index++) {
+            expectedModel.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusDays(random.nextInt(30))
+                    .plusMinutes(30 * random.nextInt(14)), 1 + random.nextInt(2)));
+        }
+        final List<EmployeeMeetingSchedule> accepted =
+                new ArrayList<>(expectedModel.traversal(expectedModel.getRoot()));
+
+        final List<MeetingScheduleInterval> loadedModels = Arrays.asList(
+                MeetingScheduleIntervalModel.load(accepted),
+                BalancedMeetingScheduleIntervalModel.load(accepted),
+                PersistentMeetingScheduleIntervalModel.load(accepted));
+        Assert.assertEquals(accepted.size(), ((BalancedMeetingScheduleIntervalModel) loadedModels.get(1)).size());
+        for (final MeetingScheduleInterval loadedModel : loadedModels) {
+            final ScheduleIntervalNode rootNode = loadedModel.getRoot();
+            Assert.assertEquals(accepted, new ArrayList<>(loadedModel.traversal(rootNode)));
+            Assert.assertTrue(rootNode.height <= 32 - Integer.numberOfLeadingZeros(accepted.size()));
+            assertMaxMeetingEndTime(rootNode);
+
+            // the loaded model accepts and rejects the same meetings as the model it was loaded from
+            final LocalDateTime meetingStartTime = accepted.get(0).getMeeting().getMeetingStartTime();
+            Assert.assertFalse(loadedModel.tryAdd(newMeetingSchedule(3000, meetingStartTime, 1)).isAccepted());
+            Assert.assertEquals(expectedModel.isAvailable(meetingStartTime.minusHours(2), meetingStartTime),
+                    loadedModel.tryAdd(newMeetingSchedule(3001, meetingStartTime.minusHours(2), 2)).isAccepted());
+        }
+    }
+
+    @Test
+    public void testBuild_WhenMeetingsOverlap() {
+        final List<EmployeeMeetingSchedule> employeeMeetingSchedules = Arrays.asList(
+                newMeetingSchedule(1, FIRST_MEETING_TIME, 2),
+                newMeetingSchedule(2, FIRST_MEETING_TIME.plusHours(1), 2));
+
+        // the builder trusts the caller, the load methods do not
+        Assert.assertNotNull(ScheduleIntervalTreeBuilder.build(employeeMeetingSchedules));
+        try {
+            BalancedMeetingScheduleIntervalModel.load(employeeMeetingSchedules);
+            Assert.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("EMP2"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAdd_WhenMeetingsAreNotSorted() {
+        new ScheduleIntervalTreeBuilder()
+                .add(newMeetingSchedule(1, FIRST_MEETING_TIME.plusHours(2), 1))
+                .add(newMeetingSchedule(2, FIRST_MEETING_TIME, 1));
+    }
+
+    @Test
+    public void testBuild_WhenBuilderIsReused() {
+        final ScheduleIntervalTreeBuilder scheduleIntervalTreeBuilder = new ScheduleIntervalTreeBuilder(1);
+        for (int index = 0; index < 5; index++) {
+            scheduleIntervalTreeBuilder.add(newMeetingSchedule(index, FIRST_MEETING_TIME.plusHours(index), 1));
+        }
+        Assert.assertEquals(5, scheduleIntervalTreeBuilder.size());
+        final ScheduleIntervalNode rootNode = scheduleIntervalTreeBuilder.build();
+        Assert.assertEquals("EMP2", rootNode.employeeMeetingSchedule.getEmployeeId());
+        Assert.assertEquals(3, rootNode.height);
+
+        Assert.assertEquals(0, scheduleIntervalTreeBuilder.size());
+        Assert.assertNull(scheduleIntervalTreeBuilder.build());
+    }
+
+    /**
+     * Helpers method
+     */
+
+    private static void assertMaxMeetingEndTime(final ScheduleIntervalNode scheduleIntervalNode) {
+        if (scheduleIntervalNode == null)
+            return;
+
+        final List<LocalDateTime> meetingEndTimes = new ArrayList<>();
+        new ScheduleIntervalIterator(scheduleIntervalNode).forEachRemaining(employeeMeetingSchedule ->
+                meetingEndTimes.add(employeeMeetingSchedule.getMeeting().getMeetingEndTime()));
+        Assert.assertEquals(Collections.max(meetingEndTimes), scheduleIntervalNode.maxMeetingEndTime);
+        assertMaxMeetingEndTime(scheduleIntervalNode.leftNode);
+        assertMaxMeetingEndTime(scheduleIntervalNode.rightNode);
+    }
+}
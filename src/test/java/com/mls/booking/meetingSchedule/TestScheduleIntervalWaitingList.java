@@ -0,0 +1,57 @@
+package com.mls.booking.meetingSchedule;
+
+import com.mls.booking.model.EmployeeMeetingSchedule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.FIRST_MEETING_TIME;
+import static com.mls.booking.meetingSchedule.MeetingScheduleFixtures.newMeetingSchedule;
+
+public class TestScheduleIntervalWaitingList {
+
+    @Test
+    public void testCancel_WhenWaitingMeetingsFitInTheReleasedTime() {
+        final BalancedMeetingScheduleIntervalModel balancedModel = new BalancedMeetingScheduleIntervalModel();
+        final ScheduleIntervalWaitingList waitingList = new ScheduleIntervalWaitingList(balancedModel);
+        final EmployeeMeetingSchedule cancelled = newMeetingSchedule(1, FIRST_MEETING_TIME, 3);
+        final EmployeeMeetingSchedule kept = newMeetingSchedule(2, FIRST_MEETING_TIME.plusHours(3), 1);
+        final EmployeeMeetingSchedule first = newMeetingSchedule(3, FIRST_MEETING_TIME.plusHours(1), 1);
+        final EmployeeMeetingSchedule overlapsFirst = newMeetingSchedule(4, FIRST_MEETING_TIME.plusHours(1), 2);
+        final EmployeeMeetingSchedule overlapsKept = newMeetingSchedule(5, FIRST_MEETING_TIME.plusHours(2), 2);
+        final EmployeeMeetingSchedule second = newMeetingSchedule(6, FIRST_MEETING_TIME, 1);
+        final EmployeeMeetingSchedule otherDate = newMeetingSchedule(7, FIRST_MEETING_TIME.plusDays(1), 1);
+
+        for (final EmployeeMeetingSchedule employeeMeetingSchedule : Arrays.asList(cancelled, kept, first,
+                overlapsFirst, overlapsKept, second)) {
+            waitingList.tryAdd(employeeMeetingSchedule);
+        }
+        Assert.assertTrue(waitingList.tryAdd(otherDate).isAccepted());
+        Assert.assertEquals(4, waitingList.size());
+
+        // the waiting meetings are tried in submission time order, and the accepted meetings keep their time
+        Assert.assertEquals(Arrays.asList(first, second), waitingList.cancel("EMP1", FIRST_MEETING_TIME));
+        Assert.assertEquals(2, waitingList.size());
+        Assert.assertEquals(Arrays.asList(second, first, kept), balancedModel.findOverlapping(FIRST_MEETING_TIME,
+                FIRST_MEETING_TIME.plusHours(4)));
+
+        // the released time of the meeting is given to the next waiting meeting
+        Assert.assertEquals(Collections.singletonList(overlapsFirst), waitingList.cancel("EMP3",
+                FIRST_MEETING_TIME.plusHours(1)));
+        Assert.assertEquals(1, waitingList.size());
+    }
+
+    @Test
+    public void testCancel_WhenMeetingIsNotFound() {
+        final ScheduleIntervalWaitingList waitingList =
+                new ScheduleIntervalWaitingList(new BitmapMeetingScheduleIntervalModel());
+        waitingList.tryAdd(newMeetingSchedule(1, FIRST_MEETING_TIME, 2));
+        waitingList.tryAdd(newMeetingSchedule(2, FIRST_MEETING_TIME.plusHours(1), 1));
+
+        Assert.assertTrue(waitingList.cancel("EMP2", FIRST_MEETING_TIME.plusHours(1)).isEmpty());
+        Assert.assertTrue(waitingList.cancel("EMP1", FIRST_MEETING_TIME.plusHours(1)).isEmpty());
+        Assert.assertEquals(1, waitingList.size());
+    }
+}
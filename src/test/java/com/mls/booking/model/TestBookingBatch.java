@@ -0,0 +1,88 @@
+package com.mls.booking.model;
+
+import com.mls.booking.errors.InvalidFormatException;
+import com.mls.booking.fileParser.BookingFileReaderImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import static com.mls.booking.util.TimestampDecoder.decodeEpochMinute;
+import static com.mls.booking.util.TimestampDecoder.decodeEpochSecond;
+import static com.mls.booking.util.Validator.checkNull;
+
+public class TestBookingBatch {
+
+    @Test
+    public void testBookingBatch_WhenValidInputs() throws IOException, InvalidFormatException {
+        final String inputFileName = "inputValid.txt";
+
+        final BookingBatch bookingBatch = new BookingBatch();
+        new BookingFileReaderImpl().read(getFile(inputFileName), bookingBatch);
+
+        // EMP005 ends at 19:00 which is outside of the office hours
+        Assert.assertEquals(4, bookingBatch.size());
+
+        final int[] rows = bookingBatch.sortBySubmissionTime();
+        Assert.assertEquals("EMP003", bookingBatch.getEmployeeId(rows[0]));
+        Assert.assertEquals("EMP002", bookingBatch.getEmployeeId(rows[1]));
+        Assert.assertEquals("EMP001", bookingBatch.getEmployeeId(rows[2]));
+        Assert.assertEquals("EMP004", bookingBatch.getEmployeeId(rows[3]));
+
+        // EMP001 was submitted after EMP002 for the same meeting time
+        final int[] acceptedRows = bookingBatch.resolveOverlaps(rows);
+        Assert.assertEquals(3, acceptedRows.length);
+        Assert.assertEquals("EMP002", bookingBatch.getEmployeeId(acceptedRows[0]));
+        Assert.assertEquals("EMP003", bookingBatch.getEmployeeId(acceptedRows[1]));
+        Assert.assertEquals("EMP004", bookingBatch.getEmployeeId(acceptedRows[2]));
+        Assert.assertEquals(16 * 60, bookingBatch.getMeetingStartMinute(acceptedRows[2]));
+        Assert.assertEquals(17 * 60, bookingBatch.getMeetingEndMinute(acceptedRows[2]));
+    }
+
+    @Test
+    public void testBookingBatch_WhenMeetingSpansMidnight() {
+        final BookingBatch bookingBatch = new BookingBatch(new OfficeHour("0900", "1730"));
+
+        Assert.assertEquals(0, bookingBatch.add(decodeEpochSecond("2015-08-17 10:17:06"), "EMP001",
+                decodeEpochMinute("2015-08-21 22:00"), decodeEpochMinute("2015-08-22 00:00")));
+        try {
+            bookingBatch.add(decodeEpochSecond("2015-08-17 10:17:06"), "EMP001",
+                    decodeEpochMinute("2015-08-21 23:00"), decodeEpochMinute("2015-08-22 01:00"));
+            Assert.fail("IllegalArgumentException expected");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals(1, bookingBatch.size());
+        }
+    }
+
+    @Test
+    public void testBookingBatch_WhenMeetingsAreAdjacent() {
+        final BookingBatch bookingBatch = new BookingBatch(new OfficeHour("0900", "1730"));
+        bookingBatch.add(decodeEpochSecond("2015-08-17 10:17:06"), "EMP001",
+                decodeEpochMinute("2015-08-21 09:00"), decodeEpochMinute("2015-08-21 10:00"));
+        bookingBatch.add(decodeEpochSecond("2015-08-17 10:17:07"), "EMP002",
+                decodeEpochMinute("2015-08-21 10:00"), decodeEpochMinute("2015-08-21 11:00"));
+        bookingBatch.add(decodeEpochSecond("2015-08-17 10:17:08"), "EMP001",
+                decodeEpochMinute("2015-08-21 09:30"), decodeEpochMinute("2015-08-21 10:30"));
+
+        final int[] acceptedRows = bookingBatch.resolveOverlaps(bookingBatch.sortBySubmissionTime());
+
+        Assert.assertArrayEquals(new int[]{0, 1}, acceptedRows);
+    }
+
+    /**
+     * Helpers method
+     */
+    @Nonnull
+    private File getFile(@Nonnull final String fileName) throws IOException {
+        checkNull(fileName, "fileName");
+
+        final ClassLoader classLoader = getClass().getClassLoader();
+        if (classLoader.getResource(fileName) == null)
+            throw new FileNotFoundException(fileName + " file not found.");
+
+        return new File(classLoader.getResource(fileName).getFile());
+    }
+}
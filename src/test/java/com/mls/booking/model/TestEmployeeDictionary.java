@@ -0,0 +1,40 @@
+package com.mls.booking.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestEmployeeDictionary {
+
+    @Test
+    public void testEmployeeDictionary_EncodeAndDecode() {
+        final EmployeeDictionary employeeDictionary = new EmployeeDictionary();
+
+        Assert.assertEquals(0, employeeDictionary.encode("EMP001"));
+        Assert.assertEquals(1, employeeDictionary.encode("HR-000123"));
+        Assert.assertEquals(0, employeeDictionary.encode(new StringBuilder("EMP001")));
+        Assert.assertEquals(2, employeeDictionary.size());
+
+        Assert.assertEquals("EMP001", employeeDictionary.decode(0));
+        Assert.assertEquals("HR-000123", employeeDictionary.decode(1));
+        Assert.assertEquals(EmployeeDictionary.UNKNOWN, employeeDictionary.getCode("EMP002"));
+    }
+
+    @Test
+    public void testEmployeeDictionary_WhenManyEmployees() {
+        final EmployeeDictionary employeeDictionary = new EmployeeDictionary();
+
+        // enough ids to grow the hash table several times
+        for (int employee = 0; employee < 10000; employee++) {
+            Assert.assertEquals(employee, employeeDictionary.encode("EMP" + employee));
+        }
+        for (int employee = 0; employee < 10000; employee++) {
+            Assert.assertEquals(employee, employeeDictionary.getCode("EMP" + employee));
+            Assert.assertEquals("EMP" + employee, employeeDictionary.decode(employee));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testEmployeeDictionary_WhenUnknownCode() {
+        new EmployeeDictionary().decode(0);
+    }
+}
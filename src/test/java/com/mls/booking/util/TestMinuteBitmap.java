@@ -0,0 +1,51 @@
+package com.mls.booking.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.mls.booking.util.MinuteBitmap.WORDS_PER_DAY;
+import static com.mls.booking.util.TimestampDecoder.MINUTES_PER_DAY;
+
+public class TestMinuteBitmap {
+
+    @Test
+    public void testMinuteBitmap_SameAsBooleanMinutes() {
+        final Random random = new Random(42);
+        // the second day of the array, so that the offset is used
+        final long[] minutes = new long[2 * WORDS_PER_DAY];
+        final boolean[] expected = new boolean[MINUTES_PER_DAY];
+
+        for (int index = 0; index < 2000; index++) {
+            final int fromMinute = random.nextInt(MINUTES_PER_DAY);
+            final int toMinute = fromMinute + 1 + random.nextInt(Math.min(180, MINUTES_PER_DAY - fromMinute));
+            boolean occupied = false;
+            for (int minute = fromMinute; minute < toMinute; minute++) {
+                occupied |= expected[minute];
+            }
+            Assert.assertEquals(occupied, MinuteBitmap.isOccupied(minutes, WORDS_PER_DAY, fromMinute, toMinute));
+
+            final boolean release = occupied && random.nextBoolean();
+            if (release)
+                MinuteBitmap.release(minutes, WORDS_PER_DAY, fromMinute, toMinute);
+            else if (!occupied)
+                MinuteBitmap.occupy(minutes, WORDS_PER_DAY, fromMinute, toMinute);
+            for (int minute = fromMinute; minute < toMinute; minute++) {
+                expected[minute] = !release && (expected[minute] || !occupied);
+            }
+        }
+
+        for (int word = 0; word < WORDS_PER_DAY; word++) {
+            Assert.assertEquals(0, minutes[word]);
+        }
+    }
+
+    @Test
+    public void testMask_WhenMinutesSpanSeveralWords() {
+        Assert.assertEquals(-1L << 10, MinuteBitmap.mask(0, 10, 200));
+        Assert.assertEquals(-1L, MinuteBitmap.mask(1, 10, 200));
+        Assert.assertEquals((1L << 8) - 1, MinuteBitmap.mask(3, 10, 200));
+        Assert.assertEquals(1L << 63, MinuteBitmap.mask(0, 63, 64));
+    }
+}
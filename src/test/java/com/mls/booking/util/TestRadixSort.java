@@ -0,0 +1,57 @@
+package com.mls.booking.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+public class TestRadixSort {
+
+    @Test
+    public void testSortIndexes_WhenKeysSpanLessThanAnInt() {
+        final Random random = new Random(42);
+        final long[] keys = new long[10000];
+        for (int index = 0; index < keys.length; index++) {
+            // submission times of a year, with duplicates
+            keys[index] = 1439769600L + random.nextInt(365 * 24 * 60 * 60 / 1000) * 1000L;
+        }
+
+        Assert.assertArrayEquals(stableSortIndexes(keys), RadixSort.sortIndexes(keys, keys.length));
+    }
+
+    @Test
+    public void testSortIndexes_WhenKeysSpanMoreThanAnInt() {
+        final Random random = new Random(42);
+        final long[] keys = new long[10000];
+        for (int index = 0; index < keys.length; index++) {
+            keys[index] = random.nextLong() >> random.nextInt(64);
+        }
+        keys[0] = Long.MIN_VALUE;
+        keys[1] = Long.MAX_VALUE;
+        keys[2] = keys[3];
+
+        Assert.assertArrayEquals(stableSortIndexes(keys), RadixSort.sortIndexes(keys, keys.length));
+    }
+
+    @Test
+    public void testSortIndexes_WhenOnlyPartOfTheKeys() {
+        final long[] keys = {30, 10, 20, 10, 0, -5};
+
+        Assert.assertArrayEquals(new int[]{1, 3, 2, 0}, RadixSort.sortIndexes(keys, 4));
+        Assert.assertArrayEquals(new int[0], RadixSort.sortIndexes(keys, 0));
+    }
+
+    /**
+     * Helpers method
+     */
+    private static int[] stableSortIndexes(final long[] keys) {
+        final Integer[] indexes = new Integer[keys.length];
+        for (int index = 0; index < keys.length; index++) {
+            indexes[index] = index;
+        }
+        Arrays.sort(indexes, Comparator.comparingLong(index -> keys[index]));
+        return Arrays.stream(indexes).mapToInt(Integer::intValue).toArray();
+    }
+}
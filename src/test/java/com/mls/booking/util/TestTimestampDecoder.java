@@ -0,0 +1,64 @@
+package com.mls.booking.util;
+
+import com.mls.booking.fileParser.FileParserParams;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.mls.booking.util.TimestampDecoder.*;
+
+public class TestTimestampDecoder {
+
+    @Test
+    public void testDecodeEpochSecond_SameAsJoda() {
+        final String[] dateTimes = {"2015-08-17 10:17:06", "1970-01-01 00:00:00", "2000-02-29 23:59:59",
+                "1969-12-31 12:00:00", "0001-01-01 00:00:00", "9999-12-31 23:59:59"};
+
+        for (final String dateTime : dateTimes) {
+            final LocalDateTime expected = LocalDateTime.parse(dateTime,
+                    DateTimeFormat.forPattern(FileParserParams.SIMPLE_DATE_FORMAT_HHMMSS));
+            Assert.assertEquals(expected, epochSecondToLocalDateTime(decodeEpochSecond(dateTime)));
+        }
+    }
+
+    @Test
+    public void testDecodeEpochMinute_SameAsJoda() {
+        final String[] dateTimes = {"2015-08-21 09:00", "2016-02-29 17:30", "1900-03-01 00:01"};
+
+        for (final String dateTime : dateTimes) {
+            final LocalDateTime expected = LocalDateTime.parse(dateTime,
+                    DateTimeFormat.forPattern(FileParserParams.SIMPLE_DATE_FORMAT_HHMM));
+            Assert.assertEquals(expected, epochMinuteToLocalDateTime(decodeEpochMinute(dateTime)));
+        }
+    }
+
+    @Test
+    public void testDecodeEpochDay_EveryDayOfFourCenturies() {
+        LocalDate date = new LocalDate(1800, 1, 1);
+        for (int day = 0; day < 146097; day++) {
+            Assert.assertEquals(date, toLocalDate(decodeEpochDay(date.toString())));
+            date = date.plusDays(1);
+        }
+    }
+
+    @Test
+    public void testDecode_WhenInputIsNotValid() {
+        final String[] dates = {"2015-18-07", "15-08-16", "2015-02-29", "2015-04-31", "2015-00-10", "2015-01-00",
+                "0000-01-01", "2015/08/17", "2015-8-17", "2015-08-1a"};
+        for (final String date : dates) {
+            Assert.assertEquals(date, INVALID, decodeEpochDay(date));
+        }
+
+        final String[] times = {"24:00:00", "31:73:45", "10:60:00", "10:00:60", "10:00", "1:00:00", "10-00-00"};
+        for (final String time : times) {
+            Assert.assertEquals(time, INVALID, decodeSecondOfDay(time));
+        }
+
+        final String[] hourMinutes = {"24:00", "09:60", "09:00:00", "9:00", "0900"};
+        for (final String time : hourMinutes) {
+            Assert.assertEquals(time, INVALID, decodeMinuteOfDay(time));
+        }
+    }
+}